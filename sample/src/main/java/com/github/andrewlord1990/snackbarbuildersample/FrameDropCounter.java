@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2015 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuildersample;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.Choreographer.FrameCallback;
+
+/**
+ * Counts frames that were dropped while it is running, by comparing the time between frames with the frame interval.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+class FrameDropCounter implements FrameCallback {
+
+  private static final long FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
+  private long lastFrameNanos;
+  private long droppedFrames;
+  private boolean running;
+
+  void start() {
+    if (!running) {
+      running = true;
+      lastFrameNanos = 0;
+      Choreographer.getInstance().postFrameCallback(this);
+    }
+  }
+
+  void stop() {
+    running = false;
+    Choreographer.getInstance().removeFrameCallback(this);
+  }
+
+  long getDroppedFrames() {
+    return droppedFrames;
+  }
+
+  void reset() {
+    droppedFrames = 0;
+    lastFrameNanos = 0;
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    if (lastFrameNanos != 0) {
+      long skipped = Math.round((double) (frameTimeNanos - lastFrameNanos) / FRAME_INTERVAL_NANOS) - 1;
+      if (skipped > 0) {
+        droppedFrames += skipped;
+      }
+    }
+    lastFrameNanos = frameTimeNanos;
+    if (running) {
+      Choreographer.getInstance().postFrameCallback(this);
+    }
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.github.andrewlord1990.snackbarbuildersample;
 
+import android.content.Intent;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.support.design.widget.FloatingActionButton;
@@ -253,6 +254,12 @@ public class SampleActivity extends AppCompatActivity {
             .show();
       }
     });
+    samples.put("Stress test", new OnClickListener() {
+      @Override
+      public void onClick(View view) {
+        startActivity(new Intent(SampleActivity.this, StressActivity.class));
+      }
+    });
   }
 
   private SnackbarCallback createSnackbarCallback() {
@@ -0,0 +1,361 @@
+/*
+ * Copyright (C) 2015 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuildersample;
+
+import android.graphics.Color;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.support.design.widget.Snackbar;
+import android.support.design.widget.Snackbar.Callback;
+import android.support.v7.app.AppCompatActivity;
+import android.text.TextUtils;
+import android.view.View;
+import android.view.View.OnClickListener;
+import android.widget.Button;
+import android.widget.CheckBox;
+import android.widget.EditText;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.github.andrewlord1990.snackbarbuilder.dispatch.SnackbarDispatcher;
+import com.github.andrewlord1990.snackbarbuilder.toastbuilder.ToastBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fires bursts of Snackbar and Toast requests from several threads and shows live counters, so that the performance of
+ * the library can be compared between versions on real hardware. The builders are configured on the worker threads and
+ * built on the main thread through the SnackbarDispatcher. Workers wait between bursts for at least a millisecond, and
+ * stop requesting while MAX_PENDING_REQUESTS are waiting to be built, so that the dispatcher's queue stays bounded.
+ */
+public class StressActivity extends AppCompatActivity {
+
+  private static final long UPDATE_INTERVAL_MILLIS = 500;
+  private static final int MIN_BURST_INTERVAL_MILLIS = 1;
+  private static final int MAX_PENDING_REQUESTS = 200;
+  private static final String TOAST_KEY = "stress";
+  private static final String[] MESSAGES = {
+      "Short message",
+      "A somewhat longer message that should wrap onto a second line on most phones",
+      "Item archived",
+      "Connection lost, retrying",
+  };
+
+  private final Handler handler = new Handler();
+  private final List<Thread> workers = new ArrayList<>();
+  private final AtomicLong requested = new AtomicLong();
+  private final AtomicLong built = new AtomicLong();
+  private final AtomicLong callbackCount = new AtomicLong();
+  private final AtomicLong totalLatencyNanos = new AtomicLong();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+  private final Semaphore pendingRequests = new Semaphore(MAX_PENDING_REQUESTS);
+  private final ArrayDeque<LatencyCallback> awaitingCallback = new ArrayDeque<>();
+  private final SnackbarCallback actionCallback = new SnackbarCallback() { };
+  private final Runnable updateCounters = new Runnable() {
+    @Override
+    public void run() {
+      showCounters();
+      handler.postDelayed(this, UPDATE_INTERVAL_MILLIS);
+    }
+  };
+
+  private EditText threadsInput;
+  private EditText burstSizeInput;
+  private EditText burstIntervalInput;
+  private CheckBox toastsInput;
+  private View parentView;
+  private Button toggleButton;
+  private TextView buildsPerSecondView;
+  private TextView droppedFramesView;
+  private TextView heapGrowthView;
+  private TextView callbackLatencyView;
+  private FrameDropCounter frameDropCounter;
+  private ToastBuilder toastBuilder;
+  private volatile boolean running;
+  private long startHeapBytes;
+  private long lastBuilt;
+  private long lastUpdateMillis;
+  private long droppedWhileQueued;
+
+  @Override
+  protected void onCreate(Bundle savedInstanceState) {
+    super.onCreate(savedInstanceState);
+
+    setContentView(R.layout.activity_stress);
+    parentView = findViewById(R.id.coordinator);
+    threadsInput = (EditText) findViewById(R.id.stressThreads);
+    burstSizeInput = (EditText) findViewById(R.id.stressBurstSize);
+    burstIntervalInput = (EditText) findViewById(R.id.stressBurstInterval);
+    toastsInput = (CheckBox) findViewById(R.id.stressToasts);
+    buildsPerSecondView = (TextView) findViewById(R.id.stressBuildsPerSecond);
+    droppedFramesView = (TextView) findViewById(R.id.stressDroppedFrames);
+    heapGrowthView = (TextView) findViewById(R.id.stressHeapGrowth);
+    callbackLatencyView = (TextView) findViewById(R.id.stressCallbackLatency);
+    setupToggle();
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      frameDropCounter = new FrameDropCounter();
+    }
+    toastBuilder = new ToastBuilder(this)
+        .replaceKey(TOAST_KEY);
+    showCounters();
+  }
+
+  @Override
+  protected void onStop() {
+    super.onStop();
+    stop();
+  }
+
+  private void setupToggle() {
+    toggleButton = (Button) findViewById(R.id.stressToggle);
+    toggleButton.setOnClickListener(new OnClickListener() {
+      @Override
+      public void onClick(View view) {
+        if (running) {
+          stop();
+        } else {
+          start();
+        }
+      }
+    });
+  }
+
+  private void start() {
+    running = true;
+    toggleButton.setText(R.string.stress_stop);
+    resetCounters();
+    int threads = readNumber(threadsInput, 1);
+    int burstSize = readNumber(burstSizeInput, 1);
+    long burstIntervalMillis = readNumber(burstIntervalInput, MIN_BURST_INTERVAL_MILLIS);
+    boolean includeToasts = toastsInput.isChecked();
+    for (int i = 0; i < threads; i++) {
+      Thread worker = new Thread(createWorker(i, burstSize, burstIntervalMillis, includeToasts), "Stress-" + i);
+      workers.add(worker);
+      worker.start();
+    }
+    if (frameDropCounter != null) {
+      frameDropCounter.start();
+    }
+    handler.postDelayed(updateCounters, UPDATE_INTERVAL_MILLIS);
+  }
+
+  private void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    toggleButton.setText(R.string.stress_start);
+    for (Thread worker : workers) {
+      worker.interrupt();
+    }
+    workers.clear();
+    if (frameDropCounter != null) {
+      frameDropCounter.stop();
+    }
+    handler.removeCallbacks(updateCounters);
+    showCounters();
+  }
+
+  private Runnable createWorker(final int workerIndex, final int burstSize, final long burstIntervalMillis,
+                                final boolean includeToasts) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        int sequence = 0;
+        try {
+          while (running) {
+            for (int i = 0; i < burstSize && running; i++) {
+              pendingRequests.acquire();
+              requestSnackbar(workerIndex, sequence);
+              if (includeToasts && sequence % 4 == 0) {
+                pendingRequests.acquire();
+                requestToast(workerIndex, sequence);
+              }
+              sequence++;
+            }
+            Thread.sleep(burstIntervalMillis);
+          }
+        } catch (InterruptedException e) {
+          // Stopped
+        }
+      }
+    };
+  }
+
+  private void requestSnackbar(int workerIndex, int sequence) {
+    requested.incrementAndGet();
+    final LatencyCallback latencyCallback = new LatencyCallback(System.nanoTime());
+    final SnackbarBuilder builder = new SnackbarBuilder(parentView)
+        .message(MESSAGES[sequence % MESSAGES.length])
+        .appendMessage(" #" + workerIndex + "-" + sequence, sequence % 2 == 0 ? Color.YELLOW : Color.CYAN)
+        .duration(sequence % 3 == 0 ? Snackbar.LENGTH_LONG : Snackbar.LENGTH_SHORT)
+        .callback(latencyCallback);
+    if (sequence % 2 == 0) {
+      builder.icon(R.drawable.ic_android_24dp);
+    }
+    if (sequence % 3 == 0) {
+      builder.actionText("Undo")
+          .snackbarCallback(actionCallback);
+    }
+    SnackbarDispatcher.getInstance().dispatch(new Runnable() {
+      @Override
+      public void run() {
+        pendingRequests.release();
+        if (running) {
+          awaitingCallback.addLast(latencyCallback);
+          builder.build().show();
+          built.incrementAndGet();
+        }
+      }
+    });
+  }
+
+  private void requestToast(final int workerIndex, final int sequence) {
+    requested.incrementAndGet();
+    SnackbarDispatcher.getInstance().dispatch(new Runnable() {
+      @Override
+      public void run() {
+        pendingRequests.release();
+        if (running) {
+          toastBuilder.message("Toast #" + workerIndex + "-" + sequence)
+              .duration(Toast.LENGTH_SHORT)
+              .build()
+              .show();
+          built.incrementAndGet();
+        }
+      }
+    });
+  }
+
+  private void recordLatency(long latencyNanos) {
+    callbackCount.incrementAndGet();
+    totalLatencyNanos.addAndGet(latencyNanos);
+    long max = maxLatencyNanos.get();
+    while (latencyNanos > max && !maxLatencyNanos.compareAndSet(max, latencyNanos)) {
+      max = maxLatencyNanos.get();
+    }
+  }
+
+  private void resetCounters() {
+    requested.set(0);
+    built.set(0);
+    callbackCount.set(0);
+    totalLatencyNanos.set(0);
+    maxLatencyNanos.set(0);
+    awaitingCallback.clear();
+    droppedWhileQueued = 0;
+    if (frameDropCounter != null) {
+      frameDropCounter.reset();
+    }
+    lastBuilt = 0;
+    lastUpdateMillis = SystemClock.uptimeMillis();
+    startHeapBytes = getUsedHeapBytes();
+  }
+
+  private void showCounters() {
+    long now = SystemClock.uptimeMillis();
+    long builtNow = built.get();
+    long elapsedMillis = now - lastUpdateMillis;
+    double buildsPerSecond = elapsedMillis > 0 ? (builtNow - lastBuilt) * 1000.0 / elapsedMillis : 0;
+    lastBuilt = builtNow;
+    lastUpdateMillis = now;
+    buildsPerSecondView.setText(getString(R.string.stress_builds_per_second, buildsPerSecond, builtNow));
+
+    if (frameDropCounter != null) {
+      droppedFramesView.setText(getString(R.string.stress_dropped_frames, frameDropCounter.getDroppedFrames()));
+    } else {
+      droppedFramesView.setText(R.string.stress_dropped_frames_unavailable);
+    }
+
+    long heapGrowthKb = startHeapBytes > 0 ? (getUsedHeapBytes() - startHeapBytes) / 1024 : 0;
+    heapGrowthView.setText(getString(R.string.stress_heap_growth, heapGrowthKb));
+
+    long callbacks = callbackCount.get();
+    double averageMillis = callbacks > 0 ? totalLatencyNanos.get() / 1e6 / callbacks : 0;
+    double maxMillis = maxLatencyNanos.get() / 1e6;
+    callbackLatencyView.setText(getString(R.string.stress_callback_latency, averageMillis, maxMillis, callbacks,
+        droppedWhileQueued));
+  }
+
+  private static long getUsedHeapBytes() {
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static int readNumber(EditText input, int minimum) {
+    CharSequence text = input.getText();
+    if (TextUtils.isEmpty(text)) {
+      return minimum;
+    }
+    try {
+      return Math.max(minimum, Integer.parseInt(text.toString()));
+    } catch (NumberFormatException e) {
+      return minimum;
+    }
+  }
+
+  /**
+   * Records the time from a Snackbar being requested to its first callback, which is either it being shown or it being
+   * dismissed before it could be shown. The Snackbar manager only queues the latest Snackbar behind the one showing,
+   * and one it replaces while queued never gets a callback. Snackbars get their first callback in the order they were
+   * built, so any built earlier that are still waiting when one is called back were replaced, and are counted as
+   * dropped.
+   */
+  private final class LatencyCallback extends Callback {
+
+    private final long requestedAtNanos;
+    private boolean recorded;
+
+    LatencyCallback(long requestedAtNanos) {
+      this.requestedAtNanos = requestedAtNanos;
+    }
+
+    @Override
+    public void onShown(Snackbar snackbar) {
+      record();
+    }
+
+    @Override
+    public void onDismissed(Snackbar snackbar, int event) {
+      record();
+    }
+
+    private void record() {
+      if (recorded) {
+        return;
+      }
+      recorded = true;
+      recordLatency(System.nanoTime() - requestedAtNanos);
+      if (!awaitingCallback.contains(this)) {
+        return;
+      }
+      LatencyCallback waiting;
+      while ((waiting = awaitingCallback.pollFirst()) != this) {
+        waiting.recorded = true;
+        droppedWhileQueued++;
+      }
+    }
+  }
+}
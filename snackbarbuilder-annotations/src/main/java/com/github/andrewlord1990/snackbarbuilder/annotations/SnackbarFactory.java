@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface whose methods each create a particular type of Snackbar. The snackbarbuilder-compiler annotation
+ * processor generates an implementation of the interface named after it with the suffix _SnackbarFactory, for example
+ * AppSnackbars_SnackbarFactory. The generated methods make the Snackbar and wrap it in a SnackbarWrapper directly,
+ * using the resource IDs from the annotations on each method, so no SnackbarBuilder is created and no theme attributes
+ * are looked up when a Snackbar is made.
+ *
+ * <p>Each method must return a SnackbarWrapper, be annotated with SnackbarMessage and take the parent view to attach
+ * the Snackbar to as its first parameter. It may also take a View.OnClickListener to use for the action and any number
+ * of Snackbar.Callback parameters to add to the Snackbar.
+ *
+ * <p>The resource IDs are copied into the generated code as constants, so factories can only be declared in application
+ * modules. The R fields of library modules are not final and cannot be used as annotation values.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface SnackbarFactory {
+}
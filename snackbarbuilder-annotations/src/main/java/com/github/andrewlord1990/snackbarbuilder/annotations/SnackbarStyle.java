@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The colours and icon of a Snackbar created by a SnackbarFactory method. Values that are not set are left as the
+ * Snackbar default.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface SnackbarStyle {
+
+  /**
+   * Colour resource of the background.
+   */
+  int backgroundColor() default 0;
+
+  /**
+   * Colour resource of the message text.
+   */
+  int messageTextColor() default 0;
+
+  /**
+   * Colour resource of the action text.
+   */
+  int actionTextColor() default 0;
+
+  /**
+   * Drawable resource of the icon to show before the message.
+   */
+  int icon() default 0;
+}
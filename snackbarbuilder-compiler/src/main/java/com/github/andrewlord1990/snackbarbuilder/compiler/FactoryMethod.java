@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.compiler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A method of a SnackbarFactory interface, with the values read from its annotations and the roles of its parameters.
+ */
+final class FactoryMethod {
+
+  final String name;
+  final List<String> parameterTypes = new ArrayList<>();
+  final List<String> parameterNames = new ArrayList<>();
+  final List<String> callbackParameters = new ArrayList<>();
+  String parentParameter;
+  String actionListenerParameter;
+  int messageResId;
+  int actionResId;
+  int duration;
+  int backgroundColorResId;
+  int messageTextColorResId;
+  int actionTextColorResId;
+  int iconResId;
+
+  FactoryMethod(String name) {
+    this.name = name;
+  }
+
+  void addParameter(String type, String name) {
+    parameterTypes.add(type);
+    parameterNames.add(name);
+  }
+
+  boolean needsNoActionListener() {
+    return actionResId != 0 && actionListenerParameter == null;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.compiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the source of the class generated for a SnackbarFactory interface.
+ */
+final class FactoryWriter {
+
+  private static final String SNACKBAR = "android.support.design.widget.Snackbar";
+  private static final String SNACKBAR_WRAPPER = "com.github.andrewlord1990.snackbarbuilder.SnackbarWrapper";
+  private static final String ON_CLICK_LISTENER = "android.view.View.OnClickListener";
+  private static final String NO_ACTION_LISTENER = "NO_ACTION_LISTENER";
+
+  private final String packageName;
+  private final String className;
+  private final String interfaceName;
+  private final List<FactoryMethod> methods;
+
+  FactoryWriter(String packageName, String className, String interfaceName, List<FactoryMethod> methods) {
+    this.packageName = packageName;
+    this.className = className;
+    this.interfaceName = interfaceName;
+    this.methods = methods;
+  }
+
+  void write(Writer writer) throws IOException {
+    StringBuilder source = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source.append("/**\n")
+        .append(" * Generated by snackbarbuilder-compiler from ").append(interfaceName).append(". Do not edit.\n")
+        .append(" */\n")
+        .append("public final class ").append(className).append(" implements ").append(interfaceName).append(" {\n");
+    if (needsNoActionListener()) {
+      writeNoActionListener(source);
+    }
+    for (FactoryMethod method : methods) {
+      source.append('\n');
+      writeMethod(source, method);
+    }
+    source.append("}\n");
+    writer.write(source.toString());
+  }
+
+  private boolean needsNoActionListener() {
+    for (FactoryMethod method : methods) {
+      if (method.needsNoActionListener()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void writeNoActionListener(StringBuilder source) {
+    source.append("\n  private static final ").append(ON_CLICK_LISTENER).append(' ').append(NO_ACTION_LISTENER)
+        .append(" = new ").append(ON_CLICK_LISTENER).append("() {\n")
+        .append("    @Override\n")
+        .append("    public void onClick(android.view.View view) {\n")
+        .append("      // Not needed\n")
+        .append("    }\n")
+        .append("  };\n");
+  }
+
+  private static void writeMethod(StringBuilder source, FactoryMethod method) {
+    source.append("  @Override\n")
+        .append("  public ").append(SNACKBAR_WRAPPER).append(' ').append(method.name).append('(');
+    int parameterCount = method.parameterNames.size();
+    for (int i = 0; i < parameterCount; i++) {
+      if (i > 0) {
+        source.append(", ");
+      }
+      source.append(method.parameterTypes.get(i)).append(' ').append(method.parameterNames.get(i));
+    }
+    source.append(") {\n")
+        .append("    ").append(SNACKBAR_WRAPPER).append(" wrapper = new ").append(SNACKBAR_WRAPPER).append('(')
+        .append(SNACKBAR).append(".make(").append(method.parentParameter).append(", ")
+        .append(resId(method.messageResId)).append(", ").append(method.duration).append("));\n");
+    if (method.actionResId != 0) {
+      String listener = method.actionListenerParameter != null ? method.actionListenerParameter : NO_ACTION_LISTENER;
+      writeCall(source, "setAction", resId(method.actionResId) + ", " + listener);
+    }
+    if (method.backgroundColorResId != 0) {
+      writeCall(source, "setBackgroundColorRes", resId(method.backgroundColorResId));
+    }
+    if (method.messageTextColorResId != 0) {
+      writeCall(source, "setTextColorRes", resId(method.messageTextColorResId));
+    }
+    if (method.actionTextColorResId != 0) {
+      writeCall(source, "setActionTextColorRes", resId(method.actionTextColorResId));
+    }
+    if (method.iconResId != 0) {
+      writeCall(source, "setIcon", resId(method.iconResId));
+    }
+    for (String callback : method.callbackParameters) {
+      writeCall(source, "addCallback", callback);
+    }
+    source.append("    return wrapper;\n")
+        .append("  }\n");
+  }
+
+  private static void writeCall(StringBuilder source, String setter, String arguments) {
+    source.append("    wrapper.").append(setter).append('(').append(arguments).append(");\n");
+  }
+
+  private static String resId(int resId) {
+    return "0x" + Integer.toHexString(resId);
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.compiler;
+
+import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarAction;
+import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarDuration;
+import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarFactory;
+import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarMessage;
+import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarStyle;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates an implementation of each interface annotated with SnackbarFactory. Each generated method makes the
+ * Snackbar with the message resource ID and duration as constants, wraps it in a SnackbarWrapper and applies the
+ * action, style and callbacks. Listeners for actions that have no OnClickListener parameter share a single instance
+ * held by the generated class. Resource IDs are written as the constant values read from the annotations, which only
+ * application modules can provide, as the R fields of library modules are not final.
+ */
+public final class SnackbarFactoryProcessor extends AbstractProcessor {
+
+  static final String SUFFIX = "_SnackbarFactory";
+
+  private static final String SNACKBAR_WRAPPER = "com.github.andrewlord1990.snackbarbuilder.SnackbarWrapper";
+  private static final String VIEW = "android.view.View";
+  private static final String ON_CLICK_LISTENER = "android.view.View.OnClickListener";
+  private static final String SNACKBAR_CALLBACK = "android.support.design.widget.Snackbar.Callback";
+  private static final int LENGTH_LONG = 0;
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(SnackbarFactory.class.getCanonicalName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(SnackbarFactory.class)) {
+      if (element.getKind() != ElementKind.INTERFACE) {
+        error(element, "@SnackbarFactory can only be applied to interfaces");
+        continue;
+      }
+      processFactory((TypeElement) element);
+    }
+    return true;
+  }
+
+  private void processFactory(TypeElement factory) {
+    List<FactoryMethod> methods = new ArrayList<>();
+    boolean valid = true;
+    for (Element member : factory.getEnclosedElements()) {
+      if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.ABSTRACT)) {
+        continue;
+      }
+      FactoryMethod method = parseMethod((ExecutableElement) member);
+      if (method == null) {
+        valid = false;
+      } else {
+        methods.add(method);
+      }
+    }
+    if (valid) {
+      writeFactory(factory, methods);
+    }
+  }
+
+  private FactoryMethod parseMethod(ExecutableElement element) {
+    if (!SNACKBAR_WRAPPER.equals(element.getReturnType().toString())) {
+      error(element, "@SnackbarFactory methods must return SnackbarWrapper");
+      return null;
+    }
+    SnackbarMessage message = element.getAnnotation(SnackbarMessage.class);
+    if (message == null) {
+      error(element, "@SnackbarFactory methods must be annotated with @SnackbarMessage");
+      return null;
+    }
+    FactoryMethod method = new FactoryMethod(element.getSimpleName().toString());
+    method.messageResId = message.value();
+    SnackbarDuration duration = element.getAnnotation(SnackbarDuration.class);
+    method.duration = duration != null ? duration.value() : LENGTH_LONG;
+    SnackbarAction action = element.getAnnotation(SnackbarAction.class);
+    if (action != null) {
+      method.actionResId = action.value();
+    }
+    SnackbarStyle style = element.getAnnotation(SnackbarStyle.class);
+    if (style != null) {
+      method.backgroundColorResId = style.backgroundColor();
+      method.messageTextColorResId = style.messageTextColor();
+      method.actionTextColorResId = style.actionTextColor();
+      method.iconResId = style.icon();
+    }
+    if (!parseParameters(element, method)) {
+      return null;
+    }
+    return method;
+  }
+
+  private boolean parseParameters(ExecutableElement element, FactoryMethod method) {
+    List<? extends VariableElement> parameters = element.getParameters();
+    if (parameters.isEmpty() || !VIEW.equals(parameters.get(0).asType().toString())) {
+      error(element, "The first parameter of @SnackbarFactory methods must be the parent View");
+      return false;
+    }
+    for (VariableElement parameter : parameters) {
+      String type = parameter.asType().toString();
+      String name = parameter.getSimpleName().toString();
+      method.addParameter(type, name);
+      if (method.parentParameter == null) {
+        method.parentParameter = name;
+      } else if (ON_CLICK_LISTENER.equals(type) && method.actionListenerParameter == null) {
+        method.actionListenerParameter = name;
+      } else if (isCallback(parameter.asType())) {
+        method.callbackParameters.add(name);
+      } else {
+        error(parameter, "Parameters after the parent View must be a single OnClickListener or Snackbar.Callbacks");
+        return false;
+      }
+    }
+    if (method.actionListenerParameter != null && method.actionResId == 0) {
+      error(element, "@SnackbarFactory methods with an OnClickListener must be annotated with @SnackbarAction");
+      return false;
+    }
+    return true;
+  }
+
+  private boolean isCallback(TypeMirror type) {
+    TypeElement callback = processingEnv.getElementUtils().getTypeElement(SNACKBAR_CALLBACK);
+    if (callback == null) {
+      return false;
+    }
+    Types types = processingEnv.getTypeUtils();
+    return types.isAssignable(type, types.erasure(callback.asType()));
+  }
+
+  private void writeFactory(TypeElement factory, List<FactoryMethod> methods) {
+    String packageName = processingEnv.getElementUtils().getPackageOf(factory).getQualifiedName().toString();
+    String className = getClassName(factory, packageName);
+    String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+    FactoryWriter factoryWriter = new FactoryWriter(packageName, className,
+        factory.getQualifiedName().toString(), methods);
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, factory);
+      Writer writer = file.openWriter();
+      try {
+        factoryWriter.write(writer);
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      error(factory, "Unable to write " + qualifiedName + ": " + e.getMessage());
+    }
+  }
+
+  private static String getClassName(TypeElement factory, String packageName) {
+    String qualifiedName = factory.getQualifiedName().toString();
+    String nestedName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+    return nestedName.replace('.', '_') + SUFFIX;
+  }
+
+  private void error(Element element, String message) {
+    Messager messager = processingEnv.getMessager();
+    messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.compiler;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SnackbarFactoryProcessorTest {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private File sources;
+  private File generated;
+  private File classes;
+  private DiagnosticCollector<JavaFileObject> diagnostics;
+
+  @Before
+  public void before() throws IOException {
+    sources = folder.newFolder("sources");
+    generated = folder.newFolder("generated");
+    classes = folder.newFolder("classes");
+    diagnostics = new DiagnosticCollector<>();
+    writeSource("android/view/View.java", "package android.view;\n"
+        + "public class View {\n"
+        + "  public interface OnClickListener {\n"
+        + "    void onClick(View view);\n"
+        + "  }\n"
+        + "}\n");
+    writeSource("android/support/design/widget/Snackbar.java", "package android.support.design.widget;\n"
+        + "public class Snackbar {\n"
+        + "  public final String made;\n"
+        + "  private Snackbar(String made) {\n"
+        + "    this.made = made;\n"
+        + "  }\n"
+        + "  public static Snackbar make(android.view.View view, int text, int duration) {\n"
+        + "    return new Snackbar(\"make(\" + Integer.toHexString(text) + \", \" + duration + \")\");\n"
+        + "  }\n"
+        + "  public static class Callback {\n"
+        + "  }\n"
+        + "}\n");
+    writeSource("com/github/andrewlord1990/snackbarbuilder/SnackbarWrapper.java",
+        "package com.github.andrewlord1990.snackbarbuilder;\n"
+            + "public class SnackbarWrapper {\n"
+            + "  public final StringBuilder calls = new StringBuilder();\n"
+            + "  public SnackbarWrapper(android.support.design.widget.Snackbar snackbar) {\n"
+            + "    calls.append(snackbar.made);\n"
+            + "  }\n"
+            + "  public SnackbarWrapper setAction(int text, android.view.View.OnClickListener listener) {\n"
+            + "    return record(\"setAction\", text);\n"
+            + "  }\n"
+            + "  public SnackbarWrapper setBackgroundColorRes(int color) {\n"
+            + "    return record(\"setBackgroundColorRes\", color);\n"
+            + "  }\n"
+            + "  public SnackbarWrapper setTextColorRes(int color) {\n"
+            + "    return record(\"setTextColorRes\", color);\n"
+            + "  }\n"
+            + "  public SnackbarWrapper setActionTextColorRes(int color) {\n"
+            + "    return record(\"setActionTextColorRes\", color);\n"
+            + "  }\n"
+            + "  public SnackbarWrapper setIcon(int icon) {\n"
+            + "    return record(\"setIcon\", icon);\n"
+            + "  }\n"
+            + "  public SnackbarWrapper addCallback(android.support.design.widget.Snackbar.Callback callback) {\n"
+            + "    calls.append(\" addCallback\");\n"
+            + "    return this;\n"
+            + "  }\n"
+            + "  private SnackbarWrapper record(String setter, int value) {\n"
+            + "    calls.append(' ').append(setter).append('(').append(Integer.toHexString(value)).append(')');\n"
+            + "    return this;\n"
+            + "  }\n"
+            + "}\n");
+  }
+
+  @Test
+  public void givenMessageAndDuration_whenProcessed_thenFactoryMakesSnackbarWithConstants() throws IOException {
+    writeFactory("  @SnackbarMessage(0x7f0b0001)\n"
+        + "  @SnackbarDuration(-1)\n"
+        + "  SnackbarWrapper saved(View parent);\n");
+
+    boolean success = process();
+
+    assertThat(success).isTrue();
+    assertThat(readGenerated()).contains("public final class AppSnackbars_SnackbarFactory implements test.AppSnackbars")
+        .contains("Snackbar.make(parent, 0x7f0b0001, -1)");
+  }
+
+  @Test
+  public void givenActionAndStyle_whenProcessed_thenFactoryAppliesThem() throws IOException {
+    writeFactory("  @SnackbarMessage(0x7f0b0001)\n"
+        + "  @SnackbarAction(0x7f0b0002)\n"
+        + "  @SnackbarStyle(backgroundColor = 0x7f050001, icon = 0x7f020001)\n"
+        + "  SnackbarWrapper deleted(View parent, View.OnClickListener undo, Snackbar.Callback callback);\n");
+
+    boolean success = process();
+
+    assertThat(success).isTrue();
+    assertThat(readGenerated()).contains("wrapper.setAction(0x7f0b0002, undo);")
+        .contains("wrapper.setBackgroundColorRes(0x7f050001);")
+        .contains("wrapper.setIcon(0x7f020001);")
+        .contains("wrapper.addCallback(callback);")
+        .doesNotContain("NO_ACTION_LISTENER");
+  }
+
+  @Test
+  public void givenActionWithoutListener_whenProcessed_thenSharedListenerUsed() throws IOException {
+    writeFactory("  @SnackbarMessage(0x7f0b0001)\n"
+        + "  @SnackbarAction(0x7f0b0002)\n"
+        + "  SnackbarWrapper retry(View parent);\n");
+
+    boolean success = process();
+
+    assertThat(success).isTrue();
+    assertThat(readGenerated()).contains("private static final android.view.View.OnClickListener NO_ACTION_LISTENER")
+        .contains("wrapper.setAction(0x7f0b0002, NO_ACTION_LISTENER);");
+  }
+
+  @Test
+  public void givenActionAndStyle_whenCompiled_thenGeneratedFactoryAppliesThem() throws Exception {
+    writeFactory("  @SnackbarMessage(0x7f0b0001)\n"
+        + "  @SnackbarAction(0x7f0b0002)\n"
+        + "  @SnackbarStyle(backgroundColor = 0x7f050001, messageTextColor = 0x7f050002, icon = 0x7f020001)\n"
+        + "  @SnackbarDuration(-2)\n"
+        + "  SnackbarWrapper deleted(View parent, Snackbar.Callback callback);\n");
+
+    boolean success = compile();
+
+    assertThat(success).isTrue();
+    assertThat(getErrors()).isEmpty();
+    URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()});
+    Class<?> factory = loader.loadClass("test.AppSnackbars" + SnackbarFactoryProcessor.SUFFIX);
+    Class<?> view = loader.loadClass("android.view.View");
+    Class<?> callback = loader.loadClass("android.support.design.widget.Snackbar$Callback");
+    Object wrapper = factory.getMethod("deleted", view, callback)
+        .invoke(factory.newInstance(), view.newInstance(), callback.newInstance());
+    assertThat(wrapper.getClass().getField("calls").get(wrapper).toString()).isEqualTo("make(7f0b0001, -2)"
+        + " setAction(7f0b0002) setBackgroundColorRes(7f050001) setTextColorRes(7f050002) setIcon(7f020001)"
+        + " addCallback");
+  }
+
+  @Test
+  public void givenNoMessage_whenProcessed_thenError() throws IOException {
+    writeFactory("  SnackbarWrapper saved(View parent);\n");
+
+    boolean success = process();
+
+    assertThat(success).isFalse();
+    assertThat(getErrors()).contains("@SnackbarFactory methods must be annotated with @SnackbarMessage");
+  }
+
+  @Test
+  public void givenNoParentView_whenProcessed_thenError() throws IOException {
+    writeFactory("  @SnackbarMessage(0x7f0b0001)\n"
+        + "  SnackbarWrapper saved();\n");
+
+    boolean success = process();
+
+    assertThat(success).isFalse();
+    assertThat(getErrors()).contains("The first parameter of @SnackbarFactory methods must be the parent View");
+  }
+
+  private void writeFactory(String methods) throws IOException {
+    writeSource("test/AppSnackbars.java", "package test;\n"
+        + "import android.support.design.widget.Snackbar;\n"
+        + "import android.view.View;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.SnackbarWrapper;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarAction;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarDuration;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarFactory;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarMessage;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotations.SnackbarStyle;\n"
+        + "@SnackbarFactory\n"
+        + "public interface AppSnackbars {\n"
+        + methods
+        + "}\n");
+  }
+
+  private void writeSource(String path, String source) throws IOException {
+    File file = new File(sources, path);
+    if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+      throw new IOException("Unable to create " + file.getParent());
+    }
+    OutputStream output = new FileOutputStream(file);
+    try {
+      output.write(source.getBytes(UTF_8));
+    } finally {
+      output.close();
+    }
+  }
+
+  private boolean process() throws IOException {
+    return run("-proc:only");
+  }
+
+  private boolean compile() throws IOException {
+    return run("-d", classes.getAbsolutePath());
+  }
+
+  private boolean run(String... outputOptions) throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, UTF_8);
+    try {
+      List<File> files = new ArrayList<>();
+      collectSources(sources, files);
+      List<String> options = new ArrayList<>(Arrays.asList(outputOptions));
+      options.addAll(Arrays.asList("-classpath", System.getProperty("java.class.path"),
+          "-s", generated.getAbsolutePath()));
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+          fileManager.getJavaFileObjectsFromFiles(files));
+      task.setProcessors(Arrays.asList(new SnackbarFactoryProcessor()));
+      return task.call();
+    } finally {
+      fileManager.close();
+    }
+  }
+
+  private static void collectSources(File directory, List<File> files) {
+    File[] children = directory.listFiles();
+    if (children == null) {
+      return;
+    }
+    for (File child : children) {
+      if (child.isDirectory()) {
+        collectSources(child, files);
+      } else {
+        files.add(child);
+      }
+    }
+  }
+
+  private String readGenerated() throws IOException {
+    File file = new File(generated, "test/AppSnackbars" + SnackbarFactoryProcessor.SUFFIX + ".java");
+    InputStream input = new FileInputStream(file);
+    try {
+      byte[] bytes = new byte[(int) file.length()];
+      int read = 0;
+      while (read < bytes.length) {
+        read += input.read(bytes, read, bytes.length - read);
+      }
+      return new String(bytes, UTF_8);
+    } finally {
+      input.close();
+    }
+  }
+
+  private String getErrors() {
+    StringBuilder errors = new StringBuilder();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+        errors.append(diagnostic.getMessage(null)).append('\n');
+      }
+    }
+    return errors.toString();
+  }
+}
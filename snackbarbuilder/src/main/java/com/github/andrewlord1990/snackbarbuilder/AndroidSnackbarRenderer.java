@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.ColorInt;
+import android.support.design.widget.Snackbar;
+import android.support.v4.graphics.drawable.DrawableCompat;
+import android.support.v4.view.ViewCompat;
+import android.text.Spannable;
+import android.text.SpannableString;
+import android.text.TextUtils;
+import android.text.style.ForegroundColorSpan;
+import android.view.View;
+import android.view.View.OnClickListener;
+import android.widget.Button;
+import android.widget.TextView;
+
+import com.github.andrewlord1990.snackbarbuilder.render.SnackbarRenderer;
+
+final class AndroidSnackbarRenderer implements SnackbarRenderer {
+
+  private static final OnClickListener NO_ACTION = new OnClickListener() {
+    @Override
+    public void onClick(View view) {
+      // The Snackbar dismisses itself with DISMISS_EVENT_ACTION after calling this
+    }
+  };
+
+  private final Snackbar snackbar;
+  private final TextView messageView;
+  private final Button actionView;
+  private final TextViewExtension actionViewExtension;
+  private Drawable tintedBackground;
+
+  AndroidSnackbarRenderer(Snackbar snackbar) {
+    this.snackbar = snackbar;
+    messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    actionView = (Button) snackbar.getView().findViewById(R.id.snackbar_action);
+    actionViewExtension = TextViewExtension.from(actionView);
+  }
+
+  @Override
+  public Snackbar getSnackbar() {
+    return snackbar;
+  }
+
+  @Override
+  public View getView() {
+    return snackbar.getView();
+  }
+
+  @Override
+  public Context getContext() {
+    return snackbar.getView().getContext();
+  }
+
+  @Override
+  public CharSequence getMessage() {
+    return messageView.getText();
+  }
+
+  @Override
+  public void setMessage(CharSequence message) {
+    snackbar.setText(message);
+  }
+
+  @Override
+  public void appendMessage(CharSequence message) {
+    messageView.append(message);
+  }
+
+  @Override
+  public void appendMessage(CharSequence message, @ColorInt int color) {
+    Spannable spannable = new SpannableString(message);
+    spannable.setSpan(new ForegroundColorSpan(color), 0, spannable.length(),
+        Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
+    messageView.append(spannable);
+  }
+
+  @Override
+  public ColorStateList getMessageTextColors() {
+    return messageView.getTextColors();
+  }
+
+  @Override
+  public int getMessageTextColor() {
+    return messageView.getCurrentTextColor();
+  }
+
+  @Override
+  public void setMessageTextColor(@ColorInt int color) {
+    messageView.setTextColor(color);
+  }
+
+  @Override
+  public void setMessageTextColor(ColorStateList colors) {
+    messageView.setTextColor(colors);
+  }
+
+  @Override
+  public int getMessageVisibility() {
+    return messageView.getVisibility();
+  }
+
+  @Override
+  public void setMessageVisibility(int visibility) {
+    messageView.setVisibility(visibility);
+  }
+
+  @Override
+  public CharSequence getActionText() {
+    return actionView.getText();
+  }
+
+  @Override
+  public void setActionText(CharSequence actionText) {
+    actionView.setText(actionText);
+  }
+
+  @Override
+  public void setAction(CharSequence actionText, OnClickListener actionClickListener) {
+    snackbar.setAction(actionText, actionClickListener);
+  }
+
+  @Override
+  public void setActionClickListener(OnClickListener actionClickListener) {
+    actionView.setOnClickListener(actionClickListener);
+  }
+
+  @Override
+  public ColorStateList getActionTextColors() {
+    return actionView.getTextColors();
+  }
+
+  @Override
+  public int getActionTextColor() {
+    return actionView.getCurrentTextColor();
+  }
+
+  @Override
+  public void setActionTextColor(@ColorInt int color) {
+    snackbar.setActionTextColor(color);
+  }
+
+  @Override
+  public void setActionTextColor(ColorStateList colors) {
+    snackbar.setActionTextColor(colors);
+  }
+
+  @Override
+  public int getActionVisibility() {
+    return actionView.getVisibility();
+  }
+
+  @Override
+  public void setActionVisibility(int visibility) {
+    actionView.setVisibility(visibility);
+  }
+
+  @Override
+  public void setActionAllCaps(boolean allCaps) {
+    actionViewExtension.setAllCaps(allCaps);
+  }
+
+  @Override
+  public void setActionEnabled(boolean enabled) {
+    actionView.setEnabled(enabled);
+  }
+
+  @Override
+  public void setBackgroundColor(@ColorInt int color) {
+    tintedBackground = null;
+    snackbar.getView().setBackgroundColor(color);
+  }
+
+  @Override
+  public void setBackgroundTint(@ColorInt int color) {
+    if (tintedBackground == null) {
+      View view = snackbar.getView();
+      Drawable background = view.getBackground();
+      if (background == null) {
+        view.setBackgroundColor(color);
+        return;
+      }
+      tintedBackground = DrawableCompat.wrap(background.mutate());
+      if (tintedBackground != background) {
+        ViewCompat.setBackground(view, tintedBackground);
+      }
+    }
+    DrawableCompat.setTintList(tintedBackground, TintCache.get(color));
+  }
+
+  @Override
+  public Drawable getIcon() {
+    return messageView.getCompoundDrawables()[0];
+  }
+
+  @Override
+  public void setIcon(Drawable icon) {
+    messageView.setCompoundDrawablesWithIntrinsicBounds(icon, null, null, null);
+  }
+
+  @Override
+  public int getIconMargin() {
+    return messageView.getCompoundDrawablePadding();
+  }
+
+  @Override
+  public void setIconMargin(int iconMarginPixels) {
+    messageView.setCompoundDrawablePadding(iconMarginPixels);
+  }
+
+  @Override
+  public int getDuration() {
+    return snackbar.getDuration();
+  }
+
+  @Override
+  public void setDuration(int duration) {
+    snackbar.setDuration(duration);
+  }
+
+  @Override
+  public void addCallback(Snackbar.Callback callback) {
+    snackbar.addCallback(callback);
+  }
+
+  @Override
+  public void removeCallback(Snackbar.Callback callback) {
+    snackbar.removeCallback(callback);
+  }
+
+  @Override
+  public void show() {
+    snackbar.show();
+  }
+
+  @Override
+  public void dismiss() {
+    snackbar.dismiss();
+  }
+
+  @Override
+  public void dismissFromAction() {
+    CharSequence actionText = actionView.getText();
+    if (TextUtils.isEmpty(actionText)) {
+      snackbar.dismiss();
+      return;
+    }
+    // Snackbar only reports DISMISS_EVENT_ACTION from the listener it wraps around the action, so the action is swapped
+    // for one that does nothing and then clicked. callOnClick() runs that listener without the click sound and the
+    // accessibility event that performClick() would send for a click the user never made.
+    snackbar.setAction(actionText, NO_ACTION);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH_MR1) {
+      actionView.callOnClick();
+    } else {
+      actionView.performClick();
+    }
+  }
+
+  @Override
+  public boolean isShown() {
+    return snackbar.isShown();
+  }
+
+  @Override
+  public boolean isShownOrQueued() {
+    return snackbar.isShownOrQueued();
+  }
+}
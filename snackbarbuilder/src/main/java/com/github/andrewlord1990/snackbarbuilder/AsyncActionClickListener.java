@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.support.design.widget.Snackbar;
+import android.view.View;
+import android.view.View.OnClickListener;
+
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarScheduler;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs a SnackbarAsyncAction when the action is clicked. While the work is running, the action is disabled, clicks
+ * are ignored and the Snackbar is shown indefinitely. Showing a Snackbar that is already showing updates its duration
+ * and restarts its timeout, which is used both to stop it timing out while working and to restore its timeout after a
+ * failure. Once the work completes, the Snackbar is dismissed with DISMISS_EVENT_ACTION as for any other action. If
+ * the Executor rejects the work or it throws, the action is treated as failed so that it can be clicked again.
+ */
+final class AsyncActionClickListener implements OnClickListener {
+
+  private final SnackbarWrapper wrapper;
+  private final CharSequence actionText;
+  private final CharSequence workingText;
+  private final SnackbarAsyncAction action;
+  private final Executor executor;
+  private final SnackbarScheduler scheduler;
+  private boolean working;
+  private int duration;
+
+  AsyncActionClickListener(SnackbarWrapper wrapper, CharSequence actionText, CharSequence workingText,
+                           SnackbarAsyncAction action, Executor executor) {
+    this(wrapper, actionText, workingText, action, executor, SnackbarClock.getScheduler());
+  }
+
+  AsyncActionClickListener(SnackbarWrapper wrapper, CharSequence actionText, CharSequence workingText,
+                           SnackbarAsyncAction action, Executor executor, SnackbarScheduler scheduler) {
+    this.wrapper = wrapper;
+    this.actionText = actionText;
+    this.workingText = workingText;
+    this.action = action;
+    this.executor = executor;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public void onClick(View view) {
+    if (working) {
+      return;
+    }
+    working = true;
+    wrapper.setActionEnabled(false);
+    if (workingText != null) {
+      wrapper.setActionText(workingText);
+    }
+    duration = wrapper.getDuration();
+    if (wrapper.isShownOrQueued()) {
+      wrapper.setDuration(Snackbar.LENGTH_INDEFINITE).show();
+    }
+    try {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          runAction();
+        }
+      });
+    } catch (RuntimeException e) {
+      onFailed(e);
+    }
+  }
+
+  boolean isWorking() {
+    return working;
+  }
+
+  private void runAction() {
+    Exception failure = null;
+    try {
+      action.runAction();
+    } catch (Exception e) {
+      failure = e;
+    } catch (Error e) {
+      postFailed(new ExecutionException(e));
+      throw e;
+    }
+    if (failure == null) {
+      scheduler.post(new Runnable() {
+        @Override
+        public void run() {
+          onCompleted();
+        }
+      });
+    } else {
+      postFailed(failure);
+    }
+  }
+
+  private void postFailed(final Exception error) {
+    scheduler.post(new Runnable() {
+      @Override
+      public void run() {
+        onFailed(error);
+      }
+    });
+  }
+
+  private void onCompleted() {
+    working = false;
+    wrapper.dismissFromAction();
+    action.onActionCompleted(wrapper);
+  }
+
+  private void onFailed(Exception error) {
+    working = false;
+    wrapper.setActionEnabled(true);
+    wrapper.setActionText(actionText);
+    wrapper.setDuration(duration);
+    if (wrapper.isShownOrQueued()) {
+      wrapper.show();
+    }
+    action.onActionFailed(wrapper, error);
+  }
+}
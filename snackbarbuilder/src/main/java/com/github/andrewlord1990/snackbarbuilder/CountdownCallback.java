@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.annotation.SuppressLint;
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.support.design.widget.CoordinatorLayout;
+import android.support.design.widget.Snackbar;
+import android.support.v4.view.ViewCompat;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.OnAttachStateChangeListener;
+import android.view.View.OnTouchListener;
+import android.view.ViewTreeObserver.OnPreDrawListener;
+import android.widget.TextView;
+
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.github.andrewlord1990.snackbarbuilder.time.FrameTicker;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+
+/**
+ * Counts down the time left before the Snackbar times out, as a ring on its action. The countdown starts when the
+ * Snackbar is shown, which is also when its timeout starts, and the ring is updated from a single frame callback. It
+ * stops updating while the Snackbar's view is not on screen and picks up from the time left when it is next drawn.
+ * While a Snackbar in a CoordinatorLayout is touched the Snackbar manager pauses its timeout and starts it again in
+ * full when the touch ends, so the ring does the same. Once the ring is empty the callback stops and the Snackbar's
+ * own timeout dismisses it, so the dismiss event is still a timeout. A Snackbar has at most one countdown, which starts
+ * again when its content is replaced.
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
+final class CountdownCallback extends SnackbarCallback
+    implements OnAttachStateChangeListener, OnPreDrawListener, OnTouchListener, Runnable {
+
+  private final SnackbarWrapper wrapper;
+  private final View view;
+  final CountdownDrawable drawable;
+  final FrameTicker ticker;
+  private long deadlineMillis;
+  private long durationMillis;
+  private boolean counting;
+  private boolean paused;
+
+  CountdownCallback(SnackbarWrapper wrapper, CountdownDrawable drawable) {
+    this.wrapper = wrapper;
+    this.drawable = drawable;
+    view = wrapper.getView();
+    ticker = FrameTicker.create(this);
+  }
+
+  static CountdownCallback attach(SnackbarWrapper wrapper) {
+    CountdownCallback attached = find(wrapper);
+    if (attached != null) {
+      return attached;
+    }
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1 && wrapper.getView() != null) {
+      TextView actionView = (TextView) wrapper.getView().findViewById(R.id.snackbar_action);
+      int size = Math.round(actionView.getTextSize());
+      CountdownDrawable drawable = new CountdownDrawable(actionView.getCurrentTextColor(), size);
+      actionView.setCompoundDrawablesWithIntrinsicBounds(drawable, null, null, null);
+      actionView.setCompoundDrawablePadding(size / 2);
+      CountdownCallback callback = new CountdownCallback(wrapper, drawable);
+      callback.view.addOnAttachStateChangeListener(callback);
+      callback.view.setOnTouchListener(callback);
+      actionView.setOnTouchListener(callback);
+      callback.view.setTag(R.id.snackbarbuilder_countdown, callback);
+      wrapper.addCallback(callback);
+      if (ViewCompat.isAttachedToWindow(callback.view)) {
+        callback.onViewAttachedToWindow(callback.view);
+      }
+      return callback;
+    }
+    return null;
+  }
+
+  static CountdownCallback find(SnackbarWrapper wrapper) {
+    View view = wrapper.getView();
+    return view != null ? (CountdownCallback) view.getTag(R.id.snackbarbuilder_countdown) : null;
+  }
+
+  @Override
+  public void onSnackbarShown(Snackbar snackbar) {
+    restart();
+  }
+
+  /**
+   * Start counting down again from the full duration of the Snackbar, as its timeout does when it is shown again.
+   */
+  void restart() {
+    paused = false;
+    drawable.setRemainingFraction(1);
+    int duration = wrapper.getDuration();
+    if (duration == Snackbar.LENGTH_INDEFINITE) {
+      counting = false;
+      ticker.cancel();
+      return;
+    }
+    durationMillis = SnackbarSnapshot.getDurationMillis(duration);
+    deadlineMillis = SnackbarClock.uptimeMillis() + durationMillis;
+    counting = true;
+    ticker.schedule();
+  }
+
+  @Override
+  public void onSnackbarDismissed(Snackbar snackbar) {
+    counting = false;
+    ticker.cancel();
+  }
+
+  @Override
+  public void onViewAttachedToWindow(View attachedView) {
+    view.getViewTreeObserver().addOnPreDrawListener(this);
+    if (counting && !paused) {
+      ticker.schedule();
+    }
+  }
+
+  @Override
+  public void onViewDetachedFromWindow(View detachedView) {
+    view.getViewTreeObserver().removeOnPreDrawListener(this);
+    ticker.cancel();
+  }
+
+  @Override
+  public boolean onPreDraw() {
+    if (counting && !paused && !ticker.isScheduled() && view.isShown()) {
+      ticker.schedule();
+    }
+    return true;
+  }
+
+  @Override
+  @SuppressLint("ClickableViewAccessibility")
+  public boolean onTouch(View touchedView, MotionEvent event) {
+    switch (event.getActionMasked()) {
+      case MotionEvent.ACTION_DOWN:
+        pause();
+        break;
+      case MotionEvent.ACTION_UP:
+      case MotionEvent.ACTION_CANCEL:
+        resume();
+        break;
+      default:
+        break;
+    }
+    // Keep receiving the gesture on the Snackbar, the action handles its own touches
+    return touchedView == view;
+  }
+
+  @Override
+  public void run() {
+    if (!counting || paused) {
+      return;
+    }
+    long remainingMillis = deadlineMillis - SnackbarClock.uptimeMillis();
+    drawable.setRemainingFraction(remainingMillis / (float) durationMillis);
+    if (remainingMillis <= 0) {
+      counting = false;
+    } else if (view.isShown()) {
+      ticker.schedule();
+    }
+  }
+
+  boolean isCounting() {
+    return counting;
+  }
+
+  boolean isPaused() {
+    return paused;
+  }
+
+  private void pause() {
+    if (counting && view.getParent() instanceof CoordinatorLayout) {
+      paused = true;
+      ticker.cancel();
+    }
+  }
+
+  private void resume() {
+    if (counting && paused) {
+      restart();
+    }
+  }
+}
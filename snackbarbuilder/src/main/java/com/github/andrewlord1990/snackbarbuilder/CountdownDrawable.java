@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+
+/**
+ * A ring that empties as time runs out, drawn clockwise from the top. The ring is only invalidated when the remaining
+ * fraction moves it by at least a degree, so a frame that would draw the same ring does not redraw it.
+ */
+final class CountdownDrawable extends Drawable {
+
+  private static final float FULL_SWEEP = 360;
+  private static final float START_ANGLE = -90;
+
+  private final Paint trackPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private final Paint ringPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private final RectF ringBounds = new RectF();
+  private final int size;
+  private int sweepDegrees = (int) FULL_SWEEP;
+
+  CountdownDrawable(@ColorInt int color, int size) {
+    this.size = size;
+    float strokeWidth = Math.max(1, size / 8f);
+    ringPaint.setStyle(Paint.Style.STROKE);
+    ringPaint.setStrokeWidth(strokeWidth);
+    ringPaint.setStrokeCap(Paint.Cap.ROUND);
+    ringPaint.setColor(color);
+    trackPaint.setStyle(Paint.Style.STROKE);
+    trackPaint.setStrokeWidth(strokeWidth);
+    trackPaint.setColor(color);
+    trackPaint.setAlpha(ringPaint.getAlpha() / 4);
+  }
+
+  void setRemainingFraction(float fraction) {
+    int newSweepDegrees = Math.round(FULL_SWEEP * Math.max(0, Math.min(fraction, 1)));
+    if (newSweepDegrees != sweepDegrees) {
+      sweepDegrees = newSweepDegrees;
+      invalidateSelf();
+    }
+  }
+
+  int getSweepDegrees() {
+    return sweepDegrees;
+  }
+
+  @Override
+  protected void onBoundsChange(Rect bounds) {
+    float inset = ringPaint.getStrokeWidth() / 2;
+    ringBounds.set(bounds.left + inset, bounds.top + inset, bounds.right - inset, bounds.bottom - inset);
+  }
+
+  @Override
+  public void draw(Canvas canvas) {
+    canvas.drawArc(ringBounds, 0, FULL_SWEEP, false, trackPaint);
+    if (sweepDegrees > 0) {
+      canvas.drawArc(ringBounds, START_ANGLE, sweepDegrees, false, ringPaint);
+    }
+  }
+
+  @Override
+  public int getIntrinsicWidth() {
+    return size;
+  }
+
+  @Override
+  public int getIntrinsicHeight() {
+    return size;
+  }
+
+  @Override
+  public void setAlpha(int alpha) {
+    ringPaint.setAlpha(alpha);
+    trackPaint.setAlpha(alpha / 4);
+    invalidateSelf();
+  }
+
+  @Override
+  public void setColorFilter(ColorFilter colorFilter) {
+    ringPaint.setColorFilter(colorFilter);
+    trackPaint.setColorFilter(colorFilter);
+    invalidateSelf();
+  }
+
+  @Override
+  public int getOpacity() {
+    return PixelFormat.TRANSLUCENT;
+  }
+}
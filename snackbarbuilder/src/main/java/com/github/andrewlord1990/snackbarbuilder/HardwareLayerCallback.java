@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.support.design.widget.Snackbar;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+import android.view.View.OnAttachStateChangeListener;
+import android.view.ViewTreeObserver.OnPreDrawListener;
+
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+
+/**
+ * Keeps the Snackbar's view on a hardware layer while it is animating, so that each frame of a slide composites the
+ * layer instead of redrawing the message, icon and action. The enter animation starts once the view is attached and
+ * ends when the Snackbar is shown. After that, the view moving away from where it rests, as it does when it slides out
+ * or is swiped, starts the exit animation, which ends when the Snackbar is dismissed. The layer is released whenever
+ * the view is idle, so that it does not hold on to the memory. A Snackbar has at most one of these, and one added to a
+ * Snackbar that is already on screen treats it as shown.
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
+final class HardwareLayerCallback extends SnackbarCallback implements OnAttachStateChangeListener, OnPreDrawListener {
+
+  private final View view;
+  private boolean shown;
+  private boolean layered;
+
+  HardwareLayerCallback(View view) {
+    this.view = view;
+  }
+
+  static void attach(SnackbarWrapper wrapper) {
+    View view = wrapper.getView();
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1 && view != null
+        && view.getTag(R.id.snackbarbuilder_hardware_layer) == null) {
+      HardwareLayerCallback callback = new HardwareLayerCallback(view);
+      view.addOnAttachStateChangeListener(callback);
+      view.setTag(R.id.snackbarbuilder_hardware_layer, callback);
+      wrapper.addCallback(callback);
+      if (ViewCompat.isAttachedToWindow(view)) {
+        callback.shown = true;
+        callback.onViewAttachedToWindow(view);
+      }
+    }
+  }
+
+  @Override
+  public void onViewAttachedToWindow(View attachedView) {
+    view.getViewTreeObserver().addOnPreDrawListener(this);
+    promote();
+  }
+
+  @Override
+  public void onViewDetachedFromWindow(View detachedView) {
+    view.getViewTreeObserver().removeOnPreDrawListener(this);
+    release();
+  }
+
+  @Override
+  public boolean onPreDraw() {
+    if (shown) {
+      if (isAtRest()) {
+        release();
+      } else {
+        promote();
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void onSnackbarShown(Snackbar snackbar) {
+    shown = true;
+    release();
+  }
+
+  @Override
+  public void onSnackbarDismissed(Snackbar snackbar) {
+    shown = false;
+    release();
+  }
+
+  boolean isLayered() {
+    return layered;
+  }
+
+  private boolean isAtRest() {
+    return view.getTranslationX() == 0 && view.getTranslationY() == 0 && view.getAlpha() == 1;
+  }
+
+  private void promote() {
+    if (!layered) {
+      layered = true;
+      view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+    }
+  }
+
+  private void release() {
+    if (layered) {
+      layered = false;
+      view.setLayerType(View.LAYER_TYPE_NONE, null);
+    }
+  }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.StringRes;
+import android.support.design.widget.Snackbar.Callback;
+import android.view.View.OnClickListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A SnackbarWrapper that is not built until it is needed. Created through SnackbarBuilder.buildLazyWrapper(), it holds
+ * a copy of the builder's options and records each change made to it instead of applying it to a Snackbar. The
+ * Snackbar is only made, and the recorded changes applied to it in one pass, when show() or build() is called. The
+ * builder's options and the recorded changes go into a single SnackbarEditor commit, so a property set on both is
+ * only set once, to its last value, and those that match the new Snackbar are skipped. If the wrapper is thrown away
+ * without being shown, the Snackbar is never made and its views are never inflated.
+ */
+public final class LazySnackbarWrapper {
+
+  private final SnackbarBuilder builder;
+  private List<Operation> operations;
+  private SnackbarWrapper wrapper;
+
+  LazySnackbarWrapper(SnackbarBuilder builder) {
+    this.builder = builder;
+  }
+
+  /**
+   * Set the text to display on the Snackbar.
+   *
+   * @param message Text to display.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setText(@NonNull final CharSequence message) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setText(message);
+      }
+    });
+  }
+
+  /**
+   * Set the text to display on the Snackbar. The string resource is only loaded when the Snackbar is built.
+   *
+   * @param message String resource of the text to display.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setText(@StringRes final int message) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setText(message);
+      }
+    });
+  }
+
+  /**
+   * Set the colour of the message on the Snackbar.
+   *
+   * @param color The colour to display the message.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setTextColor(@ColorInt final int color) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setTextColor(color);
+      }
+    });
+  }
+
+  /**
+   * Append text to the message on the Snackbar.
+   *
+   * @param message The text to append.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper appendMessage(@NonNull final CharSequence message) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.appendMessage(message);
+      }
+    });
+  }
+
+  /**
+   * Append text to the message on the Snackbar, in the specified colour.
+   *
+   * @param message The text to append.
+   * @param color   The colour to apply to the text.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper appendMessage(@NonNull final CharSequence message, @ColorInt final int color) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.appendMessage(message, color);
+      }
+    });
+  }
+
+  /**
+   * Set the action to be displayed in the Snackbar and the callback to invoke when the action is clicked.
+   *
+   * @param actionText          Text to display as an action.
+   * @param actionClickListener Callback to be invoked when the action is clicked.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setAction(final CharSequence actionText, final OnClickListener actionClickListener) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setAction(actionText, actionClickListener);
+      }
+    });
+  }
+
+  /**
+   * Set the colour of the action on the Snackbar.
+   *
+   * @param color The colour to display the action.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setActionTextColor(@ColorInt final int color) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setActionTextColor(color);
+      }
+    });
+  }
+
+  /**
+   * Set whether the action text should be displayed in all caps.
+   *
+   * @param allCaps Whether to show the action text in all caps.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setActionTextAllCaps(final boolean allCaps) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setActionTextAllCaps(allCaps);
+      }
+    });
+  }
+
+  /**
+   * Set the background colour of the Snackbar.
+   *
+   * @param color The background colour.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setBackgroundColor(@ColorInt final int color) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setBackgroundColor(color);
+      }
+    });
+  }
+
+  /**
+   * Set the background colour of the Snackbar by tinting its existing background.
+   *
+   * @param color The background colour.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setBackgroundTint(@ColorInt final int color) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setBackgroundTint(color);
+      }
+    });
+  }
+
+  /**
+   * Set the total time to show the Snackbar for.
+   *
+   * @param duration The length of time for which to show the Snackbar, can either be one of the predefined lengths:
+   *                 LENGTH_SHORT, LENGTH_LONG or a custom duration in milliseconds.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setDuration(final int duration) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setDuration(duration);
+      }
+    });
+  }
+
+  /**
+   * Add a callback to the Snackbar for various events.
+   *
+   * @param callback The callback to be added.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper addCallback(final Callback callback) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        wrapper.addCallback(callback);
+      }
+    });
+  }
+
+  /**
+   * Set the icon at the start of the Snackbar. The drawable resource is only loaded when the Snackbar is built.
+   *
+   * @param icon The icon drawable resource to display.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setIcon(@DrawableRes final int icon) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setIcon(icon);
+      }
+    });
+  }
+
+  /**
+   * Set the icon at the start of the Snackbar.
+   *
+   * @param icon The icon to display.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setIcon(final Drawable icon) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setIcon(icon);
+      }
+    });
+  }
+
+  /**
+   * Set the margin to be displayed between the icon and the text.
+   *
+   * @param iconMarginPixels The margin before the icon.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public LazySnackbarWrapper setIconMargin(final int iconMarginPixels) {
+    return record(new Operation() {
+      @Override
+      public void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor) {
+        editor.setIconMargin(iconMarginPixels);
+      }
+    });
+  }
+
+  /**
+   * Whether the Snackbar has been made yet, through show() or build().
+   *
+   * @return Whether the Snackbar has been made.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public boolean isBuilt() {
+    return wrapper != null;
+  }
+
+  /**
+   * Make the Snackbar, if it has not been made already, and apply the changes that have been recorded. Any changes made
+   * to this instance after it has been built are applied straight away.
+   *
+   * @return The SnackbarWrapper wrapping the Snackbar.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper build() {
+    if (wrapper == null) {
+      SnackbarWrapper built = builder.makeWrapper();
+      SnackbarEditor editor = builder.fillEditor(built.edit());
+      if (operations != null) {
+        int operationsSize = operations.size();
+        for (int i = 0; i < operationsSize; i++) {
+          operations.get(i).applyTo(built, editor);
+        }
+        operations = null;
+      }
+      editor.commit();
+      wrapper = builder.finishWrapper(built);
+    }
+    return wrapper;
+  }
+
+  /**
+   * Make the Snackbar, if it has not been made already, and show it.
+   *
+   * @return The SnackbarWrapper wrapping the Snackbar.
+   */
+  @NonNull
+  public SnackbarWrapper show() {
+    return build().show();
+  }
+
+  private LazySnackbarWrapper record(Operation operation) {
+    if (wrapper != null) {
+      SnackbarEditor editor = wrapper.edit();
+      operation.applyTo(wrapper, editor);
+      editor.commit();
+    } else {
+      if (operations == null) {
+        operations = new ArrayList<>();
+      }
+      operations.add(operation);
+    }
+    return this;
+  }
+
+  private interface Operation {
+
+    void applyTo(SnackbarWrapper wrapper, SnackbarEditor editor);
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+/**
+ * Work to run in the background when the action on a Snackbar is clicked, set through
+ * SnackbarWrapper.setAsyncAction(). The work is run on the Executor and the callbacks are called on the main thread
+ * once it finishes.
+ */
+public abstract class SnackbarAsyncAction {
+
+  /**
+   * Carry out the work for the action. Called on the Executor.
+   *
+   * @throws Exception If the work failed, in which case the action can be clicked again to retry it.
+   */
+  public abstract void runAction() throws Exception;
+
+  /**
+   * Indicates that the work completed. Called on the main thread, after the Snackbar has been dismissed.
+   *
+   * @param wrapper The wrapper of the Snackbar the action was clicked on.
+   */
+  public void onActionCompleted(SnackbarWrapper wrapper) {
+    // Override if needed
+  }
+
+  /**
+   * Indicates that the work failed. Called on the main thread, once the action has been enabled again.
+   *
+   * @param wrapper The wrapper of the Snackbar the action was clicked on.
+   * @param error   The reason the work failed.
+   */
+  public void onActionFailed(SnackbarWrapper wrapper, Exception error) {
+    // Override if needed
+  }
+}
@@ -18,7 +18,6 @@ package com.github.andrewlord1990.snackbarbuilder;
 
 import android.app.Activity;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
@@ -42,8 +41,10 @@ import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarManualDismissC
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarShowCallback;
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarSwipeDismissCallback;
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarTimeoutDismissCallback;
+import com.github.andrewlord1990.snackbarbuilder.leak.SnackbarLeakWatchdog;
 import com.github.andrewlord1990.snackbarbuilder.parent.SnackbarParentFinder;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -64,18 +65,28 @@ public final class SnackbarBuilder {
 
   Context context;
   View parentView;
+  WeakReference<Context> weakContext;
+  WeakReference<View> weakParentView;
+  SnackbarParentFinder parentFinder;
   SpannableStringBuilder appendMessages;
   CharSequence message;
   int duration = Snackbar.LENGTH_LONG;
   CharSequence actionText;
   OnClickListener actionClickListener;
   List<Snackbar.Callback> callbacks = new ArrayList<>();
+  private boolean callbacksShared;
+  private boolean appendMessagesShared;
   boolean actionAllCaps = true;
+  boolean hardwareLayerAnimations;
+  boolean actionCountdown;
   int backgroundColor;
+  boolean tintBackground;
   int actionTextColor;
   int messageTextColor;
   int parentViewId;
   Drawable icon;
+  @DrawableRes
+  int iconResId;
   int iconMargin;
 
   /**
@@ -111,12 +122,70 @@ public final class SnackbarBuilder {
    */
   public SnackbarBuilder(Activity activity, SnackbarParentFinder parentFinder) {
     setup(activity);
+    this.parentFinder = parentFinder;
     parentView = parentFinder.findSnackbarParent(activity);
   }
 
+  private SnackbarBuilder(SnackbarBuilder source) {
+    context = source.context;
+    parentView = source.parentView;
+    weakContext = source.weakContext;
+    weakParentView = source.weakParentView;
+    parentFinder = source.parentFinder;
+    appendMessages = source.appendMessages;
+    appendMessagesShared = appendMessages != null;
+    source.appendMessagesShared = appendMessagesShared;
+    message = source.message;
+    duration = source.duration;
+    actionText = source.actionText;
+    actionClickListener = source.actionClickListener;
+    callbacks = source.callbacks;
+    callbacksShared = true;
+    source.callbacksShared = true;
+    actionAllCaps = source.actionAllCaps;
+    hardwareLayerAnimations = source.hardwareLayerAnimations;
+    actionCountdown = source.actionCountdown;
+    backgroundColor = source.backgroundColor;
+    tintBackground = source.tintBackground;
+    actionTextColor = source.actionTextColor;
+    messageTextColor = source.messageTextColor;
+    parentViewId = source.parentViewId;
+    icon = source.icon;
+    iconResId = source.iconResId;
+    iconMargin = source.iconMargin;
+    if (context != null) {
+      SnackbarLeakWatchdog.watch(this, context);
+    }
+  }
+
+  /**
+   * Prepare for the first Snackbar to be shown quickly, by doing the one-off work it would otherwise pay for. Once the
+   * main thread is next idle, which is usually after the first frame has been drawn, the theme attributes used by
+   * SnackbarBuilder are loaded and cached for the Context's theme. Must be called on the main thread.
+   *
+   * @param context Context with the theme that Snackbars will be built with, usually the Activity.
+   */
+  public static void warmUp(Context context) {
+    warmUp(context, false);
+  }
+
+  /**
+   * Prepare for the first Snackbar to be shown quickly, by doing the one-off work it would otherwise pay for. Once the
+   * main thread is next idle, which is usually after the first frame has been drawn, the theme attributes used by
+   * SnackbarBuilder are loaded and cached for the Context's theme. Optionally, a Snackbar is also created and thrown
+   * away, which loads the Design library classes and the Snackbar layout. Must be called on the main thread.
+   *
+   * @param context Context with the theme that Snackbars will be built with, usually the Activity.
+   * @param inflate Whether to also create a Snackbar to load its classes and layout.
+   */
+  public static void warmUp(Context context, boolean inflate) {
+    SnackbarWarmUp.schedule(context, inflate);
+  }
+
   private void setup(Context context) {
     this.context = context;
     loadThemeAttributes();
+    SnackbarLeakWatchdog.watch(this, context);
   }
 
   /**
@@ -138,7 +207,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder message(@StringRes int messageResId) {
-    this.message = context.getString(messageResId);
+    this.message = requireContext().getString(messageResId);
     return this;
   }
 
@@ -185,7 +254,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder appendMessage(@StringRes int messageResId) {
-    return appendMessage(context.getString(messageResId));
+    return appendMessage(requireContext().getString(messageResId));
   }
 
   /**
@@ -214,7 +283,7 @@ public final class SnackbarBuilder {
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder appendMessage(@StringRes int messageResId,
                                        @ColorRes int colorResId) {
-    return appendMessage(context.getString(messageResId),
+    return appendMessage(requireContext().getString(messageResId),
         getColor(colorResId));
   }
 
@@ -248,7 +317,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder actionText(@StringRes int actionTextResId) {
-    this.actionText = context.getString(actionTextResId);
+    this.actionText = requireContext().getString(actionTextResId);
     return this;
   }
 
@@ -309,6 +378,19 @@ public final class SnackbarBuilder {
     return this;
   }
 
+  /**
+   * Apply the background colour as a tint on the Snackbar's existing background, rather than replacing the background.
+   * This keeps the shape of the background, such as its rounded corners on tablets.
+   *
+   * @param tintBackground Whether to tint the background with the background colour.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder tintBackground(boolean tintBackground) {
+    this.tintBackground = tintBackground;
+    return this;
+  }
+
   /**
    * Set the standard callback for being informed of the Snackbar being shown or dismissed.
    *
@@ -316,7 +398,7 @@ public final class SnackbarBuilder {
    * @return This instance.
    */
   public SnackbarBuilder callback(Snackbar.Callback callback) {
-    callbacks.add(callback);
+    mutableCallbacks().add(callback);
     return this;
   }
 
@@ -328,7 +410,7 @@ public final class SnackbarBuilder {
    * @return This instance.
    */
   public SnackbarBuilder snackbarCallback(SnackbarCallback snackbarCallback) {
-    callbacks.add(snackbarCallback);
+    mutableCallbacks().add(snackbarCallback);
     return this;
   }
 
@@ -340,7 +422,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder showCallback(final SnackbarShowCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    mutableCallbacks().add(new SnackbarCallback() {
       public void onSnackbarShown(Snackbar snackbar) {
         callback.onSnackbarShown(snackbar);
       }
@@ -356,7 +438,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder dismissCallback(final SnackbarDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    mutableCallbacks().add(new SnackbarCallback() {
       public void onSnackbarDismissed(Snackbar snackbar, int dismissEvent) {
         callback.onSnackbarDismissed(snackbar, dismissEvent);
       }
@@ -372,7 +454,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder actionDismissCallback(final SnackbarActionDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    mutableCallbacks().add(new SnackbarCallback() {
       public void onSnackbarActionPressed(Snackbar snackbar) {
         callback.onSnackbarActionPressed(snackbar);
       }
@@ -388,7 +470,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder swipeDismissCallback(final SnackbarSwipeDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    mutableCallbacks().add(new SnackbarCallback() {
       public void onSnackbarSwiped(Snackbar snackbar) {
         callback.onSnackbarSwiped(snackbar);
       }
@@ -403,7 +485,7 @@ public final class SnackbarBuilder {
    * @return This instance.
    */
   public SnackbarBuilder timeoutDismissCallback(final SnackbarTimeoutDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    mutableCallbacks().add(new SnackbarCallback() {
       public void onSnackbarTimedOut(Snackbar snackbar) {
         callback.onSnackbarTimedOut(snackbar);
       }
@@ -419,7 +501,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder manualDismissCallback(final SnackbarManualDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    mutableCallbacks().add(new SnackbarCallback() {
       public void onSnackbarManuallyDismissed(Snackbar snackbar) {
         callback.onSnackbarManuallyDismissed(snackbar);
       }
@@ -435,7 +517,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder consecutiveDismissCallback(final SnackbarConsecutiveDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    mutableCallbacks().add(new SnackbarCallback() {
       public void onSnackbarDismissedAfterAnotherShown(Snackbar snackbar) {
         callback.onSnackbarDismissedAfterAnotherShown(snackbar);
       }
@@ -454,6 +536,34 @@ public final class SnackbarBuilder {
     return this;
   }
 
+  /**
+   * Draw the Snackbar from a hardware layer while it slides in and out, rather than redrawing it every frame. This
+   * makes the animations cheaper for Snackbars with icons or spans, especially on large screens. The layer is only held
+   * while the Snackbar is animating. Has no effect before API 12.
+   *
+   * @param hardwareLayerAnimations Whether to use a hardware layer during the animations.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder hardwareLayerAnimations(boolean hardwareLayerAnimations) {
+    this.hardwareLayerAnimations = hardwareLayerAnimations;
+    return this;
+  }
+
+  /**
+   * Show the time left before the Snackbar times out as a ring that empties on its action, such as to show how long
+   * there is to undo something. The ring is drawn in the action's text color. Has no effect on an indefinite Snackbar,
+   * or before API 12.
+   *
+   * @param actionCountdown Whether to count down on the action.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder actionCountdown(boolean actionCountdown) {
+    this.actionCountdown = actionCountdown;
+    return this;
+  }
+
   /**
    * Set an icon to display on the Snackbar next to the message. It is set using compound drawable on the TextView,
    * so it isn't currently compatible with AppCompat vector drawables unfortunately.
@@ -463,6 +573,7 @@ public final class SnackbarBuilder {
    */
   public SnackbarBuilder icon(Drawable icon) {
     this.icon = icon;
+    iconResId = 0;
     return this;
   }
 
@@ -475,6 +586,7 @@ public final class SnackbarBuilder {
    */
   public SnackbarBuilder icon(@DrawableRes int iconResId) {
     icon = getDrawable(iconResId);
+    this.iconResId = iconResId;
     return this;
   }
 
@@ -499,7 +611,79 @@ public final class SnackbarBuilder {
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder iconMarginRes(@DimenRes int iconMarginResId) {
     return iconMargin(
-        context.getResources().getDimensionPixelSize(iconMarginResId));
+        requireContext().getResources().getDimensionPixelSize(iconMarginResId));
+  }
+
+  /**
+   * Hold the Context and parent view through weak references, so that a preconfigured builder can be kept by an object
+   * that outlives the Activity, such as a presenter. Resources passed to the builder are resolved as soon as they are
+   * set, so only building requires the Context and parent view to still be available. After the Activity is
+   * recreated, use rebind(Activity) to attach the builder to the new one. A builder holding weak references is not
+   * tracked by the SnackbarLeakWatchdog, and is tracked again once weak references are turned off.
+   *
+   * @param weakReferences Whether to hold the Context and parent view weakly.
+   * @return This instance.
+   */
+  public SnackbarBuilder weakReferences(boolean weakReferences) {
+    Context currentContext = getContext();
+    View currentParentView = getParentView();
+    if (weakReferences) {
+      weakContext = new WeakReference<>(currentContext);
+      weakParentView = new WeakReference<>(currentParentView);
+      context = null;
+      parentView = null;
+      SnackbarLeakWatchdog.ignore(this);
+    } else if (weakContext != null) {
+      context = currentContext;
+      parentView = currentParentView;
+      weakContext = null;
+      weakParentView = null;
+      if (currentContext != null) {
+        SnackbarLeakWatchdog.watch(this, currentContext);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Attach the builder to a new Activity, for example after a configuration change. The parent view is found in the
+   * new Activity in the same way as when the builder was created, either through the SnackbarParentFinder or the
+   * parent view ID from the theme. Everything already set on the builder, including the values loaded from the theme,
+   * is kept as it is and not loaded again.
+   *
+   * @param activity Activity to show the Snackbar in.
+   * @return This instance.
+   */
+  public SnackbarBuilder rebind(Activity activity) {
+    View parent;
+    if (parentFinder != null) {
+      parent = parentFinder.findSnackbarParent(activity);
+    } else {
+      parent = activity.findViewById(parentViewId);
+    }
+    return rebind(activity, parent);
+  }
+
+  /**
+   * Attach the builder to a new parent view, for example after a configuration change. Everything already set on the
+   * builder, including the values loaded from the theme, is kept as it is and not loaded again.
+   *
+   * @param view Parent view to attach the Snackbar to.
+   * @return This instance.
+   */
+  public SnackbarBuilder rebind(View view) {
+    return rebind(view.getContext(), view);
+  }
+
+  private SnackbarBuilder rebind(Context newContext, View newParentView) {
+    if (weakContext != null) {
+      weakContext = new WeakReference<>(newContext);
+      weakParentView = new WeakReference<>(newParentView);
+    } else {
+      context = newContext;
+      parentView = newParentView;
+    }
+    return this;
   }
 
   /**
@@ -509,28 +693,143 @@ public final class SnackbarBuilder {
    * @return A SnackbarWrapper, a class which wraps a Snackbar for further customisation.
    */
   public SnackbarWrapper buildWrapper() {
-    Snackbar snackbar = Snackbar.make(parentView, message, duration);
-    SnackbarWrapper wrapper = new SnackbarWrapper(snackbar)
-        .setAction(actionText, sanitisedActionClickListener())
-        .setActionTextAllCaps(actionAllCaps)
-        .addCallbacks(callbacks)
+    SnackbarWrapper wrapper = makeWrapper();
+    fillEditor(wrapper.edit()).commit();
+    return finishWrapper(wrapper);
+  }
+
+  /**
+   * Make the Snackbar and its wrapper, with the callbacks added but none of the content set. The content is set by
+   * committing an editor filled through fillEditor(), and the wrapper is then finished with finishWrapper().
+   */
+  SnackbarWrapper makeWrapper() {
+    Snackbar snackbar = Snackbar.make(requireParentView(), "", duration);
+    return new SnackbarWrapper(snackbar)
+        .addCallbacks(callbacks);
+  }
+
+  /**
+   * Record the content set on this builder on the editor, without committing it, so that the caller can add its own
+   * changes to the same commit.
+   */
+  SnackbarEditor fillEditor(SnackbarEditor editor) {
+    if (message != null) {
+      editor.setText(message);
+    }
+    editor.setAction(actionText, sanitisedActionClickListener());
+    if (icon != null) {
+      editor.setIcon(icon, iconResId);
+    }
+    return editContent(editor);
+  }
+
+  SnackbarWrapper finishWrapper(SnackbarWrapper wrapper) {
+    wrapper.builderCallbacks = sharedCallbacks();
+    if (hardwareLayerAnimations) {
+      HardwareLayerCallback.attach(wrapper);
+    }
+    if (actionCountdown) {
+      CountdownCallback.attach(wrapper);
+    }
+    return wrapper;
+  }
+
+  /**
+   * Show a Snackbar using the options specified in the builder, reusing the Snackbar that is showing if there is one.
+   * If a Snackbar built by a SnackbarBuilder, and shown through its SnackbarWrapper or by replaceCurrent(), is showing
+   * in the same parent, its content is replaced in place with a fade, rather than it being dismissed and a new Snackbar
+   * sliding in. Its timeout, and its action countdown if it has one, start again from the new duration. The message,
+   * action, icon and colors left unset on this builder keep the values the Snackbar is showing, and hardware layer
+   * animations and the action countdown are added if this builder turns them on. The callbacks of the Snackbar being
+   * replaced are removed and the callbacks of this builder are added in their place. SnackbarCallbacks among those
+   * removed are called with SnackbarCallback.DISMISS_EVENT_REPLACED, and other callbacks with
+   * Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE. If there is no Snackbar to replace, a new one is built and shown.
+   *
+   * @return The SnackbarWrapper of the Snackbar that is showing the content.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper replaceCurrent() {
+    SnackbarWrapper wrapper = VisibleSnackbars.find(requireParentView());
+    if (wrapper == null) {
+      return buildWrapper().show();
+    }
+    if (actionText != null) {
+      wrapper.setAction(actionText, sanitisedActionClickListener());
+    }
+    SnackbarEditor editor = wrapper.edit()
+        .setDuration(duration);
+    if (message != null || appendMessages != null) {
+      editor.setText(message != null ? message : "");
+    }
+    if (icon != null) {
+      editor.setIcon(icon, iconResId);
+    }
+    editContent(editor).commit();
+    VisibleSnackbars.replaceCallbacks(wrapper, sharedCallbacks());
+    if (hardwareLayerAnimations) {
+      HardwareLayerCallback.attach(wrapper);
+    }
+    CountdownCallback countdown = actionCountdown ? CountdownCallback.attach(wrapper) : CountdownCallback.find(wrapper);
+    VisibleSnackbars.fadeInContent(wrapper);
+    wrapper.show();
+    if (countdown != null) {
+      countdown.restart();
+    }
+    return wrapper;
+  }
+
+  private SnackbarEditor editContent(SnackbarEditor editor) {
+    editor.setActionTextAllCaps(actionAllCaps)
         .setIconMargin(iconMargin);
     if (actionTextColor != 0) {
-      wrapper.setActionTextColor(actionTextColor);
+      editor.setActionTextColor(actionTextColor);
     }
     if (messageTextColor != 0) {
-      wrapper.setTextColor(messageTextColor);
+      editor.setTextColor(messageTextColor);
     }
     if (appendMessages != null) {
-      wrapper.appendMessage(appendMessages);
-    }
-    if (backgroundColor != 0) {
-      wrapper.setBackgroundColor(backgroundColor);
+      editor.appendMessage(appendMessages);
     }
-    if (icon != null) {
-      wrapper.setIcon(icon);
+    if (backgroundColor != 0 && tintBackground) {
+      editor.setBackgroundTint(backgroundColor);
+    } else if (backgroundColor != 0) {
+      editor.setBackgroundColor(backgroundColor);
     }
-    return wrapper;
+    return editor;
+  }
+
+  /**
+   * Build a Snackbar using the options specified in the builder and add a progress bar to it, with a percentage after
+   * the message. The progress can then be updated from any thread. Must be called on the main thread.
+   *
+   * @param max The progress value at which the work is complete.
+   * @return The progress of the Snackbar, which can be used to show it.
+   */
+  public SnackbarProgress buildProgress(int max) {
+    return SnackbarProgress.attach(buildWrapper(), max);
+  }
+
+  /**
+   * Create a new builder starting from everything set on this one, including the values loaded from the theme, so
+   * that a base configuration can be varied without being set up again. Forking is cheap, as the callbacks and the
+   * appended messages are shared between the two builders until one of them changes them. Changes made to either
+   * builder afterwards do not affect the other.
+   *
+   * @return A new builder with the same options as this one.
+   */
+  public SnackbarBuilder fork() {
+    return new SnackbarBuilder(this);
+  }
+
+  /**
+   * Create a SnackbarWrapper that is only built when it is shown. The options specified in the builder so far are
+   * copied, so the builder can carry on being used. Changes made to the returned wrapper are recorded and applied in
+   * one pass when it is shown, and if it is never shown the Snackbar is never made.
+   *
+   * @return A LazySnackbarWrapper, which builds the SnackbarWrapper when it is shown.
+   */
+  public LazySnackbarWrapper buildLazyWrapper() {
+    return new LazySnackbarWrapper(fork());
   }
 
   private OnClickListener sanitisedActionClickListener() {
@@ -557,65 +856,71 @@ public final class SnackbarBuilder {
   private void initialiseAppendMessages() {
     if (appendMessages == null) {
       appendMessages = new SpannableStringBuilder();
+    } else if (appendMessagesShared) {
+      appendMessages = new SpannableStringBuilder(appendMessages);
+      appendMessagesShared = false;
     }
   }
 
-  private void loadThemeAttributes() {
-    TypedArray attrs = context.obtainStyledAttributes(
-        null, R.styleable.SnackbarBuilderStyle, R.attr.snackbarBuilderStyle, 0);
-    try {
-      loadMessageTextColor(attrs);
-      loadActionTextColor(attrs);
-      loadParentViewId(attrs);
-      loadDuration(attrs);
-      loadBackgroundColor(attrs);
-      loadIconMargin(attrs);
-      loadActionAllCaps(attrs);
-    } finally {
-      attrs.recycle();
-    }
-  }
-
-  private void loadMessageTextColor(TypedArray attrs) {
-    messageTextColor = attrs.getColor(
-        R.styleable.SnackbarBuilderStyle_snackbarBuilder_messageTextColor, 0);
+  private List<Snackbar.Callback> sharedCallbacks() {
+    callbacksShared = true;
+    return callbacks;
   }
 
-  private void loadActionTextColor(TypedArray attrs) {
-    actionTextColor = attrs.getColor(
-        R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionTextColor, 0);
-  }
-
-  private void loadParentViewId(TypedArray attrs) {
-    parentViewId = attrs.getResourceId(
-        R.styleable.SnackbarBuilderStyle_snackbarBuilder_parentViewId, 0);
+  private List<Snackbar.Callback> mutableCallbacks() {
+    if (callbacksShared) {
+      callbacks = new ArrayList<>(callbacks);
+      callbacksShared = false;
+    }
+    return callbacks;
   }
 
-  private void loadDuration(TypedArray attrs) {
-    duration = attrs.getInteger(
-        R.styleable.SnackbarBuilderStyle_snackbarBuilder_duration, Snackbar.LENGTH_LONG);
+  private void loadThemeAttributes() {
+    SnackbarThemeAttributes attributes = SnackbarThemeAttributes.obtain(context);
+    messageTextColor = attributes.messageTextColor;
+    actionTextColor = attributes.actionTextColor;
+    parentViewId = attributes.parentViewId;
+    duration = attributes.duration;
+    backgroundColor = attributes.backgroundColor;
+    iconMargin = attributes.iconMargin;
+    actionAllCaps = attributes.actionAllCaps;
+  }
+
+  private Context getContext() {
+    if (weakContext != null) {
+      return weakContext.get();
+    }
+    return context;
   }
 
-  private void loadBackgroundColor(TypedArray attrs) {
-    backgroundColor = attrs.getColor(
-        R.styleable.SnackbarBuilderStyle_snackbarBuilder_backgroundColor, 0);
+  private Context requireContext() {
+    Context current = getContext();
+    if (current == null) {
+      throw new IllegalStateException("Context is no longer available, call rebind(Activity) first");
+    }
+    return current;
   }
 
-  private void loadIconMargin(TypedArray attrs) {
-    iconMargin = attrs.getDimensionPixelSize(
-        R.styleable.SnackbarBuilderStyle_snackbarBuilder_iconMargin, context.getResources()
-            .getDimensionPixelSize(R.dimen.snackbarbuilder_icon_margin_default));
+  private View getParentView() {
+    if (weakParentView != null) {
+      return weakParentView.get();
+    }
+    return parentView;
   }
 
-  private void loadActionAllCaps(TypedArray attrs) {
-    actionAllCaps = attrs.getBoolean(R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionAllCaps, true);
+  private View requireParentView() {
+    View current = getParentView();
+    if (current == null && weakParentView != null) {
+      throw new IllegalStateException("Parent view is no longer available, call rebind(Activity) first");
+    }
+    return current;
   }
 
   private int getColor(@ColorRes int color) {
-    return ContextCompat.getColor(context, color);
+    return ContextCompat.getColor(requireContext(), color);
   }
 
   private Drawable getDrawable(@DrawableRes int drawableResId) {
-    return ContextCompat.getDrawable(context, drawableResId);
+    return ContextCompat.getDrawable(requireContext(), drawableResId);
   }
 }
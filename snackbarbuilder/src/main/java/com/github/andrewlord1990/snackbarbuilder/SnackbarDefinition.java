@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.content.res.XmlResourceParser;
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.IdRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.XmlRes;
+import android.support.design.widget.Snackbar;
+import android.util.Xml;
+import android.view.View;
+import android.view.View.OnClickListener;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A Snackbar defined in an XML resource, in res/xml. The root element of the resource can use any of the
+ * SnackbarDefinition attributes, which are the SnackbarBuilderStyle attributes along with snackbarBuilder_message,
+ * snackbarBuilder_actionText and snackbarBuilder_icon. Attributes that are not set are taken from the
+ * snackbarBuilderStyle in the theme, in the same way as SnackbarBuilder.
+ *
+ * <p>Each resource is parsed once for each configuration and snackbarBuilderStyle it is used with, and the result is
+ * cached. A new Activity with the same configuration and style, or a theme changed in place back to a style already
+ * seen, reuses it. Definitions are looked up in hash maps, first by the state of the theme and then by the resource.
+ * After that, building a Snackbar from the definition does not parse any XML or resolve any attributes.
+ */
+public final class SnackbarDefinition {
+
+  private static final Map<Resources.Theme, ThemeDefinitions> THEMES = new WeakHashMap<>();
+  private static final Map<ThemeState, ThemeDefinitions> CACHE = new HashMap<>();
+
+  final CharSequence message;
+  final CharSequence actionText;
+  @ColorInt
+  final int messageTextColor;
+  @ColorInt
+  final int actionTextColor;
+  @ColorInt
+  final int backgroundColor;
+  @DrawableRes
+  final int iconResId;
+  final int iconMargin;
+  @IdRes
+  final int parentViewId;
+  final int duration;
+  final boolean actionAllCaps;
+
+  private SnackbarDefinition(Context context, TypedArray attrs) {
+    message = attrs.getText(R.styleable.SnackbarDefinition_snackbarBuilder_message);
+    if (message == null) {
+      throw new IllegalArgumentException("Snackbar definition must have a snackbarBuilder_message");
+    }
+    actionText = attrs.getText(R.styleable.SnackbarDefinition_snackbarBuilder_actionText);
+    messageTextColor = attrs.getColor(R.styleable.SnackbarDefinition_snackbarBuilder_messageTextColor, 0);
+    actionTextColor = attrs.getColor(R.styleable.SnackbarDefinition_snackbarBuilder_actionTextColor, 0);
+    backgroundColor = attrs.getColor(R.styleable.SnackbarDefinition_snackbarBuilder_backgroundColor, 0);
+    iconResId = attrs.getResourceId(R.styleable.SnackbarDefinition_snackbarBuilder_icon, 0);
+    iconMargin = attrs.getDimensionPixelSize(R.styleable.SnackbarDefinition_snackbarBuilder_iconMargin,
+        context.getResources().getDimensionPixelSize(R.dimen.snackbarbuilder_icon_margin_default));
+    parentViewId = attrs.getResourceId(R.styleable.SnackbarDefinition_snackbarBuilder_parentViewId, 0);
+    duration = attrs.getInteger(R.styleable.SnackbarDefinition_snackbarBuilder_duration, Snackbar.LENGTH_LONG);
+    actionAllCaps = attrs.getBoolean(R.styleable.SnackbarDefinition_snackbarBuilder_actionAllCaps, true);
+  }
+
+  /**
+   * Get the Snackbar defined in an XML resource, parsing it if it has not been used with the Context's theme before.
+   *
+   * @param context       Context with the theme to resolve the definition with, usually the Activity.
+   * @param definitionRes XML resource containing the definition.
+   * @return The Snackbar definition.
+   */
+  @NonNull
+  public static SnackbarDefinition get(Context context, @XmlRes int definitionRes) {
+    Resources.Theme theme = context.getTheme();
+    synchronized (CACHE) {
+      ThemeDefinitions definitions = THEMES.get(theme);
+      if (definitions == null || !definitions.themeState.matches(context)) {
+        ThemeState themeState = ThemeState.capture(context);
+        definitions = CACHE.get(themeState);
+        if (definitions == null) {
+          definitions = new ThemeDefinitions(themeState);
+          CACHE.put(themeState, definitions);
+        }
+        THEMES.put(theme, definitions);
+      }
+      SnackbarDefinition definition = definitions.get(definitionRes);
+      if (definition == null) {
+        definition = load(context, definitionRes);
+        definitions.put(definitionRes, definition);
+      }
+      return definition;
+    }
+  }
+
+  static void clearCache() {
+    synchronized (CACHE) {
+      THEMES.clear();
+      CACHE.clear();
+    }
+  }
+
+  private static SnackbarDefinition load(Context context, @XmlRes int definitionRes) {
+    XmlResourceParser parser = context.getResources().getXml(definitionRes);
+    try {
+      int type = parser.next();
+      while (type != XmlPullParser.START_TAG && type != XmlPullParser.END_DOCUMENT) {
+        type = parser.next();
+      }
+      if (type != XmlPullParser.START_TAG) {
+        throw new IllegalArgumentException("Snackbar definition has no root element");
+      }
+      TypedArray attrs = context.obtainStyledAttributes(Xml.asAttributeSet(parser), R.styleable.SnackbarDefinition,
+          R.attr.snackbarBuilderStyle, 0);
+      try {
+        return new SnackbarDefinition(context, attrs);
+      } finally {
+        attrs.recycle();
+      }
+    } catch (XmlPullParserException | IOException e) {
+      throw new IllegalArgumentException("Unable to parse Snackbar definition", e);
+    } finally {
+      parser.close();
+    }
+  }
+
+  /**
+   * Build a Snackbar from the definition, attached to the parent view within the Activity with the ID given by
+   * snackbarBuilder_parentViewId.
+   *
+   * @param activity            Activity to show the Snackbar in.
+   * @param actionClickListener Callback to be invoked when the action is clicked, or null if there is no action or it
+   *                            should just dismiss the Snackbar.
+   * @return A SnackbarWrapper wrapping the Snackbar, which allows further customisation.
+   */
+  @NonNull
+  public SnackbarWrapper buildWrapper(Activity activity, OnClickListener actionClickListener) {
+    return buildWrapper(activity.findViewById(parentViewId), actionClickListener);
+  }
+
+  /**
+   * Build a Snackbar from the definition, attached to the specified parent view.
+   *
+   * @param parentView          Parent view to attach the Snackbar to.
+   * @param actionClickListener Callback to be invoked when the action is clicked, or null if there is no action or it
+   *                            should just dismiss the Snackbar.
+   * @return A SnackbarWrapper wrapping the Snackbar, which allows further customisation.
+   */
+  @NonNull
+  public SnackbarWrapper buildWrapper(View parentView, OnClickListener actionClickListener) {
+    SnackbarWrapper wrapper = new SnackbarWrapper(Snackbar.make(parentView, message, duration))
+        .setActionTextAllCaps(actionAllCaps)
+        .setIconMargin(iconMargin);
+    if (actionText != null) {
+      wrapper.setAction(actionText, actionClickListener != null ? actionClickListener : NoActionListener.INSTANCE);
+    }
+    if (messageTextColor != 0) {
+      wrapper.setTextColor(messageTextColor);
+    }
+    if (actionTextColor != 0) {
+      wrapper.setActionTextColor(actionTextColor);
+    }
+    if (backgroundColor != 0) {
+      wrapper.setBackgroundColor(backgroundColor);
+    }
+    if (iconResId != 0) {
+      wrapper.setIcon(iconResId);
+    }
+    return wrapper;
+  }
+
+  private static final class ThemeDefinitions extends HashMap<Integer, SnackbarDefinition> {
+
+    final ThemeState themeState;
+
+    ThemeDefinitions(ThemeState themeState) {
+      this.themeState = themeState;
+    }
+  }
+
+  private static final class NoActionListener implements OnClickListener {
+
+    static final NoActionListener INSTANCE = new NoActionListener();
+
+    @Override
+    public void onClick(View view) {
+      // Not needed
+    }
+  }
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.DimenRes;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.StringRes;
+import android.support.v4.content.ContextCompat;
+import android.view.View.OnClickListener;
+
+import com.github.andrewlord1990.snackbarbuilder.render.SnackbarRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records a set of changes to a SnackbarWrapper and applies them together when committed. Obtain one through
+ * SnackbarWrapper.edit(). Each call to a TextView or View setter requests its own layout and invalidate, so changing
+ * several properties one at a time can cost more than the change itself. Committing applies every recorded change in a
+ * single pass, before the next traversal, and skips any property whose value is the same as the one already shown.
+ * Text is compared by its characters and the content of its spans.
+ */
+public final class SnackbarEditor {
+
+  private final SnackbarWrapper wrapper;
+  private final SnackbarRenderer renderer;
+  private final Context context;
+
+  private boolean textSet;
+  private CharSequence text;
+  private final List<CharSequence> appendedText = new ArrayList<>();
+  private final List<Integer> appendedColors = new ArrayList<>();
+  private boolean textColorSet;
+  @ColorInt
+  private int textColor;
+  private boolean actionTextSet;
+  private CharSequence actionText;
+  private boolean actionSet;
+  private OnClickListener actionClickListener;
+  private boolean actionTextColorSet;
+  @ColorInt
+  private int actionTextColor;
+  private boolean actionAllCapsSet;
+  private boolean actionAllCaps;
+  private boolean backgroundSet;
+  @ColorInt
+  private int backgroundColor;
+  private boolean backgroundTinted;
+  private boolean iconSet;
+  private Drawable icon;
+  @DrawableRes
+  private int iconResId;
+  private boolean iconMarginSet;
+  private int iconMargin;
+  private boolean durationSet;
+  private int duration;
+
+  SnackbarEditor(SnackbarWrapper wrapper, SnackbarRenderer renderer) {
+    this.wrapper = wrapper;
+    this.renderer = renderer;
+    context = wrapper.context;
+  }
+
+  /**
+   * Set the message to be displayed.
+   *
+   * @param message The text to display.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setText(@NonNull CharSequence message) {
+    textSet = true;
+    text = message;
+    appendedText.clear();
+    appendedColors.clear();
+    return this;
+  }
+
+  /**
+   * Set the message to be displayed.
+   *
+   * @param message String resource of the text to display.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setText(@StringRes int message) {
+    return setText(context.getText(message));
+  }
+
+  /**
+   * Append text to the message being displayed.
+   *
+   * @param message The text to append.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor appendMessage(@NonNull CharSequence message) {
+    return addAppendedText(message, null);
+  }
+
+  /**
+   * Append text to the message being displayed.
+   *
+   * @param message String resource of the text to append.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor appendMessage(@StringRes int message) {
+    return appendMessage(context.getText(message));
+  }
+
+  /**
+   * Append text in the specified color to the message being displayed.
+   *
+   * @param message The text to append.
+   * @param color   The color to apply to the text.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor appendMessage(@NonNull CharSequence message, @ColorInt int color) {
+    return addAppendedText(message, color);
+  }
+
+  private SnackbarEditor addAppendedText(CharSequence message, Integer color) {
+    if (message.length() > 0) {
+      appendedText.add(message);
+      appendedColors.add(color);
+    }
+    return this;
+  }
+
+  /**
+   * Set the color of the message.
+   *
+   * @param color The color of the message.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setTextColor(@ColorInt int color) {
+    textColorSet = true;
+    textColor = color;
+    return this;
+  }
+
+  /**
+   * Set the color of the message.
+   *
+   * @param color The color resource of the message.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setTextColorRes(@ColorRes int color) {
+    return setTextColor(ContextCompat.getColor(context, color));
+  }
+
+  /**
+   * Set the action to be displayed.
+   *
+   * @param actionText The text to display as an action.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setActionText(CharSequence actionText) {
+    actionTextSet = true;
+    this.actionText = actionText;
+    return this;
+  }
+
+  /**
+   * Set the action to be displayed.
+   *
+   * @param actionText String resource of the text to display as an action.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setActionText(@StringRes int actionText) {
+    return setActionText(context.getText(actionText));
+  }
+
+  @NonNull
+  SnackbarEditor setAction(CharSequence actionText, OnClickListener actionClickListener) {
+    actionSet = true;
+    this.actionClickListener = actionClickListener;
+    return setActionText(actionText);
+  }
+
+  /**
+   * Set the color of the action.
+   *
+   * @param color The color of the action.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setActionTextColor(@ColorInt int color) {
+    actionTextColorSet = true;
+    actionTextColor = color;
+    return this;
+  }
+
+  /**
+   * Set the color of the action.
+   *
+   * @param color The color resource of the action.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setActionTextColorRes(@ColorRes int color) {
+    return setActionTextColor(ContextCompat.getColor(context, color));
+  }
+
+  /**
+   * Set whether the action text is all capitals. This is always applied when set, as the action view does not expose
+   * whether it is currently all capitals.
+   *
+   * @param allCaps Whether the action is all capitals.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setActionTextAllCaps(boolean allCaps) {
+    actionAllCapsSet = true;
+    actionAllCaps = allCaps;
+    return this;
+  }
+
+  /**
+   * Set the background color of the Snackbar.
+   *
+   * @param color The background color.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setBackgroundColor(@ColorInt int color) {
+    return setBackground(color, false);
+  }
+
+  /**
+   * Set the background color of the Snackbar.
+   *
+   * @param color The background color resource.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setBackgroundColorRes(@ColorRes int color) {
+    return setBackgroundColor(ContextCompat.getColor(context, color));
+  }
+
+  /**
+   * Set the background color of the Snackbar by tinting its existing background, rather than replacing it.
+   *
+   * @param color The background color.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setBackgroundTint(@ColorInt int color) {
+    return setBackground(color, true);
+  }
+
+  /**
+   * Set the background color of the Snackbar by tinting its existing background, rather than replacing it.
+   *
+   * @param color The background color resource.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setBackgroundTintRes(@ColorRes int color) {
+    return setBackgroundTint(ContextCompat.getColor(context, color));
+  }
+
+  @NonNull
+  private SnackbarEditor setBackground(@ColorInt int color, boolean tinted) {
+    backgroundSet = true;
+    backgroundColor = color;
+    backgroundTinted = tinted;
+    return this;
+  }
+
+  /**
+   * Set the icon at the start of the Snackbar.
+   *
+   * @param icon The icon drawable resource to display.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setIcon(@DrawableRes int icon) {
+    return setIcon(null, icon);
+  }
+
+  /**
+   * Set the icon at the start of the Snackbar.
+   *
+   * @param icon The icon to display.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setIcon(Drawable icon) {
+    return setIcon(icon, 0);
+  }
+
+  @NonNull
+  SnackbarEditor setIcon(Drawable icon, @DrawableRes int iconResId) {
+    iconSet = true;
+    this.icon = icon;
+    this.iconResId = iconResId;
+    return this;
+  }
+
+  /**
+   * Set the margin to be displayed between the icon and the text.
+   *
+   * @param iconMarginPixels The margin before the icon.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setIconMargin(int iconMarginPixels) {
+    iconMarginSet = true;
+    iconMargin = iconMarginPixels;
+    return this;
+  }
+
+  /**
+   * Set the margin to be displayed between the icon and the text.
+   *
+   * @param iconMargin The margin before the icon.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setIconMarginRes(@DimenRes int iconMargin) {
+    return setIconMargin(context.getResources().getDimensionPixelSize(iconMargin));
+  }
+
+  /**
+   * Set how long to show the Snackbar for.
+   *
+   * @param duration The duration to show the Snackbar for.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor setDuration(int duration) {
+    durationSet = true;
+    this.duration = duration;
+    return this;
+  }
+
+  /**
+   * Apply the recorded changes to the Snackbar. Properties whose value matches the one already displayed are skipped,
+   * so committing an unchanged edit does not touch the views at all.
+   *
+   * @return The wrapper that was edited.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper commit() {
+    commitText();
+    if (textColorSet && !hasColor(renderer.getMessageTextColors(), renderer.getMessageTextColor(), textColor)) {
+      renderer.setMessageTextColor(textColor);
+    }
+    if (actionSet) {
+      renderer.setAction(actionText, actionClickListener);
+    } else if (actionTextSet && !TextContent.contentEquals(renderer.getActionText(), actionText)) {
+      renderer.setActionText(actionText);
+    }
+    if (actionTextColorSet
+        && !hasColor(renderer.getActionTextColors(), renderer.getActionTextColor(), actionTextColor)) {
+      renderer.setActionTextColor(actionTextColor);
+    }
+    if (actionAllCapsSet) {
+      wrapper.setActionTextAllCaps(actionAllCaps);
+    }
+    commitBackground();
+    commitIcon();
+    if (iconMarginSet && renderer.getIconMargin() != iconMargin) {
+      renderer.setIconMargin(iconMargin);
+    }
+    if (durationSet && renderer.getDuration() != duration) {
+      renderer.setDuration(duration);
+    }
+    return wrapper;
+  }
+
+  private void commitText() {
+    if (textSet && !TextContent.contentEquals(renderer.getMessage(), text)) {
+      renderer.setMessage(text);
+    }
+    int appendedSize = appendedText.size();
+    for (int i = 0; i < appendedSize; i++) {
+      Integer color = appendedColors.get(i);
+      if (color != null) {
+        renderer.appendMessage(appendedText.get(i), color);
+      } else {
+        renderer.appendMessage(appendedText.get(i));
+      }
+    }
+  }
+
+  private void commitBackground() {
+    if (!backgroundSet || wrapper.isBackgroundTinted() == backgroundTinted
+        && wrapper.getBackgroundColor() == backgroundColor) {
+      return;
+    }
+    if (backgroundTinted) {
+      wrapper.setBackgroundTint(backgroundColor);
+    } else {
+      wrapper.setBackgroundColor(backgroundColor);
+    }
+  }
+
+  private void commitIcon() {
+    if (!iconSet) {
+      return;
+    }
+    if (iconResId != 0) {
+      if (wrapper.getIconResId() != iconResId || renderer.getIcon() == null) {
+        Drawable drawable = icon != null ? icon : ContextCompat.getDrawable(context, iconResId);
+        wrapper.setIcon(drawable, iconResId);
+      }
+    } else if (renderer.getIcon() != icon) {
+      wrapper.setIcon(icon, 0);
+    }
+  }
+
+  private static boolean hasColor(ColorStateList colors, @ColorInt int current, @ColorInt int color) {
+    return current == color && (colors == null || !colors.isStateful());
+  }
+
+}
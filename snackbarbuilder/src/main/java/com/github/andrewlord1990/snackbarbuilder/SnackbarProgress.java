@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.support.annotation.NonNull;
+import android.support.design.widget.Snackbar;
+import android.support.v4.view.GravityCompat;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.github.andrewlord1990.snackbarbuilder.time.FrameTicker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shows the progress of some work in a Snackbar, as a determinate bar along its bottom edge and a percentage after the
+ * message. Progress can be set from any thread and as often as it changes, such as on every callback of an upload.
+ * Updates are coalesced so the views change at most once per frame, and only if the progress has changed. The
+ * percentage is written into a reused character buffer and its view has a fixed width, so an update does not allocate
+ * or lay out the rest of the Snackbar.
+ */
+public final class SnackbarProgress {
+
+  private static final int NO_UPDATE = -1;
+  private static final String WIDEST_VALUE = "100%";
+
+  private final SnackbarWrapper wrapper;
+  final ProgressBar progressBar;
+  final TextView valueView;
+  private final int max;
+  private final char[] valueBuffer = new char[WIDEST_VALUE.length()];
+  private final AtomicInteger pendingProgress = new AtomicInteger(NO_UPDATE);
+  private final FrameTicker ticker;
+  private int progress;
+  private int percent = NO_UPDATE;
+
+  private SnackbarProgress(SnackbarWrapper wrapper, int max) {
+    this.wrapper = wrapper;
+    this.max = max;
+    Context context = wrapper.getView().getContext();
+    Resources resources = context.getResources();
+    TextView messageView = (TextView) wrapper.getView().findViewById(R.id.snackbar_text);
+
+    progressBar = new ProgressBar(context, null, android.R.attr.progressBarStyleHorizontal);
+    progressBar.setIndeterminate(false);
+    progressBar.setMax(max);
+    FrameLayout.LayoutParams barParams = new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+        resources.getDimensionPixelSize(R.dimen.snackbarbuilder_progress_height), Gravity.BOTTOM);
+    ((ViewGroup) wrapper.getView()).addView(progressBar, barParams);
+
+    valueView = new TextView(context);
+    valueView.setTextColor(messageView.getTextColors());
+    valueView.setTextSize(TypedValue.COMPLEX_UNIT_PX, messageView.getTextSize());
+    valueView.setGravity(GravityCompat.END | Gravity.CENTER_VERTICAL);
+    valueView.setMaxLines(1);
+    LinearLayout.LayoutParams valueParams = new LinearLayout.LayoutParams(
+        (int) Math.ceil(valueView.getPaint().measureText(WIDEST_VALUE)), ViewGroup.LayoutParams.WRAP_CONTENT);
+    valueParams.gravity = Gravity.CENTER_VERTICAL;
+    valueParams.leftMargin = resources.getDimensionPixelSize(R.dimen.snackbarbuilder_progress_value_margin);
+    ViewGroup content = (ViewGroup) messageView.getParent();
+    content.addView(valueView, content.indexOfChild(messageView) + 1, valueParams);
+
+    ticker = FrameTicker.create(new Runnable() {
+      @Override
+      public void run() {
+        applyPendingProgress();
+      }
+    });
+    wrapper.addCallback(new SnackbarCallback() {
+      @Override
+      public void onSnackbarDismissed(Snackbar snackbar, int dismissEvent) {
+        ticker.cancel();
+      }
+    });
+    applyProgress(0);
+  }
+
+  /**
+   * Add a progress bar and percentage to a Snackbar. Must be called on the main thread.
+   *
+   * @param wrapper The wrapper of the Snackbar to show progress in.
+   * @param max     The progress value at which the work is complete.
+   * @return The progress, which can be updated from any thread.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public static SnackbarProgress attach(SnackbarWrapper wrapper, int max) {
+    if (max <= 0) {
+      throw new IllegalArgumentException("The maximum progress must be positive");
+    }
+    return new SnackbarProgress(wrapper, max);
+  }
+
+  /**
+   * Get the wrapper of the Snackbar showing the progress.
+   *
+   * @return The wrapper.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper getWrapper() {
+    return wrapper;
+  }
+
+  /**
+   * Show the Snackbar.
+   *
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarProgress show() {
+    wrapper.show();
+    return this;
+  }
+
+  /**
+   * Get the maximum progress.
+   *
+   * @return The progress value at which the work is complete.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public int getMax() {
+    return max;
+  }
+
+  /**
+   * Get the progress currently displayed. Progress that has been set but not yet drawn is not included.
+   *
+   * @return The displayed progress.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public int getProgress() {
+    return progress;
+  }
+
+  /**
+   * Set the progress to display. Can be called from any thread. The progress is displayed on the next frame, and if it
+   * is set again before then only the latest value is displayed. Values outside of zero to the maximum are clamped.
+   *
+   * @param progress The progress of the work.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public void setProgress(int progress) {
+    pendingProgress.set(Math.max(0, Math.min(progress, max)));
+    ticker.schedule();
+  }
+
+  private void applyPendingProgress() {
+    int pending = pendingProgress.getAndSet(NO_UPDATE);
+    if (pending != NO_UPDATE && pending != progress) {
+      applyProgress(pending);
+    }
+  }
+
+  private void applyProgress(int progress) {
+    this.progress = progress;
+    progressBar.setProgress(progress);
+    int newPercent = (int) (progress * 100L / max);
+    if (newPercent != percent) {
+      percent = newPercent;
+      valueView.setText(valueBuffer, 0, formatPercent(newPercent, valueBuffer));
+    }
+  }
+
+  static int formatPercent(int percent, char[] buffer) {
+    int digits = percent >= 100 ? 3 : percent >= 10 ? 2 : 1;
+    int remaining = percent;
+    for (int i = digits - 1; i >= 0; i--) {
+      buffer[i] = (char) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+    buffer[digits] = '%';
+    return digits + 1;
+  }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+import android.support.design.widget.Snackbar;
+import android.text.TextUtils;
+import android.view.View;
+import android.view.View.OnClickListener;
+
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+
+/**
+ * A compact snapshot of the state of a SnackbarWrapper, which can be saved within an Activity's instance state so that
+ * the Snackbar can be restored after a configuration change. All values are stored already resolved, so restoring does
+ * not load any theme attributes. The remaining duration is stored rather than the total, so the restored Snackbar is
+ * only shown for the time that was left. Drawables and listeners cannot be saved, so only an icon set from a resource
+ * is kept and the action click listener is provided when restoring.
+ */
+public final class SnackbarSnapshot implements Parcelable {
+
+  public static final Creator<SnackbarSnapshot> CREATOR = new Creator<SnackbarSnapshot>() {
+    @Override
+    public SnackbarSnapshot createFromParcel(Parcel source) {
+      return new SnackbarSnapshot(source);
+    }
+
+    @Override
+    public SnackbarSnapshot[] newArray(int size) {
+      return new SnackbarSnapshot[size];
+    }
+  };
+
+  static final int SHORT_DURATION_MILLIS = 1500;
+  static final int LONG_DURATION_MILLIS = 2750;
+  static final int MIN_REMAINING_MILLIS = 500;
+
+  final CharSequence message;
+  final int messageTextColor;
+  final CharSequence actionText;
+  final int actionTextColor;
+  final boolean actionAllCaps;
+  final int backgroundColor;
+  final boolean backgroundTinted;
+  final int iconResId;
+  final int iconMargin;
+  final int remainingDuration;
+
+  SnackbarSnapshot(SnackbarWrapper wrapper) {
+    message = wrapper.getText();
+    messageTextColor = wrapper.getCurrentTextColor();
+    actionText = wrapper.getActionVisibility() == View.VISIBLE ? wrapper.getActionText() : null;
+    actionTextColor = wrapper.getActionCurrentTextColor();
+    actionAllCaps = wrapper.isActionAllCaps();
+    backgroundColor = wrapper.getBackgroundColor();
+    backgroundTinted = wrapper.isBackgroundTinted();
+    iconResId = wrapper.getIconResId();
+    iconMargin = wrapper.getIconMargin();
+    remainingDuration = getRemainingDuration(wrapper.getDuration(), wrapper.getShownAtMillis(),
+        SnackbarClock.uptimeMillis());
+  }
+
+  SnackbarSnapshot(Parcel source) {
+    message = TextUtils.CHAR_SEQUENCE_CREATOR.createFromParcel(source);
+    messageTextColor = source.readInt();
+    actionText = TextUtils.CHAR_SEQUENCE_CREATOR.createFromParcel(source);
+    actionTextColor = source.readInt();
+    actionAllCaps = source.readInt() != 0;
+    backgroundColor = source.readInt();
+    backgroundTinted = source.readInt() != 0;
+    iconResId = source.readInt();
+    iconMargin = source.readInt();
+    remainingDuration = source.readInt();
+  }
+
+  /**
+   * Restore the Snackbar into a new parent view, in a single pass without loading any theme attributes. The Snackbar is
+   * not shown, call show() on the returned SnackbarWrapper to show it.
+   *
+   * @param parentView          Parent view to attach the Snackbar to.
+   * @param actionClickListener Callback to be invoked when the action is clicked, if the Snackbar has an action.
+   * @return A SnackbarWrapper around the restored Snackbar.
+   */
+  @NonNull
+  public SnackbarWrapper restore(View parentView, OnClickListener actionClickListener) {
+    Snackbar snackbar = Snackbar.make(parentView, message, remainingDuration);
+    SnackbarWrapper wrapper = new SnackbarWrapper(snackbar)
+        .setTextColor(messageTextColor)
+        .setActionTextAllCaps(actionAllCaps)
+        .setIconMargin(iconMargin);
+    if (actionText != null) {
+      wrapper.setAction(actionText, sanitisedActionClickListener(actionClickListener))
+          .setActionTextColor(actionTextColor);
+    }
+    if (backgroundColor != 0 && backgroundTinted) {
+      wrapper.setBackgroundTint(backgroundColor);
+    } else if (backgroundColor != 0) {
+      wrapper.setBackgroundColor(backgroundColor);
+    }
+    if (iconResId != 0) {
+      wrapper.setIcon(iconResId);
+    }
+    return wrapper;
+  }
+
+  /**
+   * Get the time left to show the Snackbar for when the snapshot was taken.
+   *
+   * @return The remaining duration, which is either LENGTH_INDEFINITE or a duration in milliseconds.
+   */
+  public int getRemainingDuration() {
+    return remainingDuration;
+  }
+
+  @Override
+  public int describeContents() {
+    return 0;
+  }
+
+  @Override
+  public void writeToParcel(Parcel dest, int flags) {
+    TextUtils.writeToParcel(message, dest, flags);
+    dest.writeInt(messageTextColor);
+    TextUtils.writeToParcel(actionText, dest, flags);
+    dest.writeInt(actionTextColor);
+    dest.writeInt(actionAllCaps ? 1 : 0);
+    dest.writeInt(backgroundColor);
+    dest.writeInt(backgroundTinted ? 1 : 0);
+    dest.writeInt(iconResId);
+    dest.writeInt(iconMargin);
+    dest.writeInt(remainingDuration);
+  }
+
+  static int getRemainingDuration(int duration, long shownAtMillis, long nowMillis) {
+    if (duration == Snackbar.LENGTH_INDEFINITE || shownAtMillis == 0) {
+      return duration;
+    }
+    long remaining = getDurationMillis(duration) - (nowMillis - shownAtMillis);
+    return (int) Math.max(remaining, MIN_REMAINING_MILLIS);
+  }
+
+  static int getDurationMillis(int duration) {
+    switch (duration) {
+      case Snackbar.LENGTH_SHORT:
+        return SHORT_DURATION_MILLIS;
+      case Snackbar.LENGTH_LONG:
+        return LONG_DURATION_MILLIS;
+      default:
+        return duration;
+    }
+  }
+
+  private static OnClickListener sanitisedActionClickListener(OnClickListener actionClickListener) {
+    if (actionClickListener == null) {
+      return new OnClickListener() {
+        @Override
+        public void onClick(View view) {
+          // Not needed
+        }
+      };
+    }
+    return actionClickListener;
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.design.widget.Snackbar;
+import android.view.View.OnClickListener;
+
+/**
+ * The desired state of a Snackbar, to be applied to a SnackbarWrapper with apply(). A spec is immutable, so one can be
+ * built from an app's state each time it changes and applied to the Snackbar that is showing. Applying a spec only
+ * changes what differs from the last spec applied, and applying an equal spec again does nothing.
+ *
+ * <p>Colours left as 0 keep the colour the Snackbar is showing. Two specs are equal when their text has the same
+ * characters and spans, their colours and duration are the same, and they have the same icon and action listener
+ * instances.
+ */
+public final class SnackbarSpec {
+
+  @NonNull
+  final CharSequence message;
+  @ColorInt
+  final int messageTextColor;
+  final CharSequence actionText;
+  @ColorInt
+  final int actionTextColor;
+  final OnClickListener actionClickListener;
+  @ColorInt
+  final int backgroundColor;
+  final boolean tintBackground;
+  final Drawable icon;
+  @DrawableRes
+  final int iconResId;
+  final int duration;
+
+  private SnackbarSpec(Builder builder) {
+    message = builder.message;
+    messageTextColor = builder.messageTextColor;
+    actionText = builder.actionText;
+    actionTextColor = builder.actionTextColor;
+    actionClickListener = builder.actionClickListener;
+    backgroundColor = builder.backgroundColor;
+    tintBackground = builder.tintBackground;
+    icon = builder.icon;
+    iconResId = builder.iconResId;
+    duration = builder.duration;
+  }
+
+  boolean hasSameAction(SnackbarSpec other) {
+    return actionClickListener == other.actionClickListener
+        && TextContent.contentEquals(actionText, other.actionText);
+  }
+
+  boolean hasSameBackground(SnackbarSpec other) {
+    return backgroundColor == other.backgroundColor && tintBackground == other.tintBackground;
+  }
+
+  boolean hasSameIcon(SnackbarSpec other) {
+    return icon == other.icon && iconResId == other.iconResId;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof SnackbarSpec)) {
+      return false;
+    }
+    SnackbarSpec spec = (SnackbarSpec) other;
+    return messageTextColor == spec.messageTextColor
+        && actionTextColor == spec.actionTextColor
+        && duration == spec.duration
+        && hasSameBackground(spec)
+        && hasSameIcon(spec)
+        && hasSameAction(spec)
+        && TextContent.contentEquals(message, spec.message);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = message.toString().hashCode();
+    result = 31 * result + messageTextColor;
+    result = 31 * result + (actionText != null ? actionText.toString().hashCode() : 0);
+    result = 31 * result + actionTextColor;
+    result = 31 * result + backgroundColor;
+    result = 31 * result + iconResId;
+    result = 31 * result + duration;
+    return result;
+  }
+
+  /**
+   * Builds a SnackbarSpec. Every option starts unset, except the duration which starts as LENGTH_LONG.
+   */
+  public static final class Builder {
+
+    private CharSequence message = "";
+    @ColorInt
+    private int messageTextColor;
+    private CharSequence actionText;
+    @ColorInt
+    private int actionTextColor;
+    private OnClickListener actionClickListener;
+    @ColorInt
+    private int backgroundColor;
+    private boolean tintBackground;
+    private Drawable icon;
+    @DrawableRes
+    private int iconResId;
+    private int duration = Snackbar.LENGTH_LONG;
+
+    /**
+     * Set the message to display.
+     *
+     * @param message The message, which can include spans.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder message(@NonNull CharSequence message) {
+      this.message = message;
+      return this;
+    }
+
+    /**
+     * Set the color of the message.
+     *
+     * @param messageTextColor The color, or 0 to keep the color being shown.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder messageTextColor(@ColorInt int messageTextColor) {
+      this.messageTextColor = messageTextColor;
+      return this;
+    }
+
+    /**
+     * Set the text of the action.
+     *
+     * @param actionText The text, or null to keep the action the Snackbar was built with, or hide the action of an
+     *                   earlier spec.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder actionText(CharSequence actionText) {
+      this.actionText = actionText;
+      return this;
+    }
+
+    /**
+     * Set the color of the action.
+     *
+     * @param actionTextColor The color, or 0 to keep the color being shown.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder actionTextColor(@ColorInt int actionTextColor) {
+      this.actionTextColor = actionTextColor;
+      return this;
+    }
+
+    /**
+     * Set the listener for the action being clicked. The Snackbar is dismissed after it is called.
+     *
+     * @param actionClickListener The listener.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder actionClickListener(OnClickListener actionClickListener) {
+      this.actionClickListener = actionClickListener;
+      return this;
+    }
+
+    /**
+     * Set the background color of the Snackbar.
+     *
+     * @param backgroundColor The color, or 0 to keep the background being shown.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder backgroundColor(@ColorInt int backgroundColor) {
+      this.backgroundColor = backgroundColor;
+      return this;
+    }
+
+    /**
+     * Set whether the background color tints the existing background, rather than replacing it.
+     *
+     * @param tintBackground Whether to tint the background.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder tintBackground(boolean tintBackground) {
+      this.tintBackground = tintBackground;
+      return this;
+    }
+
+    /**
+     * Set the icon to display before the message.
+     *
+     * @param icon The icon, or null for no icon.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder icon(Drawable icon) {
+      this.icon = icon;
+      iconResId = 0;
+      return this;
+    }
+
+    /**
+     * Set the icon to display before the message. The drawable is only loaded when the icon changes.
+     *
+     * @param iconResId The icon drawable resource, or 0 for no icon.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder icon(@DrawableRes int iconResId) {
+      this.iconResId = iconResId;
+      icon = null;
+      return this;
+    }
+
+    /**
+     * Set how long to show the Snackbar for.
+     *
+     * @param duration The duration.
+     * @return This instance.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Builder duration(int duration) {
+      this.duration = duration;
+      return this;
+    }
+
+    /**
+     * Create the spec.
+     *
+     * @return The spec.
+     */
+    @NonNull
+    public SnackbarSpec build() {
+      return new SnackbarSpec(this);
+    }
+  }
+}
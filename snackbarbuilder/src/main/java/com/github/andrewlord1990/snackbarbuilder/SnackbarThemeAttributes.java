@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.support.design.widget.Snackbar;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+final class SnackbarThemeAttributes {
+
+  private static final Map<Resources.Theme, SnackbarThemeAttributes> CACHE = new WeakHashMap<>();
+
+  private ThemeState themeState;
+
+  int messageTextColor;
+  int actionTextColor;
+  int parentViewId;
+  int duration;
+  int backgroundColor;
+  int iconMargin;
+  boolean actionAllCaps;
+
+  private SnackbarThemeAttributes() {
+  }
+
+  static SnackbarThemeAttributes obtain(Context context) {
+    SnackbarThemeAttributes cached;
+    synchronized (CACHE) {
+      cached = CACHE.get(context.getTheme());
+    }
+    if (cached == null) {
+      return load(context);
+    }
+    if (cached.themeState.matches(context)) {
+      return cached;
+    }
+    return cache(context);
+  }
+
+  static SnackbarThemeAttributes cache(Context context) {
+    SnackbarThemeAttributes attributes = load(context);
+    attributes.themeState = ThemeState.capture(context);
+    synchronized (CACHE) {
+      CACHE.put(context.getTheme(), attributes);
+    }
+    return attributes;
+  }
+
+  static void clearCache() {
+    synchronized (CACHE) {
+      CACHE.clear();
+    }
+  }
+
+  private static SnackbarThemeAttributes load(Context context) {
+    SnackbarThemeAttributes attributes = new SnackbarThemeAttributes();
+    TypedArray attrs = context.obtainStyledAttributes(
+        null, R.styleable.SnackbarBuilderStyle, R.attr.snackbarBuilderStyle, 0);
+    try {
+      attributes.loadMessageTextColor(attrs);
+      attributes.loadActionTextColor(attrs);
+      attributes.loadParentViewId(attrs);
+      attributes.loadDuration(attrs);
+      attributes.loadBackgroundColor(attrs);
+      attributes.loadIconMargin(context, attrs);
+      attributes.loadActionAllCaps(attrs);
+    } finally {
+      attrs.recycle();
+    }
+    return attributes;
+  }
+
+  private void loadMessageTextColor(TypedArray attrs) {
+    messageTextColor = attrs.getColor(
+        R.styleable.SnackbarBuilderStyle_snackbarBuilder_messageTextColor, 0);
+  }
+
+  private void loadActionTextColor(TypedArray attrs) {
+    actionTextColor = attrs.getColor(
+        R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionTextColor, 0);
+  }
+
+  private void loadParentViewId(TypedArray attrs) {
+    parentViewId = attrs.getResourceId(
+        R.styleable.SnackbarBuilderStyle_snackbarBuilder_parentViewId, 0);
+  }
+
+  private void loadDuration(TypedArray attrs) {
+    duration = attrs.getInteger(
+        R.styleable.SnackbarBuilderStyle_snackbarBuilder_duration, Snackbar.LENGTH_LONG);
+  }
+
+  private void loadBackgroundColor(TypedArray attrs) {
+    backgroundColor = attrs.getColor(
+        R.styleable.SnackbarBuilderStyle_snackbarBuilder_backgroundColor, 0);
+  }
+
+  private void loadIconMargin(Context context, TypedArray attrs) {
+    iconMargin = attrs.getDimensionPixelSize(
+        R.styleable.SnackbarBuilderStyle_snackbarBuilder_iconMargin, context.getResources()
+            .getDimensionPixelSize(R.dimen.snackbarbuilder_icon_margin_default));
+  }
+
+  private void loadActionAllCaps(TypedArray attrs) {
+    actionAllCaps = attrs.getBoolean(R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionAllCaps, true);
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.MessageQueue.IdleHandler;
+import android.support.design.widget.Snackbar;
+import android.widget.FrameLayout;
+
+import java.lang.ref.WeakReference;
+
+final class SnackbarWarmUp implements IdleHandler {
+
+  private final WeakReference<Context> contextReference;
+  private final boolean inflate;
+
+  private SnackbarWarmUp(Context context, boolean inflate) {
+    contextReference = new WeakReference<>(context);
+    this.inflate = inflate;
+  }
+
+  static void schedule(Context context, boolean inflate) {
+    Looper.myQueue().addIdleHandler(new SnackbarWarmUp(context, inflate));
+  }
+
+  @Override
+  public boolean queueIdle() {
+    Context context = contextReference.get();
+    if (context != null) {
+      warmUp(context, inflate);
+    }
+    return false;
+  }
+
+  static void warmUp(Context context, boolean inflate) {
+    SnackbarThemeAttributes.cache(context);
+    if (inflate) {
+      inflateSnackbar(context);
+    }
+  }
+
+  private static void inflateSnackbar(Context context) {
+    Snackbar snackbar = Snackbar.make(new FrameLayout(context), "", Snackbar.LENGTH_SHORT);
+    new SnackbarWrapper(new AndroidSnackbarRenderer(snackbar), false)
+        .setTextColor(0)
+        .setActionTextColor(0);
+  }
+}
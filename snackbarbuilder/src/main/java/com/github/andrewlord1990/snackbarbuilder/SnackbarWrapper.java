@@ -28,17 +28,18 @@ import android.support.annotation.StringRes;
 import android.support.design.widget.Snackbar;
 import android.support.design.widget.Snackbar.Callback;
 import android.support.v4.content.ContextCompat;
-import android.text.Spannable;
-import android.text.SpannableString;
-import android.text.style.ForegroundColorSpan;
 import android.view.View;
 import android.view.View.OnClickListener;
-import android.widget.Button;
-import android.widget.TextView;
 
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.github.andrewlord1990.snackbarbuilder.event.SnackbarEventStream;
+import com.github.andrewlord1990.snackbarbuilder.leak.SnackbarLeakWatchdog;
+import com.github.andrewlord1990.snackbarbuilder.render.SnackbarRenderer;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
 
+import java.lang.ref.WeakReference;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * SnackbarWrapper is an extension to the Snackbar available within the Android Design Support library. By wrapping a
@@ -49,12 +50,24 @@ import java.util.List;
  */
 public final class SnackbarWrapper {
 
-  Context context;
+  private static final OnClickListener NO_ACTION = new OnClickListener() {
+    @Override
+    public void onClick(View view) {
+      // The Snackbar is dismissed when the action is clicked
+    }
+  };
 
-  private final Snackbar snackbar;
-  private final TextView messageView;
-  private final Button actionView;
-  private final TextViewExtension actionViewExtension;
+  Context context;
+  private final SnackbarRenderer renderer;
+  private boolean actionAllCaps = true;
+  @ColorInt
+  private int backgroundColor;
+  private boolean backgroundTinted;
+  @DrawableRes
+  private int iconResId;
+  private long shownAtMillis;
+  private SnackbarSpec appliedSpec;
+  List<Callback> builderCallbacks;
 
   /**
    * Create by wrapping a Snackbar.
@@ -63,11 +76,40 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper(Snackbar snackbar) {
-    this.snackbar = snackbar;
-    messageView = (TextView) getView().findViewById(R.id.snackbar_text);
-    actionView = (Button) getView().findViewById(R.id.snackbar_action);
-    actionViewExtension = TextViewExtension.from(actionView);
-    context = snackbar.getView().getContext();
+    this(new AndroidSnackbarRenderer(snackbar));
+  }
+
+  /**
+   * Create by wrapping a SnackbarRenderer, for example one that records its state to test or benchmark code that uses
+   * a SnackbarWrapper on the JVM. The methods taking resources need the renderer to have a Context.
+   *
+   * @param renderer The renderer to apply changes to.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper(SnackbarRenderer renderer) {
+    this(renderer, true);
+  }
+
+  SnackbarWrapper(SnackbarRenderer renderer, boolean observed) {
+    this.renderer = renderer;
+    context = renderer.getContext();
+    if (observed) {
+      watchForLeaks();
+      publishEvents();
+    }
+  }
+
+  private void publishEvents() {
+    if (SnackbarEventStream.hasSubscribers()) {
+      renderer.addCallback(SnackbarEventStream.publisher());
+    }
+  }
+
+  private void watchForLeaks() {
+    if (context != null && SnackbarLeakWatchdog.isInstalled()) {
+      SnackbarLeakWatchdog.watch(this, context);
+      renderer.addCallback(new LeakWatchdogCallback(this));
+    }
   }
 
   /**
@@ -76,7 +118,7 @@ public final class SnackbarWrapper {
    * @return The Snackbar.
    */
   public Snackbar getSnackbar() {
-    return snackbar;
+    return renderer.getSnackbar();
   }
 
   /**
@@ -86,7 +128,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public View getView() {
-    return snackbar.getView();
+    return renderer.getView();
   }
 
   /**
@@ -96,7 +138,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public CharSequence getActionText() {
-    return actionView.getText();
+    return renderer.getActionText();
   }
 
   /**
@@ -108,7 +150,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionText(@StringRes int actionText) {
-    actionView.setText(actionText);
+    renderer.setActionText(context.getText(actionText));
     return this;
   }
 
@@ -121,7 +163,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionText(CharSequence actionText) {
-    actionView.setText(actionText);
+    renderer.setActionText(actionText);
     return this;
   }
 
@@ -134,7 +176,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionClickListener(OnClickListener actionClickListener) {
-    actionView.setOnClickListener(actionClickListener);
+    renderer.setActionClickListener(actionClickListener);
     return this;
   }
 
@@ -148,7 +190,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setAction(@StringRes int actionText, OnClickListener actionClickListener) {
-    snackbar.setAction(actionText, actionClickListener);
+    renderer.setAction(context.getText(actionText), actionClickListener);
     return this;
   }
 
@@ -162,7 +204,48 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setAction(CharSequence actionText, OnClickListener actionClickListener) {
-    snackbar.setAction(actionText, actionClickListener);
+    renderer.setAction(actionText, actionClickListener);
+    return this;
+  }
+
+  /**
+   * Set an action whose work is run in the background. When the action is clicked, the Snackbar stays showing with the
+   * action disabled until the work finishes, and further clicks are ignored. If the work completes the Snackbar is
+   * dismissed with DISMISS_EVENT_ACTION, otherwise the action is enabled again so that it can be retried.
+   *
+   * @param actionText  String resource to display as an action.
+   * @param workingText String resource to display as the action while the work is running, or 0 to keep the action
+   *                    text.
+   * @param action      The work to run and the callbacks for when it finishes.
+   * @param executor    Runs the work, usually a background thread.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setAsyncAction(@StringRes int actionText, @StringRes int workingText,
+                                        SnackbarAsyncAction action, Executor executor) {
+    return setAsyncAction(context.getString(actionText), workingText != 0 ? context.getString(workingText) : null,
+        action, executor);
+  }
+
+  /**
+   * Set an action whose work is run in the background. When the action is clicked, the Snackbar stays showing with the
+   * action disabled until the work finishes, and further clicks are ignored. If the work completes the Snackbar is
+   * dismissed with DISMISS_EVENT_ACTION, otherwise the action is enabled again so that it can be retried.
+   *
+   * @param actionText  Text to display as an action.
+   * @param workingText Text to display as the action while the work is running, or null to keep the action text.
+   * @param action      The work to run and the callbacks for when it finishes.
+   * @param executor    Runs the work, usually a background thread.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setAsyncAction(CharSequence actionText, CharSequence workingText,
+                                        SnackbarAsyncAction action, Executor executor) {
+    OnClickListener listener = new AsyncActionClickListener(this, actionText, workingText, action, executor);
+    renderer.setAction(actionText, listener);
+    renderer.setActionClickListener(listener);
     return this;
   }
 
@@ -173,7 +256,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public ColorStateList getActionTextColors() {
-    return actionView.getTextColors();
+    return renderer.getActionTextColors();
   }
 
   /**
@@ -184,7 +267,7 @@ public final class SnackbarWrapper {
   @ColorInt
   @SuppressWarnings("WeakerAccess")
   public int getActionCurrentTextColor() {
-    return actionView.getCurrentTextColor();
+    return renderer.getActionTextColor();
   }
 
   /**
@@ -196,7 +279,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionTextColor(ColorStateList colors) {
-    snackbar.setActionTextColor(colors);
+    renderer.setActionTextColor(colors);
     return this;
   }
 
@@ -209,7 +292,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionTextColor(@ColorInt int color) {
-    snackbar.setActionTextColor(color);
+    renderer.setActionTextColor(color);
     return this;
   }
 
@@ -222,8 +305,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionTextColorRes(@ColorRes int color) {
-    snackbar.setActionTextColor(ContextCompat.getColor(context, color));
-    return this;
+    return setActionTextColor(ContextCompat.getColor(context, color));
   }
 
   /**
@@ -233,7 +315,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public int getActionVisibility() {
-    return actionView.getVisibility();
+    return renderer.getActionVisibility();
   }
 
   /**
@@ -245,7 +327,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionVisibility(int visibility) {
-    actionView.setVisibility(visibility);
+    renderer.setActionVisibility(visibility);
     return this;
   }
 
@@ -257,7 +339,8 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionTextAllCaps(boolean allCaps) {
-    actionViewExtension.setAllCaps(allCaps);
+    actionAllCaps = allCaps;
+    renderer.setActionAllCaps(allCaps);
     return this;
   }
 
@@ -268,7 +351,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public CharSequence getText() {
-    return messageView.getText();
+    return renderer.getMessage();
   }
 
   /**
@@ -280,7 +363,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setText(@StringRes int message) {
-    snackbar.setText(message);
+    renderer.setMessage(context.getText(message));
     return this;
   }
 
@@ -293,7 +376,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setText(@NonNull CharSequence message) {
-    snackbar.setText(message);
+    renderer.setMessage(message);
     return this;
   }
 
@@ -304,7 +387,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public ColorStateList getTextColors() {
-    return messageView.getTextColors();
+    return renderer.getMessageTextColors();
   }
 
   /**
@@ -315,7 +398,7 @@ public final class SnackbarWrapper {
   @ColorInt
   @SuppressWarnings("WeakerAccess")
   public int getCurrentTextColor() {
-    return messageView.getCurrentTextColor();
+    return renderer.getMessageTextColor();
   }
 
   /**
@@ -327,7 +410,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setTextColor(@ColorInt int color) {
-    messageView.setTextColor(color);
+    renderer.setMessageTextColor(color);
     return this;
   }
 
@@ -340,7 +423,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setTextColor(ColorStateList colors) {
-    messageView.setTextColor(colors);
+    renderer.setMessageTextColor(colors);
     return this;
   }
 
@@ -353,8 +436,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setTextColorRes(@ColorRes int color) {
-    messageView.setTextColor(ContextCompat.getColor(context, color));
-    return this;
+    return setTextColor(ContextCompat.getColor(context, color));
   }
 
   /**
@@ -366,7 +448,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper appendMessage(@NonNull CharSequence message) {
-    messageView.append(message);
+    renderer.appendMessage(message);
     return this;
   }
 
@@ -392,10 +474,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper appendMessage(@NonNull CharSequence message, @ColorInt int color) {
-    Spannable spannable = new SpannableString(message);
-    spannable.setSpan(new ForegroundColorSpan(color), 0, spannable.length(),
-        Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
-    messageView.append(spannable);
+    renderer.appendMessage(message, color);
     return this;
   }
 
@@ -421,7 +500,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public int getMessageVisibility() {
-    return messageView.getVisibility();
+    return renderer.getMessageVisibility();
   }
 
   /**
@@ -433,7 +512,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setMessageVisibility(int visibility) {
-    messageView.setVisibility(visibility);
+    renderer.setMessageVisibility(visibility);
     return this;
   }
 
@@ -444,7 +523,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public int getDuration() {
-    return snackbar.getDuration();
+    return renderer.getDuration();
   }
 
   /**
@@ -457,7 +536,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setDuration(int duration) {
-    snackbar.setDuration(duration);
+    renderer.setDuration(duration);
     return this;
   }
 
@@ -470,7 +549,9 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setBackgroundColor(@ColorInt int color) {
-    getView().setBackgroundColor(color);
+    backgroundColor = color;
+    backgroundTinted = false;
+    renderer.setBackgroundColor(color);
     return this;
   }
 
@@ -483,10 +564,38 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setBackgroundColorRes(@ColorRes int color) {
-    getView().setBackgroundColor(ContextCompat.getColor(context, color));
+    return setBackgroundColor(ContextCompat.getColor(context, color));
+  }
+
+  /**
+   * Set the background color of the Snackbar by tinting its existing background, rather than replacing it. This keeps
+   * the background's shape, and changing between colors that have been used before does not allocate anything, which
+   * suits a background that changes often, such as a flashing error state.
+   *
+   * @param color The background color.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setBackgroundTint(@ColorInt int color) {
+    backgroundColor = color;
+    backgroundTinted = true;
+    renderer.setBackgroundTint(color);
     return this;
   }
 
+  /**
+   * Set the background color of the Snackbar by tinting its existing background, rather than replacing it.
+   *
+   * @param color The background color resource.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setBackgroundTintRes(@ColorRes int color) {
+    return setBackgroundTint(ContextCompat.getColor(context, color));
+  }
+
   /**
    * Add a callback to the Snackbar for various events.
    *
@@ -496,7 +605,20 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper addCallback(Callback callback) {
-    snackbar.addCallback(callback);
+    renderer.addCallback(callback);
+    return this;
+  }
+
+  /**
+   * Remove a callback from the Snackbar, so that it is no longer called.
+   *
+   * @param callback The callback to be removed.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper removeCallback(Callback callback) {
+    renderer.removeCallback(callback);
     return this;
   }
 
@@ -538,7 +660,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setIcon(@DrawableRes int icon) {
-    return setIcon(ContextCompat.getDrawable(context, icon));
+    return setIcon(ContextCompat.getDrawable(context, icon), icon);
   }
 
   /**
@@ -551,7 +673,13 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setIcon(Drawable icon) {
-    messageView.setCompoundDrawablesWithIntrinsicBounds(icon, null, null, null);
+    return setIcon(icon, 0);
+  }
+
+  @NonNull
+  SnackbarWrapper setIcon(Drawable icon, @DrawableRes int iconResId) {
+    this.iconResId = iconResId;
+    renderer.setIcon(icon);
     return this;
   }
 
@@ -564,7 +692,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setIconMargin(int iconMarginPixels) {
-    messageView.setCompoundDrawablePadding(iconMarginPixels);
+    renderer.setIconMargin(iconMarginPixels);
     return this;
   }
 
@@ -580,6 +708,121 @@ public final class SnackbarWrapper {
     return setIconMargin(context.getResources().getDimensionPixelSize(iconMargin));
   }
 
+  /**
+   * Start editing the Snackbar. Changes made through the returned editor are recorded and only applied when it is
+   * committed, all together and skipping any that would not change what is displayed. Prefer this to chaining the
+   * setters when changing several properties of a Snackbar that may already be showing.
+   *
+   * @return An editor for this Snackbar.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarEditor edit() {
+    return new SnackbarEditor(this, renderer);
+  }
+
+  /**
+   * Apply the desired state of the Snackbar, changing only what differs from the spec that was last applied. Text is
+   * compared by its characters and the content of its spans, so a spec built again from the same state applies
+   * nothing. The first spec applied is compared with what the Snackbar is showing instead, and leaves its action as it
+   * is unless the spec has one. Every change is made through a single SnackbarEditor commit. Changes made through the
+   * other setters are not tracked, so mixing them with specs for the same property can leave it out of date.
+   *
+   * @param spec The desired state.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper apply(@NonNull SnackbarSpec spec) {
+    SnackbarSpec last = appliedSpec;
+    appliedSpec = spec;
+    if (last == spec) {
+      return this;
+    }
+    boolean first = last == null;
+    boolean messageChanged = first || !TextContent.contentEquals(last.message, spec.message);
+    boolean messageColorChanged = spec.messageTextColor != 0
+        && (first || last.messageTextColor != spec.messageTextColor);
+    boolean actionChanged = first ? spec.actionText != null : !last.hasSameAction(spec);
+    boolean actionColorChanged = spec.actionTextColor != 0 && (first || last.actionTextColor != spec.actionTextColor);
+    boolean backgroundChanged = spec.backgroundColor != 0 && (first || !last.hasSameBackground(spec));
+    boolean iconChanged = first ? spec.icon != null || spec.iconResId != 0 : !last.hasSameIcon(spec);
+    boolean durationChanged = first || last.duration != spec.duration;
+    if (!(messageChanged || messageColorChanged || actionChanged || actionColorChanged || backgroundChanged
+        || iconChanged || durationChanged)) {
+      return this;
+    }
+    SnackbarEditor editor = edit();
+    if (actionChanged) {
+      editor.setAction(spec.actionText, spec.actionClickListener != null ? spec.actionClickListener : NO_ACTION);
+    }
+    if (messageChanged) {
+      editor.setText(spec.message);
+    }
+    if (messageColorChanged) {
+      editor.setTextColor(spec.messageTextColor);
+    }
+    if (actionColorChanged) {
+      editor.setActionTextColor(spec.actionTextColor);
+    }
+    if (backgroundChanged && spec.tintBackground) {
+      editor.setBackgroundTint(spec.backgroundColor);
+    } else if (backgroundChanged) {
+      editor.setBackgroundColor(spec.backgroundColor);
+    }
+    if (iconChanged) {
+      editor.setIcon(spec.icon, spec.iconResId);
+    }
+    if (durationChanged) {
+      editor.setDuration(spec.duration);
+    }
+    editor.commit();
+    return this;
+  }
+
+  /**
+   * Take a snapshot of the Snackbar's current state, which can be saved in an Activity's instance state and restored
+   * after a configuration change. The snapshot includes the message with its spans, the colours, the icon if it was
+   * set from a resource, the action text and the remaining duration if the Snackbar was shown through this wrapper.
+   *
+   * @return A snapshot of the Snackbar.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarSnapshot snapshot() {
+    return new SnackbarSnapshot(this);
+  }
+
+  void setActionEnabled(boolean enabled) {
+    renderer.setActionEnabled(enabled);
+  }
+
+  @DrawableRes
+  int getIconResId() {
+    return iconResId;
+  }
+
+  @ColorInt
+  int getBackgroundColor() {
+    return backgroundColor;
+  }
+
+  boolean isBackgroundTinted() {
+    return backgroundTinted;
+  }
+
+  int getIconMargin() {
+    return renderer.getIconMargin();
+  }
+
+  boolean isActionAllCaps() {
+    return actionAllCaps;
+  }
+
+  long getShownAtMillis() {
+    return shownAtMillis;
+  }
+
   /**
    * Show the Snackbar.
    *
@@ -588,7 +831,11 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper show() {
-    snackbar.show();
+    shownAtMillis = SnackbarClock.uptimeMillis();
+    if (builderCallbacks != null) {
+      VisibleSnackbars.register(this);
+    }
+    renderer.show();
     return this;
   }
 
@@ -600,10 +847,14 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper dismiss() {
-    snackbar.dismiss();
+    renderer.dismiss();
     return this;
   }
 
+  void dismissFromAction() {
+    renderer.dismissFromAction();
+  }
+
   /**
    * Get whether the Snackbar is showing.
    *
@@ -611,7 +862,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public boolean isShown() {
-    return snackbar.isShown();
+    return renderer.isShown();
   }
 
   /**
@@ -621,7 +872,21 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public boolean isShownOrQueued() {
-    return snackbar.isShownOrQueued();
+    return renderer.isShownOrQueued();
+  }
+
+  private static final class LeakWatchdogCallback extends Callback {
+
+    private final WeakReference<SnackbarWrapper> wrapper;
+
+    LeakWatchdogCallback(SnackbarWrapper wrapper) {
+      this.wrapper = new WeakReference<>(wrapper);
+    }
+
+    @Override
+    public void onDismissed(Snackbar snackbar, int event) {
+      SnackbarLeakWatchdog.retire(wrapper.get(), "Snackbar dismissed");
+    }
   }
 
 }
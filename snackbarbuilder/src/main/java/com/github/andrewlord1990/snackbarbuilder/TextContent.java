@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.text.Spanned;
+import android.text.style.AbsoluteSizeSpan;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.RelativeSizeSpan;
+import android.text.style.StrikethroughSpan;
+import android.text.style.StyleSpan;
+import android.text.style.TypefaceSpan;
+import android.text.style.URLSpan;
+import android.text.style.UnderlineSpan;
+
+/**
+ * Compares text by what it displays rather than by identity, so that styled text built again with the same characters
+ * and spans counts as unchanged. Spans are compared by their position, flags and content. The content of the framework
+ * spans for colours, styles, sizes, typefaces and links is compared by value. Any other span is only equal to itself
+ * or to a span it equals(). Text that cannot be shown to be equal is treated as different, which only costs applying
+ * it again.
+ */
+final class TextContent {
+
+  private static final Object[] NO_SPANS = new Object[0];
+
+  private TextContent() {
+  }
+
+  static boolean contentEquals(CharSequence first, CharSequence second) {
+    if (first == second) {
+      return true;
+    }
+    if (first == null || second == null || !charactersEqual(first, second)) {
+      return false;
+    }
+    Object[] firstSpans = getSpans(first);
+    Object[] secondSpans = getSpans(second);
+    if (firstSpans.length != secondSpans.length) {
+      return false;
+    }
+    for (int i = 0; i < firstSpans.length; i++) {
+      if (!spanPlacementEquals((Spanned) first, firstSpans[i], (Spanned) second, secondSpans[i])
+          || !spanEquals(firstSpans[i], secondSpans[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean charactersEqual(CharSequence first, CharSequence second) {
+    int length = first.length();
+    if (length != second.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (first.charAt(i) != second.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Object[] getSpans(CharSequence text) {
+    if (text instanceof Spanned) {
+      Object[] spans = ((Spanned) text).getSpans(0, text.length(), Object.class);
+      return spans != null ? spans : NO_SPANS;
+    }
+    return NO_SPANS;
+  }
+
+  private static boolean spanPlacementEquals(Spanned first, Object firstSpan, Spanned second, Object secondSpan) {
+    return first.getSpanStart(firstSpan) == second.getSpanStart(secondSpan)
+        && first.getSpanEnd(firstSpan) == second.getSpanEnd(secondSpan)
+        && first.getSpanFlags(firstSpan) == second.getSpanFlags(secondSpan);
+  }
+
+  static boolean spanEquals(Object first, Object second) {
+    if (first == second || first.equals(second)) {
+      return true;
+    }
+    Class<?> spanClass = first.getClass();
+    if (spanClass != second.getClass()) {
+      return false;
+    }
+    if (spanClass == ForegroundColorSpan.class) {
+      return ((ForegroundColorSpan) first).getForegroundColor() == ((ForegroundColorSpan) second).getForegroundColor();
+    } else if (spanClass == BackgroundColorSpan.class) {
+      return ((BackgroundColorSpan) first).getBackgroundColor() == ((BackgroundColorSpan) second).getBackgroundColor();
+    } else if (spanClass == StyleSpan.class) {
+      return ((StyleSpan) first).getStyle() == ((StyleSpan) second).getStyle();
+    } else if (spanClass == AbsoluteSizeSpan.class) {
+      AbsoluteSizeSpan firstSize = (AbsoluteSizeSpan) first;
+      AbsoluteSizeSpan secondSize = (AbsoluteSizeSpan) second;
+      return firstSize.getSize() == secondSize.getSize() && firstSize.getDip() == secondSize.getDip();
+    } else if (spanClass == RelativeSizeSpan.class) {
+      return ((RelativeSizeSpan) first).getSizeChange() == ((RelativeSizeSpan) second).getSizeChange();
+    } else if (spanClass == TypefaceSpan.class) {
+      return stringEquals(((TypefaceSpan) first).getFamily(), ((TypefaceSpan) second).getFamily());
+    } else if (spanClass == URLSpan.class) {
+      return stringEquals(((URLSpan) first).getURL(), ((URLSpan) second).getURL());
+    }
+    return spanClass == UnderlineSpan.class || spanClass == StrikethroughSpan.class;
+  }
+
+  private static boolean stringEquals(String first, String second) {
+    return first == null ? second == null : first.equals(second);
+  }
+}
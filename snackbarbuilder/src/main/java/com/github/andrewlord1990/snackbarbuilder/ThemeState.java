@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.util.TypedValue;
+
+/**
+ * The parts of a Context that values cached for its theme depend on: the style the theme sets for snackbarBuilderStyle
+ * and the configuration of its resources. A Resources.Theme is changed in place by setTheme and applyStyle, so caches
+ * keyed on the Theme check the state still matches before using what they hold. Two states are equal when they have
+ * the same style and configuration, so values can also be shared between the themes of different Activities.
+ */
+final class ThemeState {
+
+  private static final TypedValue STYLE_VALUE = new TypedValue();
+
+  private final int styleResId;
+  private final Configuration configuration;
+
+  private ThemeState(int styleResId, Configuration configuration) {
+    this.styleResId = styleResId;
+    this.configuration = configuration;
+  }
+
+  static ThemeState capture(Context context) {
+    return new ThemeState(resolveStyle(context), new Configuration(context.getResources().getConfiguration()));
+  }
+
+  boolean matches(Context context) {
+    return styleResId == resolveStyle(context) && configuration.equals(context.getResources().getConfiguration());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ThemeState that = (ThemeState) o;
+    return styleResId == that.styleResId && configuration.equals(that.configuration);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * styleResId + configuration.hashCode();
+  }
+
+  private static int resolveStyle(Context context) {
+    synchronized (STYLE_VALUE) {
+      if (!context.getTheme().resolveAttribute(R.attr.snackbarBuilderStyle, STYLE_VALUE, false)) {
+        return 0;
+      }
+      return STYLE_VALUE.data;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.res.ColorStateList;
+import android.support.annotation.ColorInt;
+import android.support.v4.util.LruCache;
+
+/**
+ * Shares one ColorStateList for each colour used as a background tint, so that switching between the same few colours
+ * does not create a new tint each time. Once the cache is full, the least recently used colour is dropped.
+ */
+final class TintCache {
+
+  static final int MAX_SIZE = 16;
+
+  private static final LruCache<Integer, ColorStateList> CACHE = new LruCache<Integer, ColorStateList>(MAX_SIZE) {
+    @Override
+    protected ColorStateList create(Integer color) {
+      return ColorStateList.valueOf(color);
+    }
+  };
+
+  private TintCache() {
+  }
+
+  static ColorStateList get(@ColorInt int color) {
+    return CACHE.get(color);
+  }
+
+  static int size() {
+    return CACHE.size();
+  }
+
+  static void clear() {
+    CACHE.evictAll();
+  }
+}
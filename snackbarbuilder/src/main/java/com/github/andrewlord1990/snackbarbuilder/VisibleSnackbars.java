@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.annotation.SuppressLint;
+import android.support.design.widget.CoordinatorLayout;
+import android.support.design.widget.Snackbar;
+import android.support.design.widget.Snackbar.Callback;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.widget.FrameLayout;
+
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+
+import java.util.List;
+
+/**
+ * Finds the Snackbar built by SnackbarBuilder that is showing in a parent, so that a new Snackbar for the same parent
+ * can replace the content of the one showing instead of dismissing it. Nothing is kept for a Snackbar until it is shown
+ * through its SnackbarWrapper, which tags its view with the wrapper. The Snackbar manager adds that view to the parent
+ * as soon as it is shown and removes it once it has been dismissed, so a tagged view among the parent's children is a
+ * Snackbar that can be replaced. Only used on the main thread.
+ */
+final class VisibleSnackbars {
+
+  static final long FADE_IN_MILLIS = 150;
+
+  private VisibleSnackbars() {
+  }
+
+  static void register(SnackbarWrapper wrapper) {
+    View view = wrapper.getView();
+    if (view != null) {
+      view.setTag(R.id.snackbarbuilder_replaceable, wrapper);
+    }
+  }
+
+  static SnackbarWrapper find(View view) {
+    ViewGroup parent = findSuitableParent(view);
+    if (parent == null) {
+      return null;
+    }
+    for (int i = parent.getChildCount() - 1; i >= 0; i--) {
+      Object wrapper = parent.getChildAt(i).getTag(R.id.snackbarbuilder_replaceable);
+      if (wrapper != null) {
+        return (SnackbarWrapper) wrapper;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Remove the callbacks added by the builder of the Snackbar and tell them that it has been replaced, then add the
+   * callbacks of the builder that replaced it. Only SnackbarCallbacks know about the replaced event, so the others are
+   * told that the Snackbar was dismissed for another one, as it would have been without the replacement.
+   */
+  @SuppressLint("WrongConstant")
+  static void replaceCallbacks(SnackbarWrapper wrapper, List<Callback> callbacks) {
+    Snackbar snackbar = wrapper.getSnackbar();
+    List<Callback> replaced = wrapper.builderCallbacks;
+    int replacedSize = replaced.size();
+    for (int i = 0; i < replacedSize; i++) {
+      Callback callback = replaced.get(i);
+      wrapper.removeCallback(callback);
+      if (callback instanceof SnackbarCallback) {
+        callback.onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_REPLACED);
+      } else {
+        callback.onDismissed(snackbar, Callback.DISMISS_EVENT_CONSECUTIVE);
+      }
+    }
+    wrapper.builderCallbacks = callbacks;
+    wrapper.addCallbacks(callbacks);
+  }
+
+  static void fadeInContent(SnackbarWrapper wrapper) {
+    View content = (View) wrapper.getView().findViewById(R.id.snackbar_text).getParent();
+    ViewCompat.animate(content).cancel();
+    ViewCompat.setAlpha(content, 0);
+    ViewCompat.animate(content).alpha(1).setDuration(FADE_IN_MILLIS);
+  }
+
+  /**
+   * Find the view a Snackbar made from the view would be shown in, in the same way as Snackbar.make().
+   */
+  static ViewGroup findSuitableParent(View view) {
+    ViewGroup fallback = null;
+    View current = view;
+    while (current != null) {
+      if (current instanceof CoordinatorLayout) {
+        return (ViewGroup) current;
+      } else if (current instanceof FrameLayout) {
+        if (current.getId() == android.R.id.content) {
+          return (ViewGroup) current;
+        }
+        fallback = (ViewGroup) current;
+      }
+      ViewParent parent = current.getParent();
+      current = parent instanceof View ? (View) parent : null;
+    }
+    return fallback;
+  }
+}
@@ -25,6 +25,12 @@ import android.support.design.widget.Snackbar;
  */
 public class SnackbarCallback extends Snackbar.Callback {
 
+  /**
+   * The dismiss event given when the Snackbar's content is replaced in place by SnackbarBuilder.replaceCurrent(). The
+   * Snackbar stays on screen showing the new content, but this callback is removed from it.
+   */
+  public static final int DISMISS_EVENT_REPLACED = 5;
+
   protected SnackbarCallback() {
     // To prevent class being instantiated directly.
   }
@@ -75,6 +81,9 @@ public class SnackbarCallback extends Snackbar.Callback {
       case Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE:
         onSnackbarDismissedAfterAnotherShown(snackbar);
         break;
+      case DISMISS_EVENT_REPLACED:
+        onSnackbarReplaced(snackbar);
+        break;
       default:
         break;
     }
@@ -147,4 +156,14 @@ public class SnackbarCallback extends Snackbar.Callback {
     // Override if needed
   }
 
+  /**
+   * Indicates that the Snackbar's content was replaced in place by another Snackbar's, through
+   * SnackbarBuilder.replaceCurrent().
+   *
+   * @param snackbar The Snackbar.
+   */
+  public void onSnackbarReplaced(Snackbar snackbar) {
+    // Override if needed
+  }
+
 }
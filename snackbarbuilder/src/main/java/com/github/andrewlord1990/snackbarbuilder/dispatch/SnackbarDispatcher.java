@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.dispatch;
+
+import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarScheduler;
+import com.github.andrewlord1990.snackbarbuilder.toastbuilder.ToastBuilder;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Accepts requests to show Snackbars and Toasts from any thread and shows them on the main thread. Requests are added
+ * to a lock-free queue and a single message is posted to the main Looper to drain them, so requests made in quick
+ * succession are shown together rather than each posting their own message. A builder passed to the dispatcher should
+ * be fully configured and not modified afterwards, as it is built later on the main thread.
+ */
+public final class SnackbarDispatcher {
+
+  private static SnackbarDispatcher instance;
+
+  private final SnackbarScheduler scheduler;
+  private final Queue<Runnable> requests = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private final Runnable drain = new Runnable() {
+    @Override
+    public void run() {
+      drainRequests();
+    }
+  };
+
+  SnackbarDispatcher(SnackbarScheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Get the dispatcher that shows requests on the main thread.
+   *
+   * @return The dispatcher.
+   */
+  public static synchronized SnackbarDispatcher getInstance() {
+    if (instance == null) {
+      instance = new SnackbarDispatcher(SnackbarClock.getScheduler());
+    }
+    return instance;
+  }
+
+  /**
+   * Build and show a Snackbar on the main thread. This can be called from any thread.
+   *
+   * @param builder The configured builder to create the Snackbar with.
+   */
+  public void show(final SnackbarBuilder builder) {
+    enqueue(new Runnable() {
+      @Override
+      public void run() {
+        builder.buildWrapper().show();
+      }
+    });
+  }
+
+  /**
+   * Build and show a Toast on the main thread. This can be called from any thread.
+   *
+   * @param builder The configured builder to create the Toast with.
+   */
+  public void show(final ToastBuilder builder) {
+    enqueue(new Runnable() {
+      @Override
+      public void run() {
+        builder.build().show();
+      }
+    });
+  }
+
+  /**
+   * Run a request on the main thread, in order with the Snackbars and Toasts that have been requested. This can be
+   * called from any thread.
+   *
+   * @param request The request to run on the main thread.
+   */
+  public void dispatch(Runnable request) {
+    enqueue(request);
+  }
+
+  private void enqueue(Runnable request) {
+    requests.offer(request);
+    scheduleDrain();
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      scheduler.post(drain);
+    }
+  }
+
+  private void drainRequests() {
+    drainScheduled.set(false);
+    try {
+      Runnable request;
+      while ((request = requests.poll()) != null) {
+        request.run();
+      }
+    } finally {
+      if (!requests.isEmpty()) {
+        scheduleDrain();
+      }
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.event;
+
+/**
+ * An event in the lifecycle of a Snackbar, delivered through a SnackbarEventStream. Events are pooled and reused by the
+ * stream, so they must not be kept after the listener returns. Copy out any values that are needed later.
+ */
+public final class SnackbarEvent {
+
+  /**
+   * The Snackbar was shown (made visible).
+   */
+  public static final int TYPE_SHOWN = 0;
+
+  /**
+   * The Snackbar was dismissed, the dismiss event indicates how.
+   */
+  public static final int TYPE_DISMISSED = 1;
+
+  private int type;
+  private int dismissEvent;
+  private int snackbarId;
+  private long timestampMillis;
+
+  SnackbarEvent() {
+    // Created by the stream only
+  }
+
+  void set(int type, int dismissEvent, int snackbarId, long timestampMillis) {
+    this.type = type;
+    this.dismissEvent = dismissEvent;
+    this.snackbarId = snackbarId;
+    this.timestampMillis = timestampMillis;
+  }
+
+  /**
+   * Get the type of event, either TYPE_SHOWN or TYPE_DISMISSED.
+   *
+   * @return The type of event.
+   */
+  public int getType() {
+    return type;
+  }
+
+  /**
+   * Get the event through which the Snackbar was dismissed, as defined in Snackbar.Callback. Only valid for events of
+   * type TYPE_DISMISSED.
+   *
+   * @return The dismiss event.
+   */
+  public int getDismissEvent() {
+    return dismissEvent;
+  }
+
+  /**
+   * Get an identifier for the Snackbar, which is the same for all events of a single Snackbar. Identifiers are not
+   * guaranteed to be unique across Snackbars.
+   *
+   * @return The Snackbar identifier.
+   */
+  public int getSnackbarId() {
+    return snackbarId;
+  }
+
+  /**
+   * Get when the event happened, in milliseconds of uptime.
+   *
+   * @return The time of the event.
+   */
+  public long getTimestampMillis() {
+    return timestampMillis;
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.event;
+
+import android.support.annotation.IntDef;
+import android.support.design.widget.Snackbar;
+import android.support.design.widget.Snackbar.Callback;
+
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A single subscription to the events of every Snackbar created through SnackbarBuilder or SnackbarWrapper in the
+ * process. Events are written into a bounded ring buffer of pooled event objects on the main thread and delivered in
+ * batches to the listener on the provided Executor. If the listener falls behind and the buffer fills up, the overflow
+ * policy decides which events are kept.
+ *
+ * <pre>
+ * SnackbarEventStream stream = new SnackbarEventStream(listener, executor)
+ *     .capacity(128)
+ *     .overflowPolicy(SnackbarEventStream.OVERFLOW_SAMPLE, 4)
+ *     .subscribe();
+ * </pre>
+ */
+public final class SnackbarEventStream {
+
+  /**
+   * When the buffer is full, each new event replaces the oldest one.
+   */
+  public static final int OVERFLOW_DROP_OLDEST = 0;
+
+  /**
+   * When the buffer is full, only one in every sample interval new events replaces the oldest one and the rest are
+   * dropped.
+   */
+  public static final int OVERFLOW_SAMPLE = 1;
+
+  static final int DEFAULT_CAPACITY = 64;
+
+  private static final List<SnackbarEventStream> STREAMS = new CopyOnWriteArrayList<>();
+  private static final Callback PUBLISHER = new PublishingCallback();
+
+  private final SnackbarEventListener listener;
+  private final Executor executor;
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private final Runnable drain = new Runnable() {
+    @Override
+    public void run() {
+      drainEvents();
+    }
+  };
+  private int capacity = DEFAULT_CAPACITY;
+  private int overflowPolicy = OVERFLOW_DROP_OLDEST;
+  private int sampleInterval = 1;
+
+  private SnackbarEvent[] buffer;
+  private SnackbarEvent[] batch;
+  private List<SnackbarEvent> batchList;
+  private int head;
+  private int count;
+  private int overflowCount;
+  private long droppedCount;
+
+  /**
+   * Create a stream that delivers events to the listener on the executor. Call subscribe() to start receiving them.
+   *
+   * @param listener Receives batches of events.
+   * @param executor Runs the listener, usually a background thread.
+   */
+  public SnackbarEventStream(SnackbarEventListener listener, Executor executor) {
+    this.listener = listener;
+    this.executor = executor;
+  }
+
+  /**
+   * Get the callback that publishes the events of a Snackbar to all subscribed streams.
+   *
+   * @return The shared publishing callback.
+   */
+  public static Callback publisher() {
+    return PUBLISHER;
+  }
+
+  /**
+   * Get whether any stream is subscribed, so that Snackbars only need the publishing callback when it is.
+   *
+   * @return Whether there are any subscribed streams.
+   */
+  public static boolean hasSubscribers() {
+    return !STREAMS.isEmpty();
+  }
+
+  /**
+   * Set the maximum number of events that are buffered waiting to be delivered.
+   *
+   * @param capacity The buffer capacity.
+   * @return This instance.
+   */
+  public SnackbarEventStream capacity(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1");
+    }
+    this.capacity = capacity;
+    return this;
+  }
+
+  /**
+   * Set what happens to events when the buffer is full.
+   *
+   * @param overflowPolicy Either OVERFLOW_DROP_OLDEST or OVERFLOW_SAMPLE.
+   * @return This instance.
+   */
+  public SnackbarEventStream overflowPolicy(@OverflowPolicy int overflowPolicy) {
+    return overflowPolicy(overflowPolicy, 1);
+  }
+
+  /**
+   * Set what happens to events when the buffer is full.
+   *
+   * @param overflowPolicy Either OVERFLOW_DROP_OLDEST or OVERFLOW_SAMPLE.
+   * @param sampleInterval When sampling, one in every this many events is kept while the buffer is full.
+   * @return This instance.
+   */
+  public SnackbarEventStream overflowPolicy(@OverflowPolicy int overflowPolicy, int sampleInterval) {
+    if (sampleInterval < 1) {
+      throw new IllegalArgumentException("Sample interval must be at least 1");
+    }
+    this.overflowPolicy = overflowPolicy;
+    this.sampleInterval = sampleInterval;
+    return this;
+  }
+
+  /**
+   * Start receiving events. The buffer and all event objects are allocated up front.
+   *
+   * @return This instance.
+   */
+  public SnackbarEventStream subscribe() {
+    synchronized (this) {
+      buffer = createEvents(capacity);
+      batch = createEvents(capacity);
+      batchList = new ArrayList<>(capacity);
+      head = 0;
+      count = 0;
+      overflowCount = 0;
+    }
+    if (!STREAMS.contains(this)) {
+      STREAMS.add(this);
+    }
+    return this;
+  }
+
+  /**
+   * Stop receiving events. Events that are already buffered are still delivered.
+   */
+  public void unsubscribe() {
+    STREAMS.remove(this);
+  }
+
+  /**
+   * Get the number of events that have been dropped due to the buffer being full.
+   *
+   * @return The number of dropped events.
+   */
+  public synchronized long getDroppedCount() {
+    return droppedCount;
+  }
+
+  static void publish(int type, int dismissEvent, Snackbar snackbar) {
+    int snackbarId = System.identityHashCode(snackbar);
+    long now = SnackbarClock.uptimeMillis();
+    for (SnackbarEventStream stream : STREAMS) {
+      stream.offer(type, dismissEvent, snackbarId, now);
+    }
+  }
+
+  private void offer(int type, int dismissEvent, int snackbarId, long timestampMillis) {
+    synchronized (this) {
+      if (count == buffer.length) {
+        overflowCount++;
+        droppedCount++;
+        if (overflowPolicy == OVERFLOW_SAMPLE && overflowCount % sampleInterval != 0) {
+          return;
+        }
+        head = (head + 1) % buffer.length;
+        count--;
+      } else {
+        overflowCount = 0;
+      }
+      buffer[(head + count) % buffer.length].set(type, dismissEvent, snackbarId, timestampMillis);
+      count++;
+    }
+    scheduleDrain();
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      executor.execute(drain);
+    }
+  }
+
+  private void drainEvents() {
+    while (true) {
+      synchronized (this) {
+        if (count == 0) {
+          drainScheduled.set(false);
+          return;
+        }
+        takeBatch();
+      }
+      try {
+        listener.onSnackbarEvents(batchList);
+      } finally {
+        batchList.clear();
+      }
+    }
+  }
+
+  private void takeBatch() {
+    int size = count;
+    for (int i = 0; i < size; i++) {
+      int index = (head + i) % buffer.length;
+      SnackbarEvent event = buffer[index];
+      buffer[index] = batch[i];
+      batch[i] = event;
+      batchList.add(event);
+    }
+    head = (head + size) % buffer.length;
+    count = 0;
+  }
+
+  private static SnackbarEvent[] createEvents(int size) {
+    SnackbarEvent[] events = new SnackbarEvent[size];
+    for (int i = 0; i < size; i++) {
+      events[i] = new SnackbarEvent();
+    }
+    return events;
+  }
+
+  /**
+   * The policies for handling events when the buffer is full.
+   */
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef({OVERFLOW_DROP_OLDEST, OVERFLOW_SAMPLE})
+  public @interface OverflowPolicy {
+  }
+
+  private static final class PublishingCallback extends Callback {
+
+    @Override
+    public void onShown(Snackbar snackbar) {
+      publish(SnackbarEvent.TYPE_SHOWN, 0, snackbar);
+    }
+
+    @Override
+    public void onDismissed(Snackbar snackbar, int event) {
+      publish(SnackbarEvent.TYPE_DISMISSED, event, snackbar);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.leak;
+
+/**
+ * Receives reports from the SnackbarLeakWatchdog when an instance it was watching is still reachable after it should
+ * have been garbage collected.
+ */
+public interface LeakReporter {
+
+  /**
+   * Indicates that a watched instance has been retained after its Snackbar was dismissed or its Activity destroyed.
+   *
+   * @param leak Details of the leaked instance, including where it was created.
+   */
+  void onLeakDetected(LeakedInstance leak);
+
+}
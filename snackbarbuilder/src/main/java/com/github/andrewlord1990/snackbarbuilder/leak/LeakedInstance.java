@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.leak;
+
+/**
+ * Details of an instance that the SnackbarLeakWatchdog found to still be reachable after it was retired.
+ */
+public final class LeakedInstance {
+
+  private final String className;
+  private final String reason;
+  private final Throwable creationSite;
+  private final long retainedMillis;
+
+  LeakedInstance(String className, String reason, Throwable creationSite, long retainedMillis) {
+    this.className = className;
+    this.reason = reason;
+    this.creationSite = creationSite;
+    this.retainedMillis = retainedMillis;
+  }
+
+  /**
+   * Get the name of the class of the leaked instance.
+   *
+   * @return The class name.
+   */
+  public String getClassName() {
+    return className;
+  }
+
+  /**
+   * Get why the instance was expected to be garbage collected, for example the Snackbar being dismissed.
+   *
+   * @return The reason the instance was retired.
+   */
+  public String getReason() {
+    return reason;
+  }
+
+  /**
+   * Get the stack trace captured when the instance was created.
+   *
+   * @return The creation site of the leaked instance.
+   */
+  public Throwable getCreationSite() {
+    return creationSite;
+  }
+
+  /**
+   * Get how long the instance has been retained for since it was retired.
+   *
+   * @return The time retained in milliseconds.
+   */
+  public long getRetainedMillis() {
+    return retainedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return className + " retained for " + retainedMillis + "ms after " + reason;
+  }
+}
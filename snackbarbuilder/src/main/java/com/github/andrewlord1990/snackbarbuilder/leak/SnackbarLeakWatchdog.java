@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.leak;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.app.Application.ActivityLifecycleCallbacks;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.os.SystemClock;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An opt-in watchdog that detects leaked SnackbarBuilders, ToastBuilders and SnackbarWrappers. Once installed, these
+ * are tracked through weak references from when they are created. A SnackbarWrapper is retired when its Snackbar is
+ * dismissed and every tracked instance is retired when the Activity it was created with is destroyed. If a retired
+ * instance is still reachable after a garbage collection, it is reported along with the stack trace of where it was
+ * created. It is intended for debug builds only, as it forces garbage collections on a background thread. It relies on
+ * Activity lifecycle callbacks, so installing it does nothing before API 14.
+ */
+@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+public final class SnackbarLeakWatchdog {
+
+  static final long DEFAULT_RETAINED_DELAY_MILLIS = 5000;
+
+  private static final Object LOCK = new Object();
+  private static SnackbarLeakWatchdog instance;
+
+  private final Application application;
+  private final LeakReporter reporter;
+  private final long retainedDelayMillis;
+  private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+  private final List<TrackedReference> tracked = new ArrayList<>();
+  private final HandlerThread thread;
+  private final Handler handler;
+  private final ActivityLifecycleCallbacks lifecycleCallbacks = new DestroyedActivityCallbacks();
+  private final Runnable checkRetained = new Runnable() {
+    @Override
+    public void run() {
+      checkRetainedInstances();
+    }
+  };
+
+  private SnackbarLeakWatchdog(Application application, LeakReporter reporter, long retainedDelayMillis) {
+    this.application = application;
+    this.reporter = reporter;
+    this.retainedDelayMillis = retainedDelayMillis;
+    thread = new HandlerThread("SnackbarLeakWatchdog", Process.THREAD_PRIORITY_BACKGROUND);
+    thread.start();
+    handler = new Handler(thread.getLooper());
+  }
+
+  /**
+   * Install the watchdog, reporting leaks to the log.
+   *
+   * @param application The application, used to be informed of activities being destroyed.
+   */
+  public static void install(Application application) {
+    install(application, new LogLeakReporter());
+  }
+
+  /**
+   * Install the watchdog, reporting leaks to the provided reporter.
+   *
+   * @param application The application, used to be informed of activities being destroyed.
+   * @param reporter    Informed of each leaked instance, on a background thread.
+   */
+  public static void install(Application application, LeakReporter reporter) {
+    install(application, reporter, DEFAULT_RETAINED_DELAY_MILLIS);
+  }
+
+  /**
+   * Install the watchdog, reporting leaks to the provided reporter.
+   *
+   * @param application         The application, used to be informed of activities being destroyed.
+   * @param reporter            Informed of each leaked instance, on a background thread.
+   * @param retainedDelayMillis How long to wait after an instance is retired before checking it has been collected.
+   */
+  public static void install(Application application, LeakReporter reporter, long retainedDelayMillis) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+      return;
+    }
+    synchronized (LOCK) {
+      if (instance != null) {
+        return;
+      }
+      instance = new SnackbarLeakWatchdog(application, reporter, retainedDelayMillis);
+      application.registerActivityLifecycleCallbacks(instance.lifecycleCallbacks);
+    }
+  }
+
+  /**
+   * Uninstall the watchdog, which stops tracking all instances.
+   */
+  public static void uninstall() {
+    synchronized (LOCK) {
+      if (instance == null) {
+        return;
+      }
+      instance.application.unregisterActivityLifecycleCallbacks(instance.lifecycleCallbacks);
+      instance.thread.quit();
+      instance = null;
+    }
+  }
+
+  /**
+   * Get whether the watchdog has been installed.
+   *
+   * @return Whether instances are being tracked.
+   */
+  public static boolean isInstalled() {
+    synchronized (LOCK) {
+      return instance != null;
+    }
+  }
+
+  /**
+   * Start tracking an instance, capturing the current stack trace as its creation site. It will be retired when the
+   * Activity behind the provided Context is destroyed. Does nothing if the watchdog is not installed.
+   *
+   * @param object  The instance to track.
+   * @param context The Context the instance was created with.
+   */
+  public static void watch(Object object, Context context) {
+    synchronized (LOCK) {
+      if (instance != null) {
+        instance.tracked.add(new TrackedReference(object, findActivity(context), instance.queue));
+      }
+    }
+  }
+
+  /**
+   * Retire a tracked instance, indicating that it is no longer needed and should soon be garbage collected. Does
+   * nothing if the watchdog is not installed or the instance is not being tracked.
+   *
+   * @param object The instance that is no longer needed.
+   * @param reason Why it is no longer needed, which is included in the report if it leaks.
+   */
+  public static void retire(Object object, String reason) {
+    synchronized (LOCK) {
+      if (instance == null) {
+        return;
+      }
+      long now = SystemClock.uptimeMillis();
+      for (TrackedReference reference : instance.tracked) {
+        if (reference.get() == object) {
+          reference.retire(reason, now);
+        }
+      }
+      instance.scheduleCheck();
+    }
+  }
+
+  /**
+   * Stop tracking an instance, for example one that is intentionally kept beyond the lifetime of its Activity without
+   * holding it strongly. Does nothing if the watchdog is not installed or the instance is not being tracked.
+   *
+   * @param object The instance to stop tracking.
+   */
+  public static void ignore(Object object) {
+    synchronized (LOCK) {
+      if (instance == null) {
+        return;
+      }
+      Iterator<TrackedReference> iterator = instance.tracked.iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().get() == object) {
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+  static SnackbarLeakWatchdog getInstance() {
+    synchronized (LOCK) {
+      return instance;
+    }
+  }
+
+  private static Context findActivity(Context context) {
+    Context current = context;
+    while (current instanceof ContextWrapper) {
+      if (current instanceof Activity) {
+        return current;
+      }
+      current = ((ContextWrapper) current).getBaseContext();
+    }
+    return context;
+  }
+
+  void retireAll(Activity activity) {
+    synchronized (LOCK) {
+      long now = SystemClock.uptimeMillis();
+      for (TrackedReference reference : tracked) {
+        if (reference.belongsTo(activity)) {
+          reference.retire(activity.getClass().getSimpleName() + " destroyed", now);
+        }
+      }
+      scheduleCheck();
+    }
+  }
+
+  private void scheduleCheck() {
+    handler.removeCallbacks(checkRetained);
+    handler.postDelayed(checkRetained, retainedDelayMillis);
+  }
+
+  private void checkRetainedInstances() {
+    removeCollectedReferences();
+    if (!hasRetiredReferences()) {
+      return;
+    }
+    runGarbageCollection();
+    removeCollectedReferences();
+    reportRetainedReferences(SystemClock.uptimeMillis());
+  }
+
+  private boolean hasRetiredReferences() {
+    synchronized (LOCK) {
+      for (TrackedReference reference : tracked) {
+        if (reference.isRetired()) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private void removeCollectedReferences() {
+    synchronized (LOCK) {
+      Reference<?> collected;
+      while ((collected = queue.poll()) != null) {
+        tracked.remove(collected);
+      }
+    }
+  }
+
+  int getTrackedCount() {
+    synchronized (LOCK) {
+      return tracked.size();
+    }
+  }
+
+  void reportRetainedReferences(long now) {
+    List<LeakedInstance> leaks = new ArrayList<>();
+    boolean pending = false;
+    synchronized (LOCK) {
+      Iterator<TrackedReference> iterator = tracked.iterator();
+      while (iterator.hasNext()) {
+        TrackedReference reference = iterator.next();
+        if (!reference.isRetired()) {
+          continue;
+        }
+        long retainedMillis = now - reference.retiredAtMillis;
+        if (retainedMillis >= retainedDelayMillis) {
+          leaks.add(new LeakedInstance(reference.className, reference.retiredReason, reference.creationSite,
+              retainedMillis));
+          iterator.remove();
+        } else {
+          pending = true;
+        }
+      }
+      if (pending) {
+        scheduleCheck();
+      }
+    }
+    for (LeakedInstance leak : leaks) {
+      reporter.onLeakDetected(leak);
+    }
+  }
+
+  @SuppressWarnings("PMD.DoNotCallGarbageCollectionExplicitly")
+  private void runGarbageCollection() {
+    Runtime.getRuntime().gc();
+    try {
+      Thread.sleep(100);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    System.runFinalization();
+  }
+
+  private final class DestroyedActivityCallbacks implements ActivityLifecycleCallbacks {
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+      retireAll(activity);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.leak;
+
+import android.content.Context;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+final class TrackedReference extends WeakReference<Object> {
+
+  final String className;
+  final Throwable creationSite;
+  final WeakReference<Context> contextReference;
+  String retiredReason;
+  long retiredAtMillis;
+
+  TrackedReference(Object referent, Context context, ReferenceQueue<Object> queue) {
+    super(referent, queue);
+    className = referent.getClass().getName();
+    creationSite = new Throwable(className + " created here");
+    contextReference = new WeakReference<>(context);
+  }
+
+  boolean isRetired() {
+    return retiredReason != null;
+  }
+
+  void retire(String reason, long nowMillis) {
+    if (!isRetired()) {
+      retiredReason = reason;
+      retiredAtMillis = nowMillis;
+    }
+  }
+
+  boolean belongsTo(Context context) {
+    return contextReference.get() == context;
+  }
+}
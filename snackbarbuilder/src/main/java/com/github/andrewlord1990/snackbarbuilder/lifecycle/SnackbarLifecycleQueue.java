@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.lifecycle;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.app.Application.ActivityLifecycleCallbacks;
+import android.os.Build;
+import android.os.Bundle;
+import android.view.View;
+import android.view.Window;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Defers showing Snackbars until their Activity is resumed. Requests made while the Activity is paused or in the
+ * background are held in a bounded queue for that Activity and only built once it is resumed, so no views are inflated
+ * or animated while it is not visible. When an Activity is destroyed its pending requests are discarded. When the
+ * queue for an Activity is full, the oldest request is dropped. An Activity that was already resumed when the queue
+ * was installed is treated as resumed while its window is visible, until its first lifecycle callback arrives. All
+ * methods must be called on the main thread. It relies on Activity lifecycle callbacks, which were added in API 14,
+ * so below that nothing is deferred and every Snackbar is shown straight away.
+ */
+@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+public final class SnackbarLifecycleQueue {
+
+  static final int DEFAULT_CAPACITY = 4;
+
+  private static SnackbarLifecycleQueue instance;
+
+  private int capacity;
+  private final Map<Activity, Boolean> resumed = new WeakHashMap<>();
+  private final Map<Activity, ArrayDeque<SnackbarRequest>> pending = new WeakHashMap<>();
+  private final ActivityLifecycleCallbacks lifecycleCallbacks = new QueueLifecycleCallbacks();
+
+  SnackbarLifecycleQueue(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Install the queue, holding up to DEFAULT_CAPACITY requests for each Activity.
+   *
+   * @param application The application, used to be informed of Activity lifecycle changes.
+   * @return The installed queue.
+   */
+  public static SnackbarLifecycleQueue install(Application application) {
+    return install(application, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Install the queue. If it is already installed, the new capacity is applied and queues holding more requests than
+   * it allows drop their oldest requests.
+   *
+   * @param application The application, used to be informed of Activity lifecycle changes.
+   * @param capacity    The maximum number of requests to hold for each Activity that is not resumed, at least 1.
+   * @return The installed queue.
+   * @throws IllegalArgumentException If the capacity is below 1.
+   */
+  public static SnackbarLifecycleQueue install(Application application, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be at least 1");
+    }
+    if (instance == null) {
+      instance = new SnackbarLifecycleQueue(capacity);
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+        application.registerActivityLifecycleCallbacks(instance.lifecycleCallbacks);
+      }
+    } else {
+      instance.setCapacity(capacity);
+    }
+    return instance;
+  }
+
+  /**
+   * Get the installed queue.
+   *
+   * @return The queue.
+   * @throws IllegalStateException If the queue has not been installed.
+   */
+  public static SnackbarLifecycleQueue getInstance() {
+    if (instance == null) {
+      throw new IllegalStateException("SnackbarLifecycleQueue.install(Application) has not been called");
+    }
+    return instance;
+  }
+
+  /**
+   * Show a Snackbar in the Activity. If the Activity is resumed it is shown straight away, otherwise it is shown once
+   * the Activity is resumed.
+   *
+   * @param activity The Activity to show the Snackbar in.
+   * @param request  The request that creates the builder for the Snackbar.
+   */
+  public void show(Activity activity, SnackbarRequest request) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH || isResumed(activity)) {
+      request.createBuilder(activity).buildWrapper().show();
+      return;
+    }
+    ArrayDeque<SnackbarRequest> requests = pending.get(activity);
+    if (requests == null) {
+      requests = new ArrayDeque<>(capacity);
+      pending.put(activity, requests);
+    }
+    if (requests.size() >= capacity) {
+      requests.pollFirst();
+    }
+    requests.offerLast(request);
+  }
+
+  /**
+   * Get the number of requests waiting for the Activity to be resumed.
+   *
+   * @param activity The Activity the requests are for.
+   * @return The number of pending requests.
+   */
+  public int getPendingCount(Activity activity) {
+    ArrayDeque<SnackbarRequest> requests = pending.get(activity);
+    return requests == null ? 0 : requests.size();
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  void setCapacity(int capacity) {
+    this.capacity = capacity;
+    for (ArrayDeque<SnackbarRequest> requests : pending.values()) {
+      while (requests.size() > capacity) {
+        requests.pollFirst();
+      }
+    }
+  }
+
+  boolean isResumed(Activity activity) {
+    Boolean state = resumed.get(activity);
+    if (state != null) {
+      return state;
+    }
+    return isWindowVisible(activity);
+  }
+
+  private static boolean isWindowVisible(Activity activity) {
+    if (activity.isFinishing()) {
+      return false;
+    }
+    Window window = activity.getWindow();
+    if (window == null) {
+      return false;
+    }
+    View decorView = window.peekDecorView();
+    return decorView != null && decorView.getWindowToken() != null
+        && decorView.getWindowVisibility() == View.VISIBLE;
+  }
+
+  void onResumed(Activity activity) {
+    resumed.put(activity, Boolean.TRUE);
+    ArrayDeque<SnackbarRequest> requests = pending.remove(activity);
+    if (requests == null) {
+      return;
+    }
+    SnackbarRequest request;
+    while ((request = requests.pollFirst()) != null) {
+      request.createBuilder(activity).buildWrapper().show();
+    }
+  }
+
+  void onPaused(Activity activity) {
+    resumed.put(activity, Boolean.FALSE);
+  }
+
+  void onDestroyed(Activity activity) {
+    resumed.remove(activity);
+    pending.remove(activity);
+  }
+
+  private final class QueueLifecycleCallbacks implements ActivityLifecycleCallbacks {
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+      onResumed(activity);
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+      onPaused(activity);
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+      onDestroyed(activity);
+    }
+  }
+}
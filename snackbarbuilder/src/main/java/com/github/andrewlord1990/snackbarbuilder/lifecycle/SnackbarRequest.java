@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.lifecycle;
+
+import android.app.Activity;
+
+import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;
+
+/**
+ * A lightweight request for a Snackbar, which is only turned into a SnackbarBuilder once the Activity is resumed. It
+ * should not hold a reference to the Activity, as it is provided when the Snackbar is built.
+ */
+public interface SnackbarRequest {
+
+  /**
+   * Create the builder for the Snackbar to show. This is called on the main thread when the Activity is resumed.
+   *
+   * @param activity The resumed Activity to show the Snackbar in.
+   * @return The configured builder.
+   */
+  SnackbarBuilder createBuilder(Activity activity);
+
+}
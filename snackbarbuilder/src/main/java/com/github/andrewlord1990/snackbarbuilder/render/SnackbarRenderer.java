@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.render;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.design.widget.Snackbar;
+import android.view.View;
+import android.view.View.OnClickListener;
+
+/**
+ * Everything SnackbarWrapper does to the Snackbar it wraps. The usual implementation applies each call to a Snackbar
+ * and its views. Another implementation can just record the state, so that code built on SnackbarWrapper can be
+ * tested and benchmarked on the JVM without Android.
+ *
+ * <p>Only what goes through SnackbarWrapper is covered. The countdown, progress bar, hardware layer and replacing the
+ * content of a showing Snackbar are added by SnackbarBuilder and work on the Snackbar's views directly, so they need a
+ * real Snackbar and cannot be observed through a renderer.
+ */
+public interface SnackbarRenderer {
+
+  /**
+   * Get the Snackbar being rendered to.
+   *
+   * @return The Snackbar, or null if the renderer is not backed by one.
+   */
+  Snackbar getSnackbar();
+
+  /**
+   * Get the view of the Snackbar.
+   *
+   * @return The Snackbar's view, or null if the renderer is not backed by one.
+   */
+  View getView();
+
+  /**
+   * Get the Context of the Snackbar, used to load resources.
+   *
+   * @return The Context, or null if the renderer is not backed by a Snackbar.
+   */
+  Context getContext();
+
+  /**
+   * Get the message shown in the Snackbar.
+   *
+   * @return The message.
+   */
+  CharSequence getMessage();
+
+  /**
+   * Replace the message shown in the Snackbar.
+   *
+   * @param message The new message.
+   */
+  void setMessage(CharSequence message);
+
+  /**
+   * Append text to the message.
+   *
+   * @param message The text to append.
+   */
+  void appendMessage(CharSequence message);
+
+  /**
+   * Append text in the specified colour to the message.
+   *
+   * @param message The text to append.
+   * @param color   The colour of the appended text.
+   */
+  void appendMessage(CharSequence message, @ColorInt int color);
+
+  /**
+   * Get the text colours of the message.
+   *
+   * @return The message text colours.
+   */
+  ColorStateList getMessageTextColors();
+
+  /**
+   * Get the current text colour of the message.
+   *
+   * @return The message text colour.
+   */
+  @ColorInt
+  int getMessageTextColor();
+
+  /**
+   * Set the text colour of the message.
+   *
+   * @param color The message text colour.
+   */
+  void setMessageTextColor(@ColorInt int color);
+
+  /**
+   * Set the text colours of the message.
+   *
+   * @param colors The message text colours.
+   */
+  void setMessageTextColor(ColorStateList colors);
+
+  /**
+   * Get the visibility of the message.
+   *
+   * @return The message visibility.
+   */
+  int getMessageVisibility();
+
+  /**
+   * Set the visibility of the message.
+   *
+   * @param visibility The message visibility.
+   */
+  void setMessageVisibility(int visibility);
+
+  /**
+   * Get the text of the action.
+   *
+   * @return The action text.
+   */
+  CharSequence getActionText();
+
+  /**
+   * Set the text of the action, without changing its listener.
+   *
+   * @param actionText The action text.
+   */
+  void setActionText(CharSequence actionText);
+
+  /**
+   * Set the action and a listener that is called before the Snackbar is dismissed with DISMISS_EVENT_ACTION.
+   *
+   * @param actionText          Text to display as the action.
+   * @param actionClickListener Called when the action is clicked.
+   */
+  void setAction(CharSequence actionText, OnClickListener actionClickListener);
+
+  /**
+   * Set a listener for the action that replaces the one set through setAction(), so the Snackbar is not dismissed
+   * when the action is clicked.
+   *
+   * @param actionClickListener Called when the action is clicked.
+   */
+  void setActionClickListener(OnClickListener actionClickListener);
+
+  /**
+   * Get the text colours of the action.
+   *
+   * @return The action text colours.
+   */
+  ColorStateList getActionTextColors();
+
+  /**
+   * Get the current text colour of the action.
+   *
+   * @return The action text colour.
+   */
+  @ColorInt
+  int getActionTextColor();
+
+  /**
+   * Set the text colour of the action.
+   *
+   * @param color The action text colour.
+   */
+  void setActionTextColor(@ColorInt int color);
+
+  /**
+   * Set the text colours of the action.
+   *
+   * @param colors The action text colours.
+   */
+  void setActionTextColor(ColorStateList colors);
+
+  /**
+   * Get the visibility of the action.
+   *
+   * @return The action visibility.
+   */
+  int getActionVisibility();
+
+  /**
+   * Set the visibility of the action.
+   *
+   * @param visibility The action visibility.
+   */
+  void setActionVisibility(int visibility);
+
+  /**
+   * Set whether the action text is shown in all caps.
+   *
+   * @param allCaps Whether to show the action in all caps.
+   */
+  void setActionAllCaps(boolean allCaps);
+
+  /**
+   * Set whether the action can be clicked.
+   *
+   * @param enabled Whether the action is enabled.
+   */
+  void setActionEnabled(boolean enabled);
+
+  /**
+   * Set the background colour of the Snackbar.
+   *
+   * @param color The background colour.
+   */
+  void setBackgroundColor(@ColorInt int color);
+
+  /**
+   * Tint the existing background of the Snackbar, keeping its shape.
+   *
+   * @param color The colour to tint the background.
+   */
+  void setBackgroundTint(@ColorInt int color);
+
+  /**
+   * Get the icon shown before the message.
+   *
+   * @return The icon, or null if there is none.
+   */
+  Drawable getIcon();
+
+  /**
+   * Set the icon shown before the message.
+   *
+   * @param icon The icon, or null to remove it.
+   */
+  void setIcon(Drawable icon);
+
+  /**
+   * Get the margin between the icon and the message.
+   *
+   * @return The icon margin in pixels.
+   */
+  int getIconMargin();
+
+  /**
+   * Set the margin between the icon and the message.
+   *
+   * @param iconMarginPixels The icon margin in pixels.
+   */
+  void setIconMargin(int iconMarginPixels);
+
+  /**
+   * Get how long the Snackbar is shown for.
+   *
+   * @return The duration.
+   */
+  int getDuration();
+
+  /**
+   * Set how long the Snackbar is shown for.
+   *
+   * @param duration The duration.
+   */
+  void setDuration(int duration);
+
+  /**
+   * Add a callback for the Snackbar being shown and dismissed.
+   *
+   * @param callback The callback.
+   */
+  void addCallback(Snackbar.Callback callback);
+
+  /**
+   * Remove a callback that was added, so that it is no longer called.
+   *
+   * @param callback The callback.
+   */
+  void removeCallback(Snackbar.Callback callback);
+
+  /**
+   * Show the Snackbar.
+   */
+  void show();
+
+  /**
+   * Dismiss the Snackbar with DISMISS_EVENT_MANUAL.
+   */
+  void dismiss();
+
+  /**
+   * Dismiss the Snackbar with DISMISS_EVENT_ACTION, as clicking an action set through setAction() would, without
+   * calling the listener set for the action.
+   */
+  void dismissFromAction();
+
+  /**
+   * Get whether the Snackbar is showing.
+   *
+   * @return Whether the Snackbar is showing.
+   */
+  boolean isShown();
+
+  /**
+   * Get whether the Snackbar is showing or queued to be shown.
+   *
+   * @return Whether the Snackbar is showing or queued.
+   */
+  boolean isShownOrQueued();
+}
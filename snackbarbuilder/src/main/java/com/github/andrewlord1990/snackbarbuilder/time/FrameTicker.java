@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.time;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.Choreographer.FrameCallback;
+
+/**
+ * Runs a task on the main thread at the start of the next frame. However many times it is scheduled before that frame,
+ * the task only runs once, so it can be used to coalesce updates that arrive faster than the display refreshes.
+ * Scheduling and cancelling are safe from any thread, as the scheduled state and the frame callback are always changed
+ * together under one lock, and the task can schedule itself again to run every frame.
+ *
+ * <p>On Jelly Bean and above frames come from the Choreographer. On older devices, or when a scheduler other than the
+ * default has been installed in SnackbarClock, a frame is approximated by posting to the scheduler every 16ms.
+ */
+public abstract class FrameTicker {
+
+  static final long FRAME_MILLIS = 16;
+
+  private final Runnable task;
+  private final Object lock = new Object();
+  private boolean scheduled;
+
+  FrameTicker(Runnable task) {
+    this.task = task;
+  }
+
+  /**
+   * Create a ticker for a task. Must be called on the main thread.
+   *
+   * @param task The task to run on each frame it is scheduled for.
+   * @return The ticker.
+   */
+  public static FrameTicker create(Runnable task) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN && SnackbarClock.isDefaultScheduler()) {
+      return new ChoreographerTicker(task);
+    }
+    return new SchedulerTicker(task, SnackbarClock.getScheduler());
+  }
+
+  /**
+   * Run the task at the start of the next frame, unless it is already scheduled.
+   */
+  public final void schedule() {
+    synchronized (lock) {
+      if (!scheduled) {
+        scheduled = true;
+        post();
+      }
+    }
+  }
+
+  /**
+   * Stop the task from running on the next frame, if it is scheduled.
+   */
+  public final void cancel() {
+    synchronized (lock) {
+      if (scheduled) {
+        scheduled = false;
+        remove();
+      }
+    }
+  }
+
+  /**
+   * Get whether the task is waiting for the next frame.
+   *
+   * @return Whether the task is scheduled.
+   */
+  public final boolean isScheduled() {
+    synchronized (lock) {
+      return scheduled;
+    }
+  }
+
+  final void onFrame() {
+    synchronized (lock) {
+      if (!scheduled) {
+        return;
+      }
+      scheduled = false;
+    }
+    task.run();
+  }
+
+  abstract void post();
+
+  abstract void remove();
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private static final class ChoreographerTicker extends FrameTicker implements FrameCallback {
+
+    private final Choreographer choreographer;
+
+    ChoreographerTicker(Runnable task) {
+      super(task);
+      choreographer = Choreographer.getInstance();
+    }
+
+    @Override
+    void post() {
+      choreographer.postFrameCallback(this);
+    }
+
+    @Override
+    void remove() {
+      choreographer.removeFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      onFrame();
+    }
+  }
+
+  private static final class SchedulerTicker extends FrameTicker implements Runnable {
+
+    private final SnackbarScheduler scheduler;
+
+    SchedulerTicker(Runnable task, SnackbarScheduler scheduler) {
+      super(task);
+      this.scheduler = scheduler;
+    }
+
+    @Override
+    void post() {
+      scheduler.postDelayed(this, FRAME_MILLIS);
+    }
+
+    @Override
+    void remove() {
+      scheduler.removeCallbacks(this);
+    }
+
+    @Override
+    public void run() {
+      onFrame();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.time;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+final class MainThreadScheduler implements SnackbarScheduler {
+
+  private Handler handler;
+
+  @Override
+  public long uptimeMillis() {
+    return SystemClock.uptimeMillis();
+  }
+
+  @Override
+  public void post(Runnable task) {
+    getHandler().post(task);
+  }
+
+  @Override
+  public void postDelayed(Runnable task, long delayMillis) {
+    getHandler().postDelayed(task, delayMillis);
+  }
+
+  @Override
+  public void removeCallbacks(Runnable task) {
+    getHandler().removeCallbacks(task);
+  }
+
+  private synchronized Handler getHandler() {
+    if (handler == null) {
+      handler = new Handler(Looper.getMainLooper());
+    }
+    return handler;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.time;
+
+/**
+ * Holds the scheduler used by every time-based feature in the library. By default it uses SystemClock and a Handler on
+ * the main Looper. Tests can install a VirtualScheduler to run timeouts and batching instantly, and should restore the
+ * default afterwards by setting the scheduler to null.
+ */
+public final class SnackbarClock {
+
+  private static final SnackbarScheduler DEFAULT_SCHEDULER = new MainThreadScheduler();
+
+  private static volatile SnackbarScheduler scheduler = DEFAULT_SCHEDULER;
+
+  private SnackbarClock() {
+  }
+
+  /**
+   * Get the scheduler used by the library.
+   *
+   * @return The scheduler.
+   */
+  public static SnackbarScheduler getScheduler() {
+    return scheduler;
+  }
+
+  /**
+   * Set the scheduler used by the library. Features that were already created keep the scheduler they started with.
+   *
+   * @param scheduler The scheduler to use, or null to use the main thread and system clock again.
+   */
+  public static void setScheduler(SnackbarScheduler scheduler) {
+    SnackbarClock.scheduler = scheduler != null ? scheduler : DEFAULT_SCHEDULER;
+  }
+
+  /**
+   * Get the current time from the scheduler.
+   *
+   * @return The current time in milliseconds.
+   */
+  public static long uptimeMillis() {
+    return scheduler.uptimeMillis();
+  }
+
+  static boolean isDefaultScheduler() {
+    return scheduler == DEFAULT_SCHEDULER;
+  }
+}
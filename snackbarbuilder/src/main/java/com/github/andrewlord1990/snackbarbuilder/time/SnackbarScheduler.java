@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.time;
+
+/**
+ * The source of time for the library, and the way it runs work later on the main thread. Durations, timeouts, batching
+ * and timestamps all go through the scheduler returned by SnackbarClock.getScheduler(), so replacing it with a
+ * VirtualScheduler lets tests control time rather than waiting for it.
+ */
+public interface SnackbarScheduler {
+
+  /**
+   * Get the current time, in the same timebase as SystemClock.uptimeMillis().
+   *
+   * @return The current time in milliseconds.
+   */
+  long uptimeMillis();
+
+  /**
+   * Run a task on the main thread as soon as possible.
+   *
+   * @param task The task to run.
+   */
+  void post(Runnable task);
+
+  /**
+   * Run a task on the main thread after a delay.
+   *
+   * @param task        The task to run.
+   * @param delayMillis How long to wait before running the task.
+   */
+  void postDelayed(Runnable task, long delayMillis);
+
+  /**
+   * Cancel every pending run of a task.
+   *
+   * @param task The task to cancel.
+   */
+  void removeCallbacks(Runnable task);
+}
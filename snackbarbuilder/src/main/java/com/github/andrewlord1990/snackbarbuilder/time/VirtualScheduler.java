@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.time;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A SnackbarScheduler whose time only moves when it is advanced. Advancing runs each task that becomes due in order,
+ * on the calling thread, with the time set to when the task was due, so hours of durations and timeouts can be
+ * simulated in moments. Tasks posted while advancing run too if they become due before the target time.
+ */
+public final class VirtualScheduler implements SnackbarScheduler {
+
+  private final List<ScheduledTask> tasks = new ArrayList<>();
+  private long nowMillis;
+  private long sequence;
+
+  @Override
+  public synchronized long uptimeMillis() {
+    return nowMillis;
+  }
+
+  @Override
+  public void post(Runnable task) {
+    postDelayed(task, 0);
+  }
+
+  @Override
+  public synchronized void postDelayed(Runnable task, long delayMillis) {
+    ScheduledTask scheduled = new ScheduledTask(task, nowMillis + Math.max(0, delayMillis), sequence++);
+    int index = tasks.size();
+    while (index > 0 && tasks.get(index - 1).isAfter(scheduled)) {
+      index--;
+    }
+    tasks.add(index, scheduled);
+  }
+
+  @Override
+  public synchronized void removeCallbacks(Runnable task) {
+    Iterator<ScheduledTask> iterator = tasks.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().task == task) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Move time forward, running every task that becomes due on the way.
+   *
+   * @param millis How far to move time forward.
+   */
+  public void advanceBy(long millis) {
+    long targetMillis;
+    synchronized (this) {
+      targetMillis = nowMillis + millis;
+    }
+    ScheduledTask next;
+    while ((next = pollDueBy(targetMillis)) != null) {
+      next.task.run();
+    }
+    synchronized (this) {
+      nowMillis = Math.max(nowMillis, targetMillis);
+    }
+  }
+
+  /**
+   * Run the tasks that are due now, without moving time forward.
+   */
+  public void runPending() {
+    advanceBy(0);
+  }
+
+  /**
+   * Move time forward to when the next task is due and run it, along with any others due at the same time.
+   *
+   * @return Whether there was a task to run.
+   */
+  public boolean runNext() {
+    long delayMillis;
+    synchronized (this) {
+      if (tasks.isEmpty()) {
+        return false;
+      }
+      delayMillis = tasks.get(0).dueMillis - nowMillis;
+    }
+    advanceBy(delayMillis);
+    return true;
+  }
+
+  /**
+   * Get how many tasks are waiting to run.
+   *
+   * @return The number of pending tasks.
+   */
+  public synchronized int getPendingCount() {
+    return tasks.size();
+  }
+
+  private synchronized ScheduledTask pollDueBy(long targetMillis) {
+    if (tasks.isEmpty() || tasks.get(0).dueMillis > targetMillis) {
+      return null;
+    }
+    ScheduledTask next = tasks.remove(0);
+    nowMillis = Math.max(nowMillis, next.dueMillis);
+    return next;
+  }
+
+  private static final class ScheduledTask {
+
+    final Runnable task;
+    final long dueMillis;
+    final long sequence;
+
+    ScheduledTask(Runnable task, long dueMillis, long sequence) {
+      this.task = task;
+      this.dueMillis = dueMillis;
+      this.sequence = sequence;
+    }
+
+    boolean isAfter(ScheduledTask other) {
+      return dueMillis > other.dueMillis || (dueMillis == other.dueMillis && sequence > other.sequence);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.andrewlord1990.snackbarbuilder.toastbuilder;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.support.annotation.LayoutRes;
+import android.widget.Toast;
+
+/**
+ * A Toast showing a view from the ToastViewPool, which lets the view know when it has been asked to show or has been
+ * cancelled, so that the pool can tell when the view is no longer needed.
+ */
+final class PooledToast extends Toast {
+
+  private final PooledToastView view;
+
+  @SuppressLint("ShowToast")
+  PooledToast(Context context, @LayoutRes int layoutResId, int duration) {
+    super(context);
+    view = ToastViewPool.acquire(context, layoutResId, this);
+    setView(view);
+    setDuration(duration);
+  }
+
+  PooledToastView getPooledView() {
+    return view;
+  }
+
+  @Override
+  public void show() {
+    view.onShowRequested();
+    super.show();
+  }
+
+  @Override
+  public void cancel() {
+    super.cancel();
+    view.onCancelled();
+  }
+}
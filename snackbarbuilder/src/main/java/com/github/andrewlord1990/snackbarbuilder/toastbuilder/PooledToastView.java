@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.andrewlord1990.snackbarbuilder.toastbuilder;
+
+import android.content.Context;
+import android.support.annotation.IdRes;
+import android.support.annotation.LayoutRes;
+import android.view.LayoutInflater;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Container for a custom Toast view inflated from a layout resource, so that it can be reused by later Toasts. It is
+ * in use from when it is given to a Toast until that Toast has finished with it: once the Toast's window has been
+ * removed after showing, or once the Toast has been cancelled or discarded without ever being shown. While a ToastSlot
+ * keeps the Toast to update it, the view is reserved for that slot and not handed out. The message TextView is found
+ * once and kept.
+ */
+final class PooledToastView extends FrameLayout {
+
+  @LayoutRes
+  final int layoutResId;
+  private WeakReference<Toast> owner;
+  private WeakReference<ToastSlot> reservedBy;
+  private boolean showRequested;
+  private boolean attached;
+  private boolean attachedSinceAcquire;
+  private TextView messageView;
+  @IdRes
+  private int messageViewId;
+
+  private PooledToastView(Context context, @LayoutRes int layoutResId) {
+    super(context);
+    this.layoutResId = layoutResId;
+  }
+
+  static PooledToastView inflate(Context context, @LayoutRes int layoutResId) {
+    PooledToastView view = new PooledToastView(context, layoutResId);
+    LayoutInflater.from(context).inflate(layoutResId, view, true);
+    return view;
+  }
+
+  void acquire(Toast toast) {
+    owner = new WeakReference<>(toast);
+    showRequested = false;
+    attachedSinceAcquire = false;
+  }
+
+  void onShowRequested() {
+    showRequested = true;
+  }
+
+  void onCancelled() {
+    showRequested = false;
+    if (!attached && !attachedSinceAcquire) {
+      owner = null;
+    }
+  }
+
+  void reserve(ToastSlot slot) {
+    reservedBy = new WeakReference<>(slot);
+  }
+
+  void release(ToastSlot slot) {
+    if (reservedBy != null && reservedBy.get() == slot) {
+      reservedBy = null;
+    }
+  }
+
+  boolean isAttached() {
+    return attached;
+  }
+
+  boolean hasFinished() {
+    return attachedSinceAcquire && !attached;
+  }
+
+  boolean isInUse() {
+    if (attached || (reservedBy != null && reservedBy.get() != null)) {
+      return true;
+    }
+    if (owner == null || attachedSinceAcquire) {
+      return false;
+    }
+    return showRequested || owner.get() != null;
+  }
+
+  TextView getMessageView(@IdRes int id) {
+    if (messageView == null || messageViewId != id) {
+      messageView = (TextView) findViewById(id);
+      messageViewId = id;
+    }
+    return messageView;
+  }
+
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    attached = true;
+    attachedSinceAcquire = true;
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    attached = false;
+  }
+}
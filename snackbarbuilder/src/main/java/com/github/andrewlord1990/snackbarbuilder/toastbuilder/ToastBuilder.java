@@ -21,6 +21,7 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
+import android.support.annotation.LayoutRes;
 import android.support.annotation.Nullable;
 import android.support.annotation.StringRes;
 import android.support.v4.content.ContextCompat;
@@ -29,6 +30,11 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.github.andrewlord1990.snackbarbuilder.R;
+import com.github.andrewlord1990.snackbarbuilder.leak.SnackbarLeakWatchdog;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A builder pattern to easily create Toasts. On top of the options provided through the platform API, you can also
@@ -37,14 +43,20 @@ import com.github.andrewlord1990.snackbarbuilder.R;
 public class ToastBuilder {
 
   Context context;
+  WeakReference<Context> weakContext;
   CharSequence message;
   View customView;
+  WeakReference<View> weakCustomView;
   int customViewMessageViewId = android.R.id.message;
+  @LayoutRes
+  int customViewLayoutResId;
   int messageTextColor;
   int duration = Toast.LENGTH_LONG;
   int gravity;
   int gravityOffsetX;
   int gravityOffsetY;
+  String replaceKey;
+  Map<String, ToastSlot> toastSlots;
 
   /**
    * Create a builder to setup and then create a Toast.
@@ -54,6 +66,7 @@ public class ToastBuilder {
   public ToastBuilder(Context context) {
     this.context = context;
     loadThemeAttributes();
+    SnackbarLeakWatchdog.watch(this, context);
   }
 
   /**
@@ -63,7 +76,25 @@ public class ToastBuilder {
    * @return This instance.
    */
   public ToastBuilder customView(View customView) {
-    this.customView = customView;
+    if (weakCustomView != null) {
+      weakCustomView = new WeakReference<>(customView);
+    } else {
+      this.customView = customView;
+    }
+    return this;
+  }
+
+  /**
+   * Set a layout resource to inflate as a custom view to apply to the Toast message. Views inflated from the layout are
+   * kept in a small pool shared by every builder using the same Activity or the application Context, and reused once
+   * their Toast has finished showing or has been discarded without being shown, so showing Toasts frequently does not
+   * inflate the layout each time. A custom view set through customView(View) is used in preference to the layout.
+   *
+   * @param customViewLayoutResId The layout resource of the custom view.
+   * @return This instance.
+   */
+  public ToastBuilder customViewLayout(@LayoutRes int customViewLayoutResId) {
+    this.customViewLayoutResId = customViewLayoutResId;
     return this;
   }
 
@@ -96,7 +127,7 @@ public class ToastBuilder {
    * @return This instance.
    */
   public ToastBuilder message(@StringRes int messageResId) {
-    this.message = context.getString(messageResId);
+    this.message = requireContext().getString(messageResId);
     return this;
   }
 
@@ -167,26 +198,146 @@ public class ToastBuilder {
   }
 
   /**
-   * Build a Toast using the options specified in the builder.
+   * Replace the Toast previously built for the same key while it is still showing, rather than building a new one. The
+   * builder keeps one Toast for each key and, while it is showing, build() updates its message, colour, duration and
+   * gravity and returns it again. Calling show() on it then keeps it showing for the new duration without opening a new
+   * window, although the platform only applies a gravity change when a window is opened. Once it has finished showing,
+   * the next build() creates a new Toast for the key. This suits a series of status messages, such as "Saving"
+   * followed by "Saved".
+   *
+   * @param replaceKey The key of the Toast to replace, or null to always build a new Toast.
+   * @return This instance.
+   */
+  public ToastBuilder replaceKey(String replaceKey) {
+    this.replaceKey = replaceKey;
+    return this;
+  }
+
+  /**
+   * Hold the Context and custom view through weak references, so that a preconfigured builder can be kept by an object
+   * that outlives the Activity, such as a presenter. Resources passed to the builder are resolved as soon as they are
+   * set, so only building requires the Context to still be available. After the Activity is recreated, use
+   * rebind(Context) to attach the builder to the new one. A builder holding weak references is not tracked by the
+   * SnackbarLeakWatchdog, until weak references are turned off again. The Toast kept for a replace key is then held
+   * weakly too, so it is only replaced while the app still holds a reference to it.
+   *
+   * @param weakReferences Whether to hold the Context and custom view weakly.
+   * @return This instance.
+   */
+  public ToastBuilder weakReferences(boolean weakReferences) {
+    Context currentContext = getContext();
+    View currentCustomView = getCustomView();
+    if (weakReferences) {
+      weakContext = new WeakReference<>(currentContext);
+      weakCustomView = new WeakReference<>(currentCustomView);
+      context = null;
+      customView = null;
+      clearToastSlots();
+      SnackbarLeakWatchdog.ignore(this);
+    } else if (weakContext != null) {
+      context = currentContext;
+      customView = currentCustomView;
+      weakContext = null;
+      weakCustomView = null;
+      if (currentContext != null) {
+        SnackbarLeakWatchdog.watch(this, currentContext);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Attach the builder to a new Context, for example after a configuration change. Everything already set on the
+   * builder, including the values loaded from the theme, is kept as it is and not loaded again. A custom view
+   * belonging to the previous Activity should be replaced through customView(View).
+   *
+   * @param context The context to use for creating the Toast.
+   * @return This instance.
+   */
+  public ToastBuilder rebind(Context context) {
+    clearToastSlots();
+    if (weakContext != null) {
+      weakContext = new WeakReference<>(context);
+    } else {
+      this.context = context;
+    }
+    return this;
+  }
+
+  /**
+   * Build a Toast using the options specified in the builder. If a replace key has been set and the Toast for that key
+   * is still showing, it is updated and returned instead.
    *
    * @return The constructed Toast.
    */
-  @SuppressLint("ShowToast")
   public Toast build() {
-    Toast toast = Toast.makeText(context, message, duration);
+    if (replaceKey == null) {
+      return createToast(null);
+    }
+    ToastSlot slot = toastSlots != null ? toastSlots.get(replaceKey) : null;
+    Toast toast = slot != null ? slot.getToast() : null;
+    if (toast != null && slot.isActive()) {
+      updateToast(slot, toast);
+      return toast;
+    }
+    return createToast(replaceKey);
+  }
 
-    TextView toastMessage = setupToastView(toast);
+  @SuppressLint("ShowToast")
+  private Toast createToast(String slotKey) {
+    Context context = requireContext();
+    View customView = getCustomView();
+    Toast toast;
+    if (customView == null && customViewLayoutResId != 0) {
+      toast = new PooledToast(context, customViewLayoutResId, duration);
+    } else {
+      toast = Toast.makeText(context, message, duration);
+    }
+
+    TextView toastMessage = setupToastView(toast, customView);
     setToastMessageTextColor(toastMessage);
     setToastGravity(toast);
 
+    if (slotKey != null) {
+      if (toastSlots == null) {
+        toastSlots = new HashMap<>();
+      }
+      ToastSlot previous = toastSlots.put(slotKey, new ToastSlot(toast, toastMessage, weakContext != null));
+      if (previous != null) {
+        previous.release();
+      }
+    }
     return toast;
   }
 
-  private TextView setupToastView(Toast toast) {
+  private void updateToast(ToastSlot slot, Toast toast) {
+    TextView messageView = slot.getMessageView();
+    if (messageView != null) {
+      if (message != null) {
+        messageView.setText(message);
+      }
+      setToastMessageTextColor(messageView);
+    }
+    toast.setDuration(duration);
+    setToastGravity(toast);
+    slot.markUpdated();
+  }
+
+  private void clearToastSlots() {
+    if (toastSlots != null) {
+      for (ToastSlot slot : toastSlots.values()) {
+        slot.release();
+      }
+      toastSlots.clear();
+    }
+  }
+
+  private TextView setupToastView(Toast toast, @Nullable View customView) {
     if (customView != null) {
       toast.setView(customView);
-
-      TextView messageView = setCustomViewMessage();
+    }
+    if (customView != null || toast instanceof PooledToast) {
+      TextView messageView = setCustomViewMessage(toast.getView());
       if (messageView != null) {
         return messageView;
       }
@@ -195,9 +346,14 @@ public class ToastBuilder {
   }
 
   @Nullable
-  private TextView setCustomViewMessage() {
+  private TextView setCustomViewMessage(View customView) {
     if (message != null) {
-      TextView messageView = (TextView) customView.findViewById(customViewMessageViewId);
+      TextView messageView;
+      if (customView instanceof PooledToastView) {
+        messageView = ((PooledToastView) customView).getMessageView(customViewMessageViewId);
+      } else {
+        messageView = (TextView) customView.findViewById(customViewMessageViewId);
+      }
       if (messageView != null) {
         messageView.setText(message);
         return messageView;
@@ -223,7 +379,29 @@ public class ToastBuilder {
   }
 
   private int getColor(@ColorRes int color) {
-    return ContextCompat.getColor(context, color);
+    return ContextCompat.getColor(requireContext(), color);
+  }
+
+  private Context getContext() {
+    if (weakContext != null) {
+      return weakContext.get();
+    }
+    return context;
+  }
+
+  private Context requireContext() {
+    Context current = getContext();
+    if (current == null) {
+      throw new IllegalStateException("Context is no longer available, call rebind(Context) first");
+    }
+    return current;
+  }
+
+  private View getCustomView() {
+    if (weakCustomView != null) {
+      return weakCustomView.get();
+    }
+    return customView;
   }
 
   private void loadThemeAttributes() {
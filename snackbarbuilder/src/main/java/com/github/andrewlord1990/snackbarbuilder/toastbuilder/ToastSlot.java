@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.toastbuilder;
+
+import android.widget.TextView;
+import android.widget.Toast;
+
+import java.lang.ref.WeakReference;
+
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+
+/**
+ * The Toast kept by a ToastBuilder for a replace key, along with its message view. The Toast is active while its
+ * window is attached, or from when it was last built until the time it would take to show, to cover the time between
+ * show() being called and the window appearing. A pooled view is reserved by the slot until it is released, so it is
+ * never handed to another Toast while the slot could still update it, and once it has been removed from its window
+ * the Toast is no longer active. A slot kept for a builder holding weak references holds the Toast and its views
+ * weakly as well, as they refer to the Activity, and is no longer active once they have been collected.
+ */
+final class ToastSlot {
+
+  static final long SHORT_DURATION_MILLIS = 2000;
+  static final long LONG_DURATION_MILLIS = 3500;
+
+  private final Toast toast;
+  private final TextView messageView;
+  private final PooledToastView pooledView;
+  private final WeakReference<Toast> weakToast;
+  private final WeakReference<TextView> weakMessageView;
+  private final WeakReference<PooledToastView> weakPooledView;
+  private long updatedAtMillis;
+
+  ToastSlot(Toast toast, TextView messageView, boolean weak) {
+    PooledToastView pooledView = toast instanceof PooledToast ? ((PooledToast) toast).getPooledView() : null;
+    if (weak) {
+      this.toast = null;
+      this.messageView = null;
+      this.pooledView = null;
+      weakToast = new WeakReference<>(toast);
+      weakMessageView = new WeakReference<>(messageView);
+      weakPooledView = new WeakReference<>(pooledView);
+    } else {
+      this.toast = toast;
+      this.messageView = messageView;
+      this.pooledView = pooledView;
+      weakToast = null;
+      weakMessageView = null;
+      weakPooledView = null;
+    }
+    if (pooledView != null) {
+      pooledView.reserve(this);
+    }
+    updatedAtMillis = SnackbarClock.uptimeMillis();
+  }
+
+  Toast getToast() {
+    return weakToast != null ? weakToast.get() : toast;
+  }
+
+  TextView getMessageView() {
+    return weakMessageView != null ? weakMessageView.get() : messageView;
+  }
+
+  boolean isActive() {
+    Toast toast = getToast();
+    if (toast == null) {
+      return false;
+    }
+    PooledToastView pooledView = getPooledView();
+    if (pooledView != null) {
+      if (pooledView.isAttached()) {
+        return true;
+      }
+      if (pooledView.hasFinished()) {
+        return false;
+      }
+    } else if (toast.getView().getParent() != null) {
+      return true;
+    }
+    return SnackbarClock.uptimeMillis() - updatedAtMillis < getDurationMillis(toast.getDuration());
+  }
+
+  void release() {
+    PooledToastView pooledView = getPooledView();
+    if (pooledView != null) {
+      pooledView.release(this);
+    }
+  }
+
+  void markUpdated() {
+    updatedAtMillis = SnackbarClock.uptimeMillis();
+  }
+
+  private PooledToastView getPooledView() {
+    return weakPooledView != null ? weakPooledView.get() : pooledView;
+  }
+
+  static long getDurationMillis(int duration) {
+    return duration == Toast.LENGTH_LONG ? LONG_DURATION_MILLIS : SHORT_DURATION_MILLIS;
+  }
+}
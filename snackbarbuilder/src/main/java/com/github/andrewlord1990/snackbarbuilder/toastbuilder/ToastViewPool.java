@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.andrewlord1990.snackbarbuilder.toastbuilder;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.support.annotation.LayoutRes;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+import com.github.andrewlord1990.snackbarbuilder.R;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A small pool of custom Toast views inflated from layout resources. There is one pool for the application Context,
+ * kept for the life of the process, and one for each Activity, kept on its decor view so that it goes when the
+ * Activity does. Other Contexts, or an Activity without a decor view yet, are not pooled. A view is handed out again
+ * once the Toast it was used for has finished with it. If every matching view is in use, a new one is inflated and
+ * kept if the pool has room for it, otherwise a free view inflated for another layout or Context makes way for it.
+ */
+final class ToastViewPool {
+
+  static final int MAX_SIZE = 3;
+
+  private static ToastViewPool applicationPool;
+
+  private final Context context;
+  private final List<PooledToastView> views = new ArrayList<>(MAX_SIZE);
+
+  private ToastViewPool(Context context) {
+    this.context = context;
+  }
+
+  static PooledToastView acquire(Context context, @LayoutRes int layoutResId, PooledToast toast) {
+    ToastViewPool pool = forContext(context);
+    if (pool == null) {
+      PooledToastView view = PooledToastView.inflate(context, layoutResId);
+      view.acquire(toast);
+      return view;
+    }
+    return pool.acquireView(context, layoutResId, toast);
+  }
+
+  @Nullable
+  static ToastViewPool forContext(Context context) {
+    if (context == context.getApplicationContext()) {
+      synchronized (ToastViewPool.class) {
+        if (applicationPool == null || applicationPool.context != context) {
+          applicationPool = new ToastViewPool(context);
+        }
+        return applicationPool;
+      }
+    }
+    Activity activity = findActivity(context);
+    View decorView = activity != null && activity.getWindow() != null ? activity.getWindow().peekDecorView() : null;
+    if (decorView == null) {
+      return null;
+    }
+    ToastViewPool pool = (ToastViewPool) decorView.getTag(R.id.toastbuilder_view_pool);
+    if (pool == null) {
+      pool = new ToastViewPool(activity);
+      decorView.setTag(R.id.toastbuilder_view_pool, pool);
+    }
+    return pool;
+  }
+
+  @Nullable
+  private static Activity findActivity(Context context) {
+    Context current = context;
+    while (current instanceof ContextWrapper) {
+      if (current instanceof Activity) {
+        return (Activity) current;
+      }
+      current = ((ContextWrapper) current).getBaseContext();
+    }
+    return null;
+  }
+
+  private synchronized PooledToastView acquireView(Context context, @LayoutRes int layoutResId, PooledToast toast) {
+    PooledToastView spare = null;
+    int viewsSize = views.size();
+    for (int i = 0; i < viewsSize; i++) {
+      PooledToastView view = views.get(i);
+      if (!view.isInUse()) {
+        if (view.layoutResId == layoutResId && view.getContext() == context) {
+          view.acquire(toast);
+          return view;
+        }
+        spare = view;
+      }
+    }
+    PooledToastView view = PooledToastView.inflate(context, layoutResId);
+    if (views.size() < MAX_SIZE) {
+      views.add(view);
+    } else if (spare != null) {
+      views.set(views.indexOf(spare), view);
+    }
+    view.acquire(toast);
+    return view;
+  }
+
+  synchronized int size() {
+    return views.size();
+  }
+}
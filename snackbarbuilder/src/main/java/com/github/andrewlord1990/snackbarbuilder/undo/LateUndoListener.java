@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.andrewlord1990.snackbarbuilder.undo;
+
+/**
+ * Informed when the action on a Snackbar from a SnackbarUndoQueue is pressed after its operation has already been
+ * committed by flush(), so that the user can be told the operation can no longer be undone.
+ *
+ * @param <T> The type of operation.
+ */
+public interface LateUndoListener<T> {
+
+  /**
+   * Called on the main thread when the action was pressed too late to undo the operation.
+   *
+   * @param operation The operation that has already been committed.
+   */
+  void onUndoTooLate(T operation);
+}
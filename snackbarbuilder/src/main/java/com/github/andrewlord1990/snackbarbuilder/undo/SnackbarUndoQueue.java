@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.undo;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.app.Application.ActivityLifecycleCallbacks;
+import android.os.Build;
+import android.os.Bundle;
+import android.support.design.widget.Snackbar;
+
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarScheduler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds operations that can be undone from a Snackbar until their Snackbar is dismissed. Each operation added gives a
+ * callback to attach to its Snackbar. Pressing the action rolls the operation back, while any other way of dismissing
+ * the Snackbar makes it due to be committed. Operations that become due within the batch window of each other are
+ * committed together in a single call on the Executor, rather than each being written separately.
+ *
+ * <p>The queue must be flushed when the Activity is stopped, as the process may be killed after that without the
+ * Snackbars being dismissed. Use flushWhenStopped(Activity) to do this automatically, or call flush() yourself. It
+ * commits every operation straight away, including those whose Snackbars are still showing. Pressing the action on one
+ * of those Snackbars afterwards is reported to the LateUndoListener, if one is set. All methods must be called on the
+ * main thread.
+ *
+ * <pre>
+ * new SnackbarBuilder(activity)
+ *     .message("Item deleted")
+ *     .actionText("Undo")
+ *     .snackbarCallback(undoQueue.add(item))
+ *     .build()
+ *     .show();
+ * </pre>
+ *
+ * @param <T> The type of operation.
+ */
+public final class SnackbarUndoQueue<T> {
+
+  static final long DEFAULT_BATCH_WINDOW_MILLIS = 500;
+
+  private final UndoableOperationHandler<T> operationHandler;
+  private final Executor executor;
+  private final SnackbarScheduler scheduler;
+  private final Set<PendingOperation<T>> pending = new LinkedHashSet<>();
+  private final List<T> due = new ArrayList<>();
+  private final Runnable commitDue = new Runnable() {
+    @Override
+    public void run() {
+      commitScheduled = false;
+      commitDueOperations();
+    }
+  };
+  private long batchWindowMillis = DEFAULT_BATCH_WINDOW_MILLIS;
+  private boolean commitScheduled;
+  private LateUndoListener<T> lateUndoListener;
+  private ActivityFlusher activityFlusher;
+
+  /**
+   * Create a queue that commits operations through the handler on the executor.
+   *
+   * @param operationHandler Rolls back and commits operations.
+   * @param executor         Runs the commits, usually a background thread.
+   */
+  public SnackbarUndoQueue(UndoableOperationHandler<T> operationHandler, Executor executor) {
+    this(operationHandler, executor, SnackbarClock.getScheduler());
+  }
+
+  SnackbarUndoQueue(UndoableOperationHandler<T> operationHandler, Executor executor, SnackbarScheduler scheduler) {
+    this.operationHandler = operationHandler;
+    this.executor = executor;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Set how long to wait after an operation becomes due before committing, so that other operations becoming due in
+   * that time are committed with it.
+   *
+   * @param batchWindowMillis The batch window in milliseconds.
+   * @return This instance.
+   */
+  public SnackbarUndoQueue<T> batchWindow(long batchWindowMillis) {
+    if (batchWindowMillis < 0) {
+      throw new IllegalArgumentException("Batch window must not be negative");
+    }
+    this.batchWindowMillis = batchWindowMillis;
+    return this;
+  }
+
+  /**
+   * Set a listener to be told when the action is pressed on a Snackbar whose operation has already been committed by
+   * flush().
+   *
+   * @param lateUndoListener The listener, or null to remove it.
+   * @return This instance.
+   */
+  public SnackbarUndoQueue<T> lateUndoListener(LateUndoListener<T> lateUndoListener) {
+    this.lateUndoListener = lateUndoListener;
+    return this;
+  }
+
+  /**
+   * Flush the queue automatically when the Activity is stopped or destroyed. Only one Activity is followed at a time,
+   * so calling this again replaces the previous one, and it is no longer followed once it has been destroyed. This
+   * relies on Activity lifecycle callbacks, so does nothing below API 14, where flush() must be called from onStop().
+   *
+   * @param activity The Activity showing the Snackbars.
+   * @return This instance.
+   */
+  public SnackbarUndoQueue<T> flushWhenStopped(Activity activity) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+      if (activityFlusher != null) {
+        activityFlusher.unregister();
+      }
+      activityFlusher = new ActivityFlusher(activity);
+      activity.getApplication().registerActivityLifecycleCallbacks(activityFlusher);
+    }
+    return this;
+  }
+
+  /**
+   * Add an operation that can be undone until its Snackbar is dismissed.
+   *
+   * @param operation The operation, which should already appear to the user to have been carried out.
+   * @return The callback to attach to the operation's Snackbar.
+   */
+  public SnackbarCallback add(T operation) {
+    PendingOperation<T> pendingOperation = new PendingOperation<>(this, operation);
+    pending.add(pendingOperation);
+    return pendingOperation;
+  }
+
+  /**
+   * Get the number of operations waiting for their Snackbar to be dismissed or to be committed.
+   *
+   * @return The number of operations not yet committed.
+   */
+  public int getPendingCount() {
+    return pending.size() + due.size();
+  }
+
+  /**
+   * Commit every operation straight away, including those whose Snackbars are still showing. Their Snackbars can no
+   * longer undo them.
+   */
+  public void flush() {
+    for (PendingOperation<T> pendingOperation : pending) {
+      pendingOperation.flushed = true;
+      due.add(pendingOperation.operation);
+    }
+    pending.clear();
+    if (commitScheduled) {
+      scheduler.removeCallbacks(commitDue);
+      commitScheduled = false;
+    }
+    commitDueOperations();
+  }
+
+  void onActionPressed(PendingOperation<T> pendingOperation) {
+    if (pending.remove(pendingOperation)) {
+      operationHandler.onRollBack(pendingOperation.operation);
+    } else if (pendingOperation.flushed && lateUndoListener != null) {
+      lateUndoListener.onUndoTooLate(pendingOperation.operation);
+    }
+  }
+
+  void onDismissed(PendingOperation<T> pendingOperation) {
+    if (!pending.remove(pendingOperation)) {
+      return;
+    }
+    due.add(pendingOperation.operation);
+    if (!commitScheduled) {
+      commitScheduled = true;
+      scheduler.postDelayed(commitDue, batchWindowMillis);
+    }
+  }
+
+  private void commitDueOperations() {
+    if (due.isEmpty()) {
+      return;
+    }
+    final List<T> batch = new ArrayList<>(due);
+    due.clear();
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        operationHandler.onCommit(batch);
+      }
+    });
+  }
+
+  static final class PendingOperation<T> extends SnackbarCallback {
+
+    private final SnackbarUndoQueue<T> queue;
+    final T operation;
+    boolean flushed;
+
+    PendingOperation(SnackbarUndoQueue<T> queue, T operation) {
+      this.queue = queue;
+      this.operation = operation;
+    }
+
+    @Override
+    public void onSnackbarDismissed(Snackbar snackbar, int dismissEvent) {
+      if (dismissEvent == DISMISS_EVENT_ACTION) {
+        queue.onActionPressed(this);
+      } else {
+        queue.onDismissed(this);
+      }
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+  private final class ActivityFlusher implements ActivityLifecycleCallbacks {
+
+    private final Activity activity;
+    private final Application application;
+
+    ActivityFlusher(Activity activity) {
+      this.activity = activity;
+      application = activity.getApplication();
+    }
+
+    void unregister() {
+      application.unregisterActivityLifecycleCallbacks(this);
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+      if (activity == this.activity) {
+        flush();
+      }
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+      // Not needed
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+      if (activity == this.activity) {
+        flush();
+        unregister();
+        if (activityFlusher == this) {
+          activityFlusher = null;
+        }
+      }
+    }
+  }
+}
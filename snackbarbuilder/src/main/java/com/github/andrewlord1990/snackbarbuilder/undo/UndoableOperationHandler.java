@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.undo;
+
+import java.util.List;
+
+/**
+ * Carries out the operations of a SnackbarUndoQueue, either undoing one or writing a batch of them.
+ *
+ * @param <T> The type of operation.
+ */
+public interface UndoableOperationHandler<T> {
+
+  /**
+   * Undo an operation because the action on its Snackbar was pressed. Called on the main thread.
+   *
+   * @param operation The operation to undo.
+   */
+  void onRollBack(T operation);
+
+  /**
+   * Write a batch of operations that can no longer be undone, for example in a single database transaction. Called on
+   * the Executor provided to the SnackbarUndoQueue.
+   *
+   * @param operations The operations to write, in the order their Snackbars were dismissed.
+   */
+  void onCommit(List<T> operations);
+}
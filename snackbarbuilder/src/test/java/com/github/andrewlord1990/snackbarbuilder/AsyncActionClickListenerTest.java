@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.support.design.widget.CoordinatorLayout;
+import android.support.design.widget.Snackbar;
+import android.view.View;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarScheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.verify;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class AsyncActionClickListenerTest {
+
+  @Mock
+  SnackbarScheduler scheduler;
+  private SnackbarWrapper wrapper;
+  private RecordingAction action;
+  private List<Runnable> submitted;
+  private AsyncActionClickListener listenerUnderTest;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    wrapper = new SnackbarBuilder(new CoordinatorLayout(RuntimeEnvironment.application))
+        .message("message")
+        .buildWrapper();
+    action = new RecordingAction();
+    submitted = new ArrayList<>();
+    listenerUnderTest = new AsyncActionClickListener(wrapper, "Retry", "Retrying", action, new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        submitted.add(command);
+      }
+    }, scheduler);
+  }
+
+  @Test
+  public void whenClicked_thenWorkingStateShown() {
+    View actionView = wrapper.getView().findViewById(R.id.snackbar_action);
+
+    listenerUnderTest.onClick(actionView);
+
+    assertThat(listenerUnderTest.isWorking()).isTrue();
+    assertThat(actionView.isEnabled()).isFalse();
+    assertThat(wrapper.getActionText().toString()).isEqualTo("Retrying");
+  }
+
+  @Test
+  public void whenDoubleClicked_thenWorkSubmittedOnce() {
+    listenerUnderTest.onClick(null);
+
+    listenerUnderTest.onClick(null);
+
+    assertThat(submitted).hasSize(1);
+  }
+
+  @Test
+  public void givenWorkFailed_whenPostedToMainThread_thenActionRestored() {
+    action.error = new Exception("failed");
+    listenerUnderTest.onClick(null);
+    submitted.get(0).run();
+
+    runPosted();
+
+    assertThat(listenerUnderTest.isWorking()).isFalse();
+    assertThat(wrapper.getView().findViewById(R.id.snackbar_action).isEnabled()).isTrue();
+    assertThat(wrapper.getActionText().toString()).isEqualTo("Retry");
+    assertThat(action.failure).isEqualTo(action.error);
+  }
+
+  @Test
+  public void givenWorkCompleted_whenPostedToMainThread_thenCompletedCalled() {
+    listenerUnderTest.onClick(null);
+    submitted.get(0).run();
+
+    runPosted();
+
+    assertThat(listenerUnderTest.isWorking()).isFalse();
+    assertThat(action.completed).isTrue();
+  }
+
+  @Test
+  public void givenWorkCompleted_whenPostedToMainThread_thenDismissedWithActionEvent() {
+    RecordingSnackbarRenderer renderer = new RecordingSnackbarRenderer();
+    SnackbarWrapper recordingWrapper = new SnackbarWrapper(renderer);
+    final List<Integer> dismissEvents = new ArrayList<>();
+    recordingWrapper.addCallback(new Snackbar.Callback() {
+      @Override
+      public void onDismissed(Snackbar snackbar, int event) {
+        dismissEvents.add(event);
+      }
+    });
+    AsyncActionClickListener listener = new AsyncActionClickListener(recordingWrapper, "Retry", null, action,
+        new Executor() {
+          @Override
+          public void execute(Runnable command) {
+            command.run();
+          }
+        }, scheduler);
+    recordingWrapper.show();
+
+    listener.onClick(null);
+    runPosted();
+
+    assertThat(dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_ACTION);
+  }
+
+  @Test
+  public void givenExecutorRejectsWork_whenClicked_thenActionRestored() {
+    final RejectedExecutionException rejection = new RejectedExecutionException("shut down");
+    AsyncActionClickListener listener = new AsyncActionClickListener(wrapper, "Retry", "Retrying", action,
+        new Executor() {
+          @Override
+          public void execute(Runnable command) {
+            throw rejection;
+          }
+        }, scheduler);
+
+    listener.onClick(null);
+
+    assertThat(listener.isWorking()).isFalse();
+    assertThat(wrapper.getView().findViewById(R.id.snackbar_action).isEnabled()).isTrue();
+    assertThat(wrapper.getActionText().toString()).isEqualTo("Retry");
+    assertThat(action.failure).isSameAs(rejection);
+  }
+
+  @Test
+  public void givenWorkThrowsError_whenRun_thenFailurePostedToMainThread() {
+    action.thrown = new AssertionError("broken");
+    listenerUnderTest.onClick(null);
+    try {
+      submitted.get(0).run();
+      fail("Error not rethrown");
+    } catch (AssertionError e) {
+      assertThat(e).isSameAs(action.thrown);
+    }
+
+    runPosted();
+
+    assertThat(listenerUnderTest.isWorking()).isFalse();
+    assertThat(action.failure.getCause()).isSameAs(action.thrown);
+  }
+
+  private void runPosted() {
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).post(captor.capture());
+    captor.getValue().run();
+  }
+
+  private static class RecordingAction extends SnackbarAsyncAction {
+
+    Exception error;
+    Error thrown;
+    Exception failure;
+    boolean completed;
+
+    @Override
+    public void runAction() throws Exception {
+      if (error != null) {
+        throw error;
+      }
+      if (thrown != null) {
+        throw thrown;
+      }
+    }
+
+    @Override
+    public void onActionCompleted(SnackbarWrapper wrapper) {
+      completed = true;
+    }
+
+    @Override
+    public void onActionFailed(SnackbarWrapper wrapper, Exception error) {
+      failure = error;
+    }
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.app.Activity;
+import android.graphics.Color;
+import android.support.design.widget.CoordinatorLayout;
+import android.support.design.widget.Snackbar;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.VirtualScheduler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class CountdownCallbackTest {
+
+  private static final long FRAME_MILLIS = 16;
+
+  private VirtualScheduler scheduler;
+  private SnackbarWrapper wrapper;
+  private CountdownCallback callback;
+
+  @Before
+  public void before() {
+    scheduler = new VirtualScheduler();
+    SnackbarClock.setScheduler(scheduler);
+    Activity activity = Robolectric.setupActivity(Activity.class);
+    activity.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout layout = new CoordinatorLayout(activity);
+    activity.setContentView(layout);
+    wrapper = new SnackbarWrapper(Snackbar.make(layout, "Deleted", Snackbar.LENGTH_LONG));
+    layout.addView(wrapper.getView());
+    callback = new CountdownCallback(wrapper, new CountdownDrawable(Color.WHITE, 24));
+  }
+
+  @After
+  public void after() {
+    SnackbarClock.setScheduler(null);
+  }
+
+  @Test
+  public void whenShown_thenCounting() {
+    callback.onShown(wrapper.getSnackbar());
+
+    assertThat(callback.isCounting()).isTrue();
+    assertThat(callback.ticker.isScheduled()).isTrue();
+    assertThat(callback.drawable.getSweepDegrees()).isEqualTo(360);
+  }
+
+  @Test
+  public void givenShown_whenHalfDurationPassed_thenRingHalfEmpty() {
+    callback.onShown(wrapper.getSnackbar());
+
+    scheduler.advanceBy(FRAME_MILLIS * 86);
+
+    assertThat(callback.drawable.getSweepDegrees()).isEqualTo(180);
+    assertThat(callback.ticker.isScheduled()).isTrue();
+  }
+
+  @Test
+  public void givenShown_whenDurationPassed_thenRingEmptyAndStopped() {
+    callback.onShown(wrapper.getSnackbar());
+
+    scheduler.advanceBy(SnackbarSnapshot.LONG_DURATION_MILLIS + FRAME_MILLIS);
+
+    assertThat(callback.drawable.getSweepDegrees()).isEqualTo(0);
+    assertThat(callback.isCounting()).isFalse();
+    assertThat(callback.ticker.isScheduled()).isFalse();
+    assertThat(scheduler.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void givenShown_whenDetached_thenRingNotUpdated() {
+    callback.onShown(wrapper.getSnackbar());
+
+    callback.onViewDetachedFromWindow(wrapper.getView());
+    scheduler.advanceBy(FRAME_MILLIS * 86);
+
+    assertThat(callback.ticker.isScheduled()).isFalse();
+    assertThat(callback.drawable.getSweepDegrees()).isEqualTo(360);
+  }
+
+  @Test
+  public void givenDetached_whenAttachedAgain_thenResumesFromTimeLeft() {
+    callback.onShown(wrapper.getSnackbar());
+    callback.onViewDetachedFromWindow(wrapper.getView());
+    scheduler.advanceBy(FRAME_MILLIS * 85);
+
+    callback.onViewAttachedToWindow(wrapper.getView());
+    scheduler.advanceBy(FRAME_MILLIS);
+
+    assertThat(callback.drawable.getSweepDegrees()).isEqualTo(180);
+  }
+
+  @Test
+  public void givenHidden_whenFrame_thenNotRescheduled() {
+    callback.onShown(wrapper.getSnackbar());
+
+    wrapper.getView().setVisibility(View.INVISIBLE);
+    scheduler.advanceBy(FRAME_MILLIS);
+
+    assertThat(callback.isCounting()).isTrue();
+    assertThat(callback.ticker.isScheduled()).isFalse();
+  }
+
+  @Test
+  public void givenHidden_whenShownAgainAndDrawn_thenResumesFromTimeLeft() {
+    callback.onShown(wrapper.getSnackbar());
+    wrapper.getView().setVisibility(View.INVISIBLE);
+    scheduler.advanceBy(FRAME_MILLIS * 85);
+
+    wrapper.getView().setVisibility(View.VISIBLE);
+    callback.onPreDraw();
+    scheduler.advanceBy(FRAME_MILLIS);
+
+    assertThat(callback.ticker.isScheduled()).isTrue();
+    assertThat(callback.drawable.getSweepDegrees()).isEqualTo(180);
+  }
+
+  @Test
+  public void givenShown_whenTouched_thenRingPaused() {
+    callback.onShown(wrapper.getSnackbar());
+
+    boolean handled = touch(MotionEvent.ACTION_DOWN);
+    scheduler.advanceBy(FRAME_MILLIS * 86);
+
+    assertThat(handled).isTrue();
+    assertThat(callback.isPaused()).isTrue();
+    assertThat(callback.ticker.isScheduled()).isFalse();
+    assertThat(callback.drawable.getSweepDegrees()).isEqualTo(360);
+  }
+
+  @Test
+  public void givenTouched_whenTouchEnds_thenRingRestartsInFull() {
+    callback.onShown(wrapper.getSnackbar());
+    scheduler.advanceBy(FRAME_MILLIS * 86);
+    touch(MotionEvent.ACTION_DOWN);
+
+    touch(MotionEvent.ACTION_UP);
+
+    assertThat(callback.isPaused()).isFalse();
+    assertThat(callback.drawable.getSweepDegrees()).isEqualTo(360);
+    scheduler.advanceBy(FRAME_MILLIS * 86);
+    assertThat(callback.drawable.getSweepDegrees()).isEqualTo(180);
+  }
+
+  @Test
+  public void givenNotInCoordinatorLayout_whenTouched_thenRingNotPaused() {
+    Activity activity = Robolectric.setupActivity(Activity.class);
+    activity.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    FrameLayout layout = new FrameLayout(activity);
+    activity.setContentView(layout);
+    wrapper = new SnackbarWrapper(Snackbar.make(layout, "Deleted", Snackbar.LENGTH_LONG));
+    layout.addView(wrapper.getView());
+    callback = new CountdownCallback(wrapper, new CountdownDrawable(Color.WHITE, 24));
+    callback.onShown(wrapper.getSnackbar());
+
+    touch(MotionEvent.ACTION_DOWN);
+
+    assertThat(callback.isPaused()).isFalse();
+    assertThat(callback.ticker.isScheduled()).isTrue();
+  }
+
+  @Test
+  public void givenShown_whenDismissed_thenStopped() {
+    callback.onShown(wrapper.getSnackbar());
+
+    callback.onDismissed(wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_ACTION);
+
+    assertThat(callback.isCounting()).isFalse();
+    assertThat(scheduler.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void givenIndefinite_whenShown_thenNotCounting() {
+    wrapper.setDuration(Snackbar.LENGTH_INDEFINITE);
+
+    callback.onShown(wrapper.getSnackbar());
+
+    assertThat(callback.isCounting()).isFalse();
+    assertThat(callback.ticker.isScheduled()).isFalse();
+  }
+
+  @Test
+  public void whenRemainingFractionMovesLessThanDegree_thenSweepUnchanged() {
+    CountdownDrawable drawable = new CountdownDrawable(Color.WHITE, 24);
+
+    drawable.setRemainingFraction(0.999f);
+
+    assertThat(drawable.getSweepDegrees()).isEqualTo(360);
+  }
+
+  private boolean touch(int action) {
+    MotionEvent event = MotionEvent.obtain(0, 0, action, 0, 0, 0);
+    boolean handled = callback.onTouch(wrapper.getView(), event);
+    event.recycle();
+    return handled;
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.support.design.widget.Snackbar.Callback;
+import android.view.View;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class HardwareLayerCallbackTest {
+
+  private View view;
+  private HardwareLayerCallback callback;
+
+  @Before
+  public void before() {
+    view = new View(RuntimeEnvironment.application);
+    callback = new HardwareLayerCallback(view);
+  }
+
+  @Test
+  public void whenAttached_thenHardwareLayer() {
+    callback.onViewAttachedToWindow(view);
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+    assertThat(callback.isLayered()).isTrue();
+  }
+
+  @Test
+  public void givenAttached_whenShown_thenLayerReleased() {
+    callback.onViewAttachedToWindow(view);
+
+    callback.onShown(null);
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+    assertThat(callback.isLayered()).isFalse();
+  }
+
+  @Test
+  public void givenShown_whenPreDrawAtRest_thenNoLayer() {
+    callback.onViewAttachedToWindow(view);
+    callback.onShown(null);
+
+    callback.onPreDraw();
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void givenShown_whenViewSlidesOut_thenHardwareLayer() {
+    callback.onViewAttachedToWindow(view);
+    callback.onShown(null);
+    view.setTranslationY(20);
+
+    callback.onPreDraw();
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+  }
+
+  @Test
+  public void givenSwipeStarted_whenBackAtRest_thenLayerReleased() {
+    callback.onViewAttachedToWindow(view);
+    callback.onShown(null);
+    view.setAlpha(0.5f);
+    callback.onPreDraw();
+    view.setAlpha(1);
+
+    callback.onPreDraw();
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void givenSlidingOut_whenDismissed_thenLayerReleased() {
+    callback.onViewAttachedToWindow(view);
+    callback.onShown(null);
+    view.setTranslationY(20);
+    callback.onPreDraw();
+
+    callback.onDismissed(null, Callback.DISMISS_EVENT_TIMEOUT);
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void givenDismissed_whenPreDraw_thenNoLayer() {
+    callback.onViewAttachedToWindow(view);
+    callback.onShown(null);
+    callback.onDismissed(null, Callback.DISMISS_EVENT_TIMEOUT);
+    view.setTranslationY(20);
+
+    callback.onPreDraw();
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void givenEntering_whenDetached_thenLayerReleased() {
+    callback.onViewAttachedToWindow(view);
+
+    callback.onViewDetachedFromWindow(view);
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+}
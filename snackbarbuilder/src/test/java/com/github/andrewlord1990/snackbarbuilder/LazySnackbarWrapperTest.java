@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.support.design.widget.CoordinatorLayout;
+import android.text.Spanned;
+import android.view.View;
+import android.text.style.ForegroundColorSpan;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class LazySnackbarWrapperTest {
+
+  private CoordinatorLayout parent;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+  }
+
+  @Test
+  public void whenBuildLazyWrapper_thenNotBuilt() {
+    LazySnackbarWrapper lazyWrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .buildLazyWrapper()
+        .setTextColor(Color.RED);
+
+    assertThat(lazyWrapper.isBuilt()).isFalse();
+    assertThat(parent.getChildCount()).isZero();
+  }
+
+  @Test
+  public void givenRecordedChanges_whenBuild_thenChangesAppliedInOrder() {
+    LazySnackbarWrapper lazyWrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .buildLazyWrapper()
+        .setText("first")
+        .appendMessage(" second")
+        .setBackgroundColor(Color.BLUE)
+        .setBackgroundColor(Color.GREEN)
+        .setDuration(4000);
+
+    SnackbarWrapper wrapper = lazyWrapper.build();
+
+    assertThat(lazyWrapper.isBuilt()).isTrue();
+    assertThat(wrapper.getText().toString()).isEqualTo("first second");
+    assertThat(wrapper.getBackgroundColor()).isEqualTo(Color.GREEN);
+    assertThat(wrapper.getDuration()).isEqualTo(4000);
+  }
+
+  @Test
+  public void givenBuilt_whenChanged_thenAppliedStraightAway() {
+    LazySnackbarWrapper lazyWrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .buildLazyWrapper();
+    SnackbarWrapper wrapper = lazyWrapper.build();
+
+    lazyWrapper.setText("changed");
+
+    assertThat(lazyWrapper.build()).isSameAs(wrapper);
+    assertThat(wrapper.getText().toString()).isEqualTo("changed");
+  }
+
+  @Test
+  public void givenBuilderChangedAfterwards_whenBuild_thenBuilderChangesNotApplied() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("message");
+    LazySnackbarWrapper lazyWrapper = builder.buildLazyWrapper();
+
+    builder.message("changed");
+
+    assertThat(lazyWrapper.build().getText().toString()).isEqualTo("message");
+  }
+
+  @Test
+  public void givenColoredAppendedMessage_whenBuild_thenColorApplied() {
+    LazySnackbarWrapper lazyWrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .buildLazyWrapper()
+        .appendMessage(" red", Color.RED);
+
+    SnackbarWrapper wrapper = lazyWrapper.build();
+
+    Spanned text = (Spanned) wrapper.getText();
+    ForegroundColorSpan[] spans = text.getSpans(0, text.length(), ForegroundColorSpan.class);
+    assertThat(text.toString()).isEqualTo("message red");
+    assertThat(spans).hasSize(1);
+    assertThat(spans[0].getForegroundColor()).isEqualTo(Color.RED);
+    assertThat(text.getSpanStart(spans[0])).isEqualTo("message".length());
+  }
+
+  @Test
+  public void givenIconOnBuilderAndWrapper_whenBuild_thenOnlyWrapperIconSet() {
+    CountingDrawable builderIcon = new CountingDrawable();
+    ColorDrawable wrapperIcon = new ColorDrawable(Color.RED);
+    LazySnackbarWrapper lazyWrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .icon(builderIcon)
+        .buildLazyWrapper()
+        .setIcon(wrapperIcon);
+
+    SnackbarWrapper wrapper = lazyWrapper.build();
+
+    assertThat(builderIcon.boundsSetCount).isZero();
+    assertThat(new AndroidSnackbarRenderer(wrapper.getSnackbar()).getIcon()).isSameAs(wrapperIcon);
+  }
+
+  @Test
+  public void givenActionOnBuilderAndWrapper_whenBuild_thenWrapperActionShown() {
+    LazySnackbarWrapper lazyWrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .actionText("builder")
+        .buildLazyWrapper()
+        .setAction("wrapper", new View.OnClickListener() {
+          @Override
+          public void onClick(View view) {
+          }
+        });
+
+    SnackbarWrapper wrapper = lazyWrapper.build();
+
+    assertThat(wrapper.getActionText().toString()).isEqualTo("wrapper");
+  }
+
+  private static final class CountingDrawable extends ColorDrawable {
+
+    private int boundsSetCount;
+
+    @Override
+    public void setBounds(int left, int top, int right, int bottom) {
+      boundsSetCount++;
+      super.setBounds(left, top, right, bottom);
+    }
+  }
+}
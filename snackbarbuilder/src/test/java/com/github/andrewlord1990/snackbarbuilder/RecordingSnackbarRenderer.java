@@ -0,0 +1,428 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.design.widget.Snackbar;
+import android.support.design.widget.Snackbar.Callback;
+import android.view.View;
+import android.view.View.OnClickListener;
+
+import com.github.andrewlord1990.snackbarbuilder.render.SnackbarRenderer;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A SnackbarRenderer that records its state in plain fields instead of applying it to a Snackbar, so that it can be
+ * used on the JVM without Robolectric. Showing and dismissing notify the added callbacks straight away, with a null
+ * Snackbar. Clicking the action and dismissing for other reasons can be simulated with clickAction() and
+ * dismiss(int). Given a scheduler, such as a VirtualScheduler, a shown Snackbar also times out after its duration and
+ * is dismissed with DISMISS_EVENT_TIMEOUT, using the same lengths as the Snackbar manager. There is no Context, so
+ * SnackbarWrapper methods that load resources cannot be used with this renderer.
+ */
+public final class RecordingSnackbarRenderer implements SnackbarRenderer {
+
+  private final SnackbarScheduler scheduler;
+  private final Runnable timeout = new Runnable() {
+    @Override
+    public void run() {
+      dismiss(Callback.DISMISS_EVENT_TIMEOUT);
+    }
+  };
+  private final StringBuilder message = new StringBuilder();
+  private final List<Callback> callbacks = new ArrayList<>();
+  private ColorStateList messageTextColors;
+  @ColorInt
+  private int messageTextColor;
+  private int messageVisibility = View.VISIBLE;
+  private CharSequence actionText;
+  private OnClickListener actionClickListener;
+  private boolean dismissOnActionClick;
+  private ColorStateList actionTextColors;
+  @ColorInt
+  private int actionTextColor;
+  private int actionVisibility = View.GONE;
+  private boolean actionAllCaps = true;
+  private boolean actionEnabled = true;
+  @ColorInt
+  private int backgroundColor;
+  private boolean backgroundTinted;
+  private Drawable icon;
+  private int iconMargin;
+  private int duration = Snackbar.LENGTH_SHORT;
+  private boolean shown;
+  private int showCount;
+
+  /**
+   * Create a renderer whose Snackbar never times out.
+   */
+  public RecordingSnackbarRenderer() {
+    this(null);
+  }
+
+  /**
+   * Create a renderer whose Snackbar times out using the scheduler.
+   *
+   * @param scheduler Schedules the timeout, or null for the Snackbar to never time out.
+   */
+  public RecordingSnackbarRenderer(SnackbarScheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public Snackbar getSnackbar() {
+    return null;
+  }
+
+  @Override
+  public View getView() {
+    return null;
+  }
+
+  @Override
+  public Context getContext() {
+    return null;
+  }
+
+  @Override
+  public CharSequence getMessage() {
+    return message.toString();
+  }
+
+  @Override
+  public void setMessage(CharSequence message) {
+    this.message.setLength(0);
+    this.message.append(message);
+  }
+
+  @Override
+  public void appendMessage(CharSequence message) {
+    this.message.append(message);
+  }
+
+  /**
+   * Append text to the message. The colour is not recorded, as spans cannot be created on the JVM.
+   *
+   * @param message The text to append.
+   * @param color   The colour of the appended text.
+   */
+  @Override
+  public void appendMessage(CharSequence message, @ColorInt int color) {
+    this.message.append(message);
+  }
+
+  /**
+   * Get the text colours of the message.
+   *
+   * @return The message text colours, or null if the colour was set as a single colour.
+   */
+  @Override
+  public ColorStateList getMessageTextColors() {
+    return messageTextColors;
+  }
+
+  @Override
+  public int getMessageTextColor() {
+    return messageTextColors != null ? messageTextColors.getDefaultColor() : messageTextColor;
+  }
+
+  @Override
+  public void setMessageTextColor(@ColorInt int color) {
+    messageTextColors = null;
+    messageTextColor = color;
+  }
+
+  @Override
+  public void setMessageTextColor(ColorStateList colors) {
+    messageTextColors = colors;
+  }
+
+  @Override
+  public int getMessageVisibility() {
+    return messageVisibility;
+  }
+
+  @Override
+  public void setMessageVisibility(int visibility) {
+    messageVisibility = visibility;
+  }
+
+  @Override
+  public CharSequence getActionText() {
+    return actionText;
+  }
+
+  @Override
+  public void setActionText(CharSequence actionText) {
+    this.actionText = actionText;
+  }
+
+  @Override
+  public void setAction(CharSequence actionText, OnClickListener actionClickListener) {
+    boolean hasAction = actionText != null && actionText.length() > 0 && actionClickListener != null;
+    this.actionText = actionText;
+    this.actionClickListener = hasAction ? actionClickListener : null;
+    actionVisibility = hasAction ? View.VISIBLE : View.GONE;
+    dismissOnActionClick = true;
+  }
+
+  @Override
+  public void setActionClickListener(OnClickListener actionClickListener) {
+    this.actionClickListener = actionClickListener;
+    dismissOnActionClick = false;
+  }
+
+  /**
+   * Get the text colours of the action.
+   *
+   * @return The action text colours, or null if the colour was set as a single colour.
+   */
+  @Override
+  public ColorStateList getActionTextColors() {
+    return actionTextColors;
+  }
+
+  @Override
+  public int getActionTextColor() {
+    return actionTextColors != null ? actionTextColors.getDefaultColor() : actionTextColor;
+  }
+
+  @Override
+  public void setActionTextColor(@ColorInt int color) {
+    actionTextColors = null;
+    actionTextColor = color;
+  }
+
+  @Override
+  public void setActionTextColor(ColorStateList colors) {
+    actionTextColors = colors;
+  }
+
+  @Override
+  public int getActionVisibility() {
+    return actionVisibility;
+  }
+
+  @Override
+  public void setActionVisibility(int visibility) {
+    actionVisibility = visibility;
+  }
+
+  /**
+   * Get whether the action text is shown in all caps.
+   *
+   * @return Whether the action is in all caps.
+   */
+  public boolean isActionAllCaps() {
+    return actionAllCaps;
+  }
+
+  @Override
+  public void setActionAllCaps(boolean allCaps) {
+    actionAllCaps = allCaps;
+  }
+
+  /**
+   * Get whether the action can be clicked.
+   *
+   * @return Whether the action is enabled.
+   */
+  public boolean isActionEnabled() {
+    return actionEnabled;
+  }
+
+  @Override
+  public void setActionEnabled(boolean enabled) {
+    actionEnabled = enabled;
+  }
+
+  /**
+   * Get the background colour of the Snackbar.
+   *
+   * @return The background colour.
+   */
+  @ColorInt
+  public int getBackgroundColor() {
+    return backgroundColor;
+  }
+
+  @Override
+  public void setBackgroundColor(@ColorInt int color) {
+    backgroundColor = color;
+    backgroundTinted = false;
+  }
+
+  /**
+   * Get whether the background colour was applied as a tint.
+   *
+   * @return Whether the background is tinted.
+   */
+  public boolean isBackgroundTinted() {
+    return backgroundTinted;
+  }
+
+  @Override
+  public void setBackgroundTint(@ColorInt int color) {
+    backgroundColor = color;
+    backgroundTinted = true;
+  }
+
+  @Override
+  public Drawable getIcon() {
+    return icon;
+  }
+
+  @Override
+  public void setIcon(Drawable icon) {
+    this.icon = icon;
+  }
+
+  @Override
+  public int getIconMargin() {
+    return iconMargin;
+  }
+
+  @Override
+  public void setIconMargin(int iconMarginPixels) {
+    iconMargin = iconMarginPixels;
+  }
+
+  @Override
+  public int getDuration() {
+    return duration;
+  }
+
+  @Override
+  public void setDuration(int duration) {
+    this.duration = duration;
+  }
+
+  /**
+   * Get the callbacks that have been added.
+   *
+   * @return The callbacks, in the order they were added.
+   */
+  public List<Callback> getCallbacks() {
+    return Collections.unmodifiableList(callbacks);
+  }
+
+  @Override
+  public void addCallback(Callback callback) {
+    if (callback != null && !callbacks.contains(callback)) {
+      callbacks.add(callback);
+    }
+  }
+
+  @Override
+  public void removeCallback(Callback callback) {
+    callbacks.remove(callback);
+  }
+
+  /**
+   * Get how many times show() has been called.
+   *
+   * @return The number of times the Snackbar was shown.
+   */
+  public int getShowCount() {
+    return showCount;
+  }
+
+  /**
+   * Show the Snackbar. Showing it again while it is showing restarts its timeout with the current duration.
+   */
+  @Override
+  public void show() {
+    showCount++;
+    scheduleTimeout();
+    if (!shown) {
+      shown = true;
+      List<Callback> dispatching = new ArrayList<>(callbacks);
+      for (int i = dispatching.size() - 1; i >= 0; i--) {
+        dispatching.get(i).onShown(null);
+      }
+    }
+  }
+
+  private void scheduleTimeout() {
+    if (scheduler == null) {
+      return;
+    }
+    scheduler.removeCallbacks(timeout);
+    if (duration != Snackbar.LENGTH_INDEFINITE) {
+      scheduler.postDelayed(timeout, SnackbarSnapshot.getDurationMillis(duration));
+    }
+  }
+
+  @Override
+  public void dismiss() {
+    dismiss(Snackbar.Callback.DISMISS_EVENT_MANUAL);
+  }
+
+  @Override
+  public void dismissFromAction() {
+    dismiss(Snackbar.Callback.DISMISS_EVENT_ACTION);
+  }
+
+  /**
+   * Dismiss the Snackbar for the specified reason, for example DISMISS_EVENT_TIMEOUT to simulate it timing out.
+   * Nothing happens if the Snackbar is not showing.
+   *
+   * @param event The dismiss event passed to the callbacks.
+   */
+  public void dismiss(int event) {
+    if (shown) {
+      shown = false;
+      if (scheduler != null) {
+        scheduler.removeCallbacks(timeout);
+      }
+      List<Callback> dispatching = new ArrayList<>(callbacks);
+      for (int i = dispatching.size() - 1; i >= 0; i--) {
+        dispatching.get(i).onDismissed(null, event);
+      }
+    }
+  }
+
+  /**
+   * Click the action. Nothing happens if there is no click listener or the action is disabled. If the action was set
+   * with setAction, the Snackbar is then dismissed with DISMISS_EVENT_ACTION, as a Snackbar would do.
+   */
+  public void clickAction() {
+    if (actionClickListener == null || !actionEnabled) {
+      return;
+    }
+    actionClickListener.onClick(null);
+    if (dismissOnActionClick) {
+      dismiss(Snackbar.Callback.DISMISS_EVENT_ACTION);
+    }
+  }
+
+  @Override
+  public boolean isShown() {
+    return shown;
+  }
+
+  @Override
+  public boolean isShownOrQueued() {
+    return shown;
+  }
+}
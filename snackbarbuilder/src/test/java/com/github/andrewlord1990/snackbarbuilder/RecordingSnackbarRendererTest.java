@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.support.design.widget.Snackbar;
+import android.support.design.widget.Snackbar.Callback;
+import android.view.View;
+import android.view.View.OnClickListener;
+
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.VirtualScheduler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class RecordingSnackbarRendererTest {
+
+  @Mock
+  Callback callback;
+  @Mock
+  OnClickListener clickListener;
+  private VirtualScheduler scheduler;
+  private RecordingSnackbarRenderer renderer;
+  private SnackbarWrapper wrapper;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+    scheduler = new VirtualScheduler();
+    SnackbarClock.setScheduler(scheduler);
+
+    renderer = new RecordingSnackbarRenderer();
+    wrapper = new SnackbarWrapper(renderer);
+  }
+
+  @After
+  public void after() {
+    SnackbarClock.setScheduler(null);
+  }
+
+  @Test
+  public void whenSettingProperties_thenRecorded() {
+    wrapper.setText("message")
+        .appendMessage(" more", 0xFF00FF00)
+        .setTextColor(0xFF112233)
+        .setActionTextColor(0xFF445566)
+        .setBackgroundColor(0xFF778899)
+        .setIconMargin(12)
+        .setActionTextAllCaps(false)
+        .setDuration(Snackbar.LENGTH_INDEFINITE);
+
+    assertThat(wrapper.getText().toString()).isEqualTo("message more");
+    assertThat(wrapper.getCurrentTextColor()).isEqualTo(0xFF112233);
+    assertThat(wrapper.getActionCurrentTextColor()).isEqualTo(0xFF445566);
+    assertThat(renderer.getBackgroundColor()).isEqualTo(0xFF778899);
+    assertThat(renderer.getIconMargin()).isEqualTo(12);
+    assertThat(renderer.isActionAllCaps()).isFalse();
+    assertThat(wrapper.getDuration()).isEqualTo(Snackbar.LENGTH_INDEFINITE);
+  }
+
+  @Test
+  public void whenSetAction_thenActionVisible() {
+    wrapper.setAction("action", clickListener);
+
+    assertThat(wrapper.getActionText()).isEqualTo("action");
+    assertThat(wrapper.getActionVisibility()).isEqualTo(View.VISIBLE);
+  }
+
+  @Test
+  public void givenShown_whenShow_thenOnShownCalledOnce() {
+    wrapper.addCallback(callback);
+    wrapper.show();
+
+    wrapper.show();
+
+    verify(callback, times(1)).onShown(null);
+    assertThat(renderer.getShowCount()).isEqualTo(2);
+    assertThat(wrapper.isShown()).isTrue();
+  }
+
+  @Test
+  public void givenShownWithAction_whenClickAction_thenClickedAndDismissedWithActionEvent() {
+    wrapper.setAction("action", clickListener)
+        .addCallback(callback)
+        .show();
+
+    renderer.clickAction();
+
+    verify(clickListener).onClick((View) isNull());
+    verify(callback).onDismissed(null, Callback.DISMISS_EVENT_ACTION);
+    assertThat(wrapper.isShown()).isFalse();
+  }
+
+  @Test
+  public void givenActionClickListener_whenClickAction_thenNotDismissed() {
+    wrapper.setAction("action", null)
+        .setActionClickListener(clickListener)
+        .addCallback(callback)
+        .show();
+
+    renderer.clickAction();
+
+    verify(clickListener).onClick((View) isNull());
+    verify(callback, never()).onDismissed(any(Snackbar.class), anyInt());
+    assertThat(wrapper.isShown()).isTrue();
+  }
+
+  @Test
+  public void givenShown_whenDismissWithTimeout_thenCallbackGetsTimeoutEvent() {
+    wrapper.addCallback(callback)
+        .show();
+
+    renderer.dismiss(Callback.DISMISS_EVENT_TIMEOUT);
+
+    verify(callback).onDismissed(null, Callback.DISMISS_EVENT_TIMEOUT);
+  }
+
+  @Test
+  public void givenNotShown_whenDismiss_thenCallbackNotCalled() {
+    wrapper.addCallback(callback);
+
+    wrapper.dismiss();
+
+    verify(callback, never()).onDismissed(any(Snackbar.class), anyInt());
+  }
+
+  @Test
+  public void givenActionDisabled_whenClickAction_thenNotClicked() {
+    wrapper.setAction("action", clickListener);
+    renderer.setActionEnabled(false);
+
+    renderer.clickAction();
+
+    verify(clickListener, never()).onClick(any(View.class));
+  }
+
+  @Test
+  public void givenScheduler_whenDurationPasses_thenDismissedWithTimeout() {
+    SnackbarWrapper timedWrapper = new SnackbarWrapper(new RecordingSnackbarRenderer(scheduler))
+        .setDuration(Snackbar.LENGTH_LONG)
+        .addCallback(callback)
+        .show();
+
+    scheduler.advanceBy(SnackbarSnapshot.LONG_DURATION_MILLIS);
+
+    verify(callback).onDismissed(null, Callback.DISMISS_EVENT_TIMEOUT);
+    assertThat(timedWrapper.isShown()).isFalse();
+  }
+
+  @Test
+  public void givenShown_whenShownAgain_thenTimeoutRestarts() {
+    SnackbarWrapper timedWrapper = new SnackbarWrapper(new RecordingSnackbarRenderer(scheduler))
+        .setDuration(1000)
+        .show();
+    scheduler.advanceBy(800);
+
+    timedWrapper.show();
+    scheduler.advanceBy(800);
+
+    assertThat(timedWrapper.isShown()).isTrue();
+    scheduler.advanceBy(200);
+    assertThat(timedWrapper.isShown()).isFalse();
+  }
+
+  @Test
+  public void givenIndefiniteDuration_whenTimePasses_thenNotDismissed() {
+    SnackbarWrapper timedWrapper = new SnackbarWrapper(new RecordingSnackbarRenderer(scheduler))
+        .setDuration(Snackbar.LENGTH_INDEFINITE)
+        .show();
+
+    scheduler.advanceBy(60 * 60 * 1000);
+
+    assertThat(timedWrapper.isShown()).isTrue();
+    assertThat(scheduler.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void givenDismissed_whenDurationPasses_thenNoTimeout() {
+    new SnackbarWrapper(new RecordingSnackbarRenderer(scheduler))
+        .addCallback(callback)
+        .show()
+        .dismiss();
+
+    scheduler.advanceBy(SnackbarSnapshot.SHORT_DURATION_MILLIS);
+
+    verify(callback).onDismissed(null, Callback.DISMISS_EVENT_MANUAL);
+    verify(callback, never()).onDismissed(null, Callback.DISMISS_EVENT_TIMEOUT);
+  }
+
+  @Test
+  public void whenSimulatingHoursOfSnackbars_thenEachTimesOut() {
+    final long hours = 10;
+    final long intervalMillis = 5000;
+    final Callback countingCallback = mock(Callback.class);
+    scheduler.post(new Runnable() {
+      @Override
+      public void run() {
+        new SnackbarWrapper(new RecordingSnackbarRenderer(scheduler))
+            .setDuration(Snackbar.LENGTH_LONG)
+            .addCallback(countingCallback)
+            .show();
+        scheduler.postDelayed(this, intervalMillis);
+      }
+    });
+
+    scheduler.advanceBy(hours * 60 * 60 * 1000);
+
+    long shown = hours * 60 * 60 * 1000 / intervalMillis;
+    verify(countingCallback, times((int) shown)).onDismissed(null, Callback.DISMISS_EVENT_TIMEOUT);
+  }
+}
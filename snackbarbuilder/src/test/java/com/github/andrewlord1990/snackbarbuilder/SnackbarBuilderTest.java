@@ -48,6 +48,8 @@ import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarSwipeDismissCa
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarTimeoutDismissCallback;
 import com.github.andrewlord1990.snackbarbuilder.parent.SnackbarParentFinder;
 import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.VirtualScheduler;
 
 import org.assertj.android.api.Assertions;
 import org.junit.Before;
@@ -57,6 +59,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.robolectric.Robolectric;
 import org.robolectric.RuntimeEnvironment;
+import org.robolectric.util.ReflectionHelpers;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -581,6 +584,163 @@ public class SnackbarBuilderTest {
     assertThat(builder.actionAllCaps).isFalse();
   }
 
+  @Test
+  public void whenTintBackground_thenTintBackgroundSet() {
+    SnackbarBuilder builder = createBuilder();
+
+    builder.tintBackground(true);
+
+    assertThat(builder.tintBackground).isTrue();
+  }
+
+  @Test
+  public void givenTintBackground_whenBuildWrapper_thenBackgroundTinted() {
+    SnackbarWrapper wrapper = createBuilder()
+        .backgroundColor(Color.RED)
+        .tintBackground(true)
+        .buildWrapper();
+
+    assertThat(wrapper.getView().getBackground()).isNotInstanceOf(ColorDrawable.class);
+    assertThat(wrapper.isBackgroundTinted()).isTrue();
+    assertThat(wrapper.getBackgroundColor()).isEqualTo(Color.RED);
+  }
+
+  @Test
+  public void whenBuildProgress_thenProgressAddedToSnackbar() {
+    SnackbarProgress progress = createBuilder()
+        .message("Uploading")
+        .buildProgress(100);
+
+    assertThat(progress.getMax()).isEqualTo(100);
+    assertThat(progress.getWrapper().getText().toString()).isEqualTo("Uploading");
+    assertThat(progress.progressBar.getParent()).isSameAs(progress.getWrapper().getView());
+  }
+
+  @Test
+  public void givenHardwareLayerAnimations_whenBuiltSnackbarAttached_thenHardwareLayer() {
+    CoordinatorLayout layout = createAttachedLayout();
+    Snackbar snackbar = new SnackbarBuilder(layout)
+        .message("message")
+        .hardwareLayerAnimations(true)
+        .build();
+
+    layout.addView(snackbar.getView());
+
+    assertThat(snackbar.getView().getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+  }
+
+  @Test
+  public void givenHardwareLayerAnimations_whenBuiltSnackbarDetached_thenLayerReleased() {
+    CoordinatorLayout layout = createAttachedLayout();
+    Snackbar snackbar = new SnackbarBuilder(layout)
+        .message("message")
+        .hardwareLayerAnimations(true)
+        .build();
+    layout.addView(snackbar.getView());
+
+    layout.removeView(snackbar.getView());
+
+    assertThat(snackbar.getView().getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void givenHardwareLayerAnimations_whenForkBuiltAndAttached_thenHardwareLayer() {
+    CoordinatorLayout layout = createAttachedLayout();
+    SnackbarBuilder builder = new SnackbarBuilder(layout)
+        .message("message")
+        .hardwareLayerAnimations(true);
+
+    Snackbar snackbar = builder.fork().build();
+    layout.addView(snackbar.getView());
+
+    assertThat(snackbar.getView().getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+  }
+
+  @Test
+  public void givenNoHardwareLayerAnimations_whenBuiltSnackbarAttached_thenNoLayer() {
+    CoordinatorLayout layout = createAttachedLayout();
+    Snackbar snackbar = new SnackbarBuilder(layout)
+        .message("message")
+        .build();
+
+    layout.addView(snackbar.getView());
+
+    assertThat(snackbar.getView().getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void givenActionCountdown_whenBuilt_thenCountdownOnAction() {
+    CoordinatorLayout layout = createAttachedLayout();
+    Snackbar snackbar = new SnackbarBuilder(layout)
+        .message("message")
+        .actionText("action")
+        .actionCountdown(true)
+        .build();
+
+    TextView action = (TextView) snackbar.getView().findViewById(R.id.snackbar_action);
+
+    assertThat(action.getCompoundDrawables()[0]).isInstanceOf(CountdownDrawable.class);
+  }
+
+  @Test
+  public void givenActionCountdown_whenBuiltSnackbarShown_thenCountsDown() {
+    VirtualScheduler scheduler = new VirtualScheduler();
+    SnackbarClock.setScheduler(scheduler);
+    try {
+      CoordinatorLayout layout = createAttachedLayout();
+      Snackbar snackbar = new SnackbarBuilder(layout)
+          .message("message")
+          .actionText("action")
+          .duration(Snackbar.LENGTH_LONG)
+          .actionCountdown(true)
+          .build();
+      layout.addView(snackbar.getView());
+
+      dispatchShown(snackbar);
+      scheduler.advanceBy(16 * 86);
+
+      assertThat(getCountdownDrawable(snackbar).getSweepDegrees()).isEqualTo(180);
+    } finally {
+      SnackbarClock.setScheduler(null);
+    }
+  }
+
+  @Test
+  public void givenActionCountdown_whenForkBuiltAndShown_thenCountsDown() {
+    VirtualScheduler scheduler = new VirtualScheduler();
+    SnackbarClock.setScheduler(scheduler);
+    try {
+      CoordinatorLayout layout = createAttachedLayout();
+      SnackbarBuilder builder = new SnackbarBuilder(layout)
+          .message("message")
+          .actionText("action")
+          .duration(Snackbar.LENGTH_LONG)
+          .actionCountdown(true);
+      Snackbar snackbar = builder.fork().build();
+      layout.addView(snackbar.getView());
+
+      dispatchShown(snackbar);
+      scheduler.advanceBy(16 * 86);
+
+      assertThat(getCountdownDrawable(snackbar).getSweepDegrees()).isEqualTo(180);
+    } finally {
+      SnackbarClock.setScheduler(null);
+    }
+  }
+
+  @Test
+  public void givenNoActionCountdown_whenBuilt_thenNoCountdownOnAction() {
+    CoordinatorLayout layout = createAttachedLayout();
+    Snackbar snackbar = new SnackbarBuilder(layout)
+        .message("message")
+        .actionText("action")
+        .build();
+
+    TextView action = (TextView) snackbar.getView().findViewById(R.id.snackbar_action);
+
+    assertThat(action.getCompoundDrawables()[0]).isNull();
+  }
+
   @Test
   public void whenIconWithDrawableResource_thenIconSet() {
     SnackbarBuilder builder = createBuilder();
@@ -797,11 +957,136 @@ public class SnackbarBuilderTest {
     SnackbarCustomAssert.assertThat(snackbar).hasMessagesAppended(expected);
   }
 
+  @Test
+  public void whenWeakReferences_thenContextAndParentViewHeldWeakly() {
+    SnackbarBuilder builder = createBuilder();
+
+    builder.weakReferences(true);
+
+    assertThat(builder.context).isNull();
+    assertThat(builder.parentView).isNull();
+    assertThat(builder.weakContext.get()).isEqualTo(RuntimeEnvironment.application);
+    assertThat(builder.weakParentView.get()).isEqualTo(parentView);
+  }
+
+  @Test
+  public void givenWeakReferences_whenWeakReferencesDisabled_thenContextAndParentViewHeldStrongly() {
+    SnackbarBuilder builder = createBuilder().weakReferences(true);
+
+    builder.weakReferences(false);
+
+    assertThat(builder.context).isEqualTo(RuntimeEnvironment.application);
+    assertThat(builder.parentView).isEqualTo(parentView);
+    assertThat(builder.weakContext).isNull();
+    assertThat(builder.weakParentView).isNull();
+  }
+
+  @Test
+  public void givenWeakReferences_whenRebindWithActivity_thenParentViewFoundInNewActivity() {
+    Activity activity = Robolectric.setupActivity(Activity.class);
+    activity.setTheme(R.style.TestSnackbarBuilder_CustomTheme);
+    LinearLayout layout = new LinearLayout(activity);
+    layout.setId(R.id.snackbarbuilder_icon);
+    activity.setContentView(layout);
+    SnackbarBuilder builder = new SnackbarBuilder(activity).weakReferences(true);
+    Activity recreated = Robolectric.setupActivity(Activity.class);
+    LinearLayout recreatedLayout = new LinearLayout(recreated);
+    recreatedLayout.setId(R.id.snackbarbuilder_icon);
+    recreated.setContentView(recreatedLayout);
+
+    builder.rebind(recreated);
+
+    assertThat(builder.weakContext.get()).isEqualTo(recreated);
+    assertThat(builder.weakParentView.get()).isEqualTo(recreatedLayout);
+    assertThat(builder.actionTextColor).isEqualTo(0xFF454545);
+  }
+
+  @Test
+  public void whenRebindWithView_thenContextAndParentViewReplaced() {
+    SnackbarBuilder builder = createBuilder();
+    CoordinatorLayout newParent = new CoordinatorLayout(RuntimeEnvironment.application);
+
+    builder.rebind(newParent);
+
+    assertThat(builder.parentView).isEqualTo(newParent);
+    assertThat(builder.context).isEqualTo(RuntimeEnvironment.application);
+  }
+
+  @Test
+  public void whenFork_thenOptionsAndStateShared() {
+    Callback callback = new Callback();
+    SnackbarBuilder builder = createBuilder()
+        .message("message")
+        .backgroundColor(Color.RED)
+        .appendMessage("appended")
+        .callback(callback);
+
+    SnackbarBuilder fork = builder.fork();
+
+    assertThat(fork.message).isEqualTo("message");
+    assertThat(fork.backgroundColor).isEqualTo(Color.RED);
+    assertThat(fork.parentView).isEqualTo(parentView);
+    assertThat(fork.callbacks).isSameAs(builder.callbacks);
+    assertThat(fork.appendMessages).isSameAs(builder.appendMessages);
+  }
+
+  @Test
+  public void givenFork_whenForkChanged_thenOriginalUnchanged() {
+    Callback callback = new Callback();
+    SnackbarBuilder builder = createBuilder()
+        .message("message")
+        .appendMessage("appended")
+        .callback(callback);
+    SnackbarBuilder fork = builder.fork();
+
+    fork.message("changed")
+        .appendMessage(" more")
+        .callback(new Callback());
+
+    assertThat(builder.message).isEqualTo("message");
+    assertThat(builder.appendMessages.toString()).isEqualTo("appended");
+    assertThat(builder.callbacks).containsExactly(callback);
+    assertThat(fork.appendMessages.toString()).isEqualTo("appended more");
+    assertThat(fork.callbacks).hasSize(2);
+  }
+
+  @Test
+  public void givenFork_whenOriginalChanged_thenForkUnchanged() {
+    Callback callback = new Callback();
+    SnackbarBuilder builder = createBuilder()
+        .callback(callback);
+    SnackbarBuilder fork = builder.fork();
+
+    builder.callback(new Callback());
+
+    assertThat(fork.callbacks).containsExactly(callback);
+  }
+
   private SnackbarBuilder createBuilder() {
     RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
     return new SnackbarBuilder(parentView);
   }
 
+  private CoordinatorLayout createAttachedLayout() {
+    Activity attachedActivity = Robolectric.setupActivity(Activity.class);
+    attachedActivity.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout layout = new CoordinatorLayout(attachedActivity);
+    attachedActivity.setContentView(layout);
+    return layout;
+  }
+
+  private void dispatchShown(Snackbar snackbar) {
+    List<Callback> callbacks = ReflectionHelpers.getField(snackbar, "mCallbacks");
+    for (Callback callback : new ArrayList<>(callbacks)) {
+      callback.onShown(snackbar);
+    }
+  }
+
+  private CountdownDrawable getCountdownDrawable(Snackbar snackbar) {
+    TextView action = (TextView) snackbar.getView().findViewById(R.id.snackbar_action);
+    return (CountdownDrawable) action.getCompoundDrawables()[0];
+  }
+
   private MockResourceCreator getResourceCreator(SnackbarBuilder builder) {
     return MockResourceCreator.fromBuilder(builder)
         .withContext(activity)
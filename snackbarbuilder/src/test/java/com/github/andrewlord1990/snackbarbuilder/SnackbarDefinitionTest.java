@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.Color;
+import android.support.design.widget.CoordinatorLayout;
+import android.support.design.widget.Snackbar;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarDefinitionTest {
+
+  private CoordinatorLayout parent;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+  }
+
+  @After
+  public void after() {
+    SnackbarDefinition.clearCache();
+  }
+
+  @Test
+  public void whenGet_thenAttributesLoadedFromXml() {
+    SnackbarDefinition definition = SnackbarDefinition.get(
+        RuntimeEnvironment.application, R.xml.test_snackbarbuilder_definition);
+
+    assertThat(definition.message.toString()).isEqualTo("Item deleted");
+    assertThat(definition.actionText.toString()).isEqualTo("Undo");
+    assertThat(definition.backgroundColor).isEqualTo(0xFF333333);
+    assertThat(definition.duration).isEqualTo(Snackbar.LENGTH_SHORT);
+  }
+
+  @Test
+  public void givenAlreadyLoaded_whenGet_thenSameDefinitionReturned() {
+    SnackbarDefinition first = SnackbarDefinition.get(
+        RuntimeEnvironment.application, R.xml.test_snackbarbuilder_definition);
+
+    SnackbarDefinition second = SnackbarDefinition.get(
+        RuntimeEnvironment.application, R.xml.test_snackbarbuilder_definition);
+
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  public void givenLoadedWithOneTheme_whenGetWithAnotherThemeOfSameStyle_thenSameDefinitionReturned() {
+    SnackbarDefinition first = SnackbarDefinition.get(
+        new ContextThemeWrapper(RuntimeEnvironment.application, R.style.TestSnackbarBuilder_AppTheme),
+        R.xml.test_snackbarbuilder_definition);
+
+    SnackbarDefinition second = SnackbarDefinition.get(
+        new ContextThemeWrapper(RuntimeEnvironment.application, R.style.TestSnackbarBuilder_AppTheme),
+        R.xml.test_snackbarbuilder_definition);
+
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  public void givenAlreadyLoaded_whenThemeStyleAppliedAndGet_thenDefinitionLoadedAgain() {
+    SnackbarDefinition first = SnackbarDefinition.get(
+        RuntimeEnvironment.application, R.xml.test_snackbarbuilder_definition);
+    RuntimeEnvironment.application.getTheme().applyStyle(R.style.TestSnackbarBuilder_CustomTheme, true);
+
+    SnackbarDefinition second = SnackbarDefinition.get(
+        RuntimeEnvironment.application, R.xml.test_snackbarbuilder_definition);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.actionTextColor).isEqualTo(0xFF454545);
+  }
+
+  @Test
+  public void whenBuildWrapper_thenSnackbarMatchesDefinition() {
+    SnackbarDefinition definition = SnackbarDefinition.get(
+        RuntimeEnvironment.application, R.xml.test_snackbarbuilder_definition);
+
+    SnackbarWrapper wrapper = definition.buildWrapper(parent, null);
+
+    assertThat(wrapper.getText().toString()).isEqualTo("Item deleted");
+    assertThat(wrapper.getActionText().toString()).isEqualTo("Undo");
+    assertThat(wrapper.getActionVisibility()).isEqualTo(View.VISIBLE);
+    assertThat(wrapper.getBackgroundColor()).isEqualTo(Color.parseColor("#333333"));
+    assertThat(wrapper.getDuration()).isEqualTo(Snackbar.LENGTH_SHORT);
+  }
+}
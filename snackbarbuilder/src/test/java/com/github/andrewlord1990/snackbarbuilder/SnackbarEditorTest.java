@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.drawable.Drawable;
+import android.support.design.widget.Snackbar;
+
+import com.github.andrewlord1990.snackbarbuilder.render.SnackbarRenderer;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.VirtualScheduler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SnackbarEditorTest {
+
+  @Mock
+  SnackbarRenderer renderer;
+  @Mock
+  Drawable icon;
+  private SnackbarWrapper wrapper;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+    SnackbarClock.setScheduler(new VirtualScheduler());
+
+    wrapper = new SnackbarWrapper(renderer);
+  }
+
+  @After
+  public void after() {
+    SnackbarClock.setScheduler(null);
+  }
+
+  @Test
+  public void givenNoChanges_whenCommit_thenRendererNotChanged() {
+    when(renderer.getMessage()).thenReturn("message");
+    when(renderer.getMessageTextColor()).thenReturn(0xFF112233);
+    when(renderer.getActionText()).thenReturn("action");
+    when(renderer.getActionTextColor()).thenReturn(0xFF445566);
+    when(renderer.getIconMargin()).thenReturn(12);
+    when(renderer.getIcon()).thenReturn(icon);
+    when(renderer.getDuration()).thenReturn(Snackbar.LENGTH_SHORT);
+
+    SnackbarWrapper committed = wrapper.edit()
+        .setText("message")
+        .setTextColor(0xFF112233)
+        .setActionText("action")
+        .setActionTextColor(0xFF445566)
+        .setIconMargin(12)
+        .setIcon(icon)
+        .setDuration(Snackbar.LENGTH_SHORT)
+        .commit();
+
+    assertThat(committed).isSameAs(wrapper);
+    verify(renderer, never()).setMessage(any(CharSequence.class));
+    verify(renderer, never()).setMessageTextColor(anyInt());
+    verify(renderer, never()).setActionText(any(CharSequence.class));
+    verify(renderer, never()).setActionTextColor(anyInt());
+    verify(renderer, never()).setIconMargin(anyInt());
+    verify(renderer, never()).setIcon(any(Drawable.class));
+    verify(renderer, never()).setDuration(anyInt());
+  }
+
+  @Test
+  public void givenChanges_whenCommit_thenOnlyChangedPropertiesApplied() {
+    when(renderer.getMessage()).thenReturn("message");
+    when(renderer.getIconMargin()).thenReturn(12);
+
+    wrapper.edit()
+        .setText("new message")
+        .setTextColor(0xFF112233)
+        .setIconMargin(12)
+        .commit();
+
+    verify(renderer).setMessage("new message");
+    verify(renderer).setMessageTextColor(0xFF112233);
+    verify(renderer, never()).setIconMargin(anyInt());
+  }
+
+  @Test
+  public void whenEditingWithoutCommit_thenRendererNotChanged() {
+    wrapper.edit()
+        .setText("message")
+        .setBackgroundColor(0xFF778899);
+
+    verify(renderer, never()).setMessage(any(CharSequence.class));
+    verify(renderer, never()).setBackgroundColor(anyInt());
+  }
+
+  @Test
+  public void givenSameBackgroundColor_whenCommit_thenBackgroundNotChanged() {
+    wrapper.setBackgroundColor(0xFF778899);
+
+    wrapper.edit()
+        .setBackgroundColor(0xFF778899)
+        .commit();
+
+    verify(renderer).setBackgroundColor(0xFF778899);
+  }
+
+  @Test
+  public void givenSameColorAsTint_whenCommit_thenBackgroundChanged() {
+    wrapper.setBackgroundColor(0xFF778899);
+
+    wrapper.edit()
+        .setBackgroundTint(0xFF778899)
+        .commit();
+
+    verify(renderer).setBackgroundTint(0xFF778899);
+    assertThat(wrapper.isBackgroundTinted()).isTrue();
+  }
+
+  @Test
+  public void givenTextAndAppendedMessage_whenCommit_thenTextSetBeforeAppending() {
+    wrapper.edit()
+        .setText("message")
+        .appendMessage(" more")
+        .commit();
+
+    InOrder inOrder = inOrder(renderer);
+    inOrder.verify(renderer).setMessage("message");
+    inOrder.verify(renderer).appendMessage(" more");
+  }
+
+  @Test
+  public void givenColoredAppendedMessage_whenCommit_thenAppendedWithColor() {
+    wrapper.edit()
+        .appendMessage(" plain")
+        .appendMessage(" colored", 0xFF112233)
+        .commit();
+
+    InOrder inOrder = inOrder(renderer);
+    inOrder.verify(renderer).appendMessage(" plain");
+    inOrder.verify(renderer).appendMessage(" colored", 0xFF112233);
+  }
+
+}
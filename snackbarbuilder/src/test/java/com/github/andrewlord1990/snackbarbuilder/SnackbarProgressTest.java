@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.support.design.widget.CoordinatorLayout;
+import android.support.design.widget.Snackbar;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.VirtualScheduler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarProgressTest {
+
+  private static final long FRAME_MILLIS = 16;
+
+  private VirtualScheduler scheduler;
+  private SnackbarProgress progress;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    scheduler = new VirtualScheduler();
+    SnackbarClock.setScheduler(scheduler);
+    CoordinatorLayout layout = new CoordinatorLayout(RuntimeEnvironment.application);
+    SnackbarWrapper wrapper = new SnackbarWrapper(Snackbar.make(layout, "Uploading", Snackbar.LENGTH_INDEFINITE));
+    progress = SnackbarProgress.attach(wrapper, 200);
+  }
+
+  @After
+  public void after() {
+    SnackbarClock.setScheduler(null);
+  }
+
+  @Test
+  public void whenAttached_thenNoProgressShown() {
+    assertThat(progress.getProgress()).isEqualTo(0);
+    assertThat(progress.progressBar.getMax()).isEqualTo(200);
+    assertThat(progress.progressBar.getProgress()).isEqualTo(0);
+    assertThat(progress.valueView.getText().toString()).isEqualTo("0%");
+  }
+
+  @Test
+  public void givenProgressSetManyTimes_whenFrameRuns_thenLatestProgressShown() {
+    for (int i = 1; i <= 84; i++) {
+      progress.setProgress(i);
+    }
+
+    scheduler.advanceBy(FRAME_MILLIS);
+
+    assertThat(progress.getProgress()).isEqualTo(84);
+    assertThat(progress.progressBar.getProgress()).isEqualTo(84);
+    assertThat(progress.valueView.getText().toString()).isEqualTo("42%");
+  }
+
+  @Test
+  public void givenProgressSet_whenBeforeNextFrame_thenNotShown() {
+    progress.setProgress(100);
+
+    assertThat(progress.getProgress()).isEqualTo(0);
+    assertThat(progress.valueView.getText().toString()).isEqualTo("0%");
+  }
+
+  @Test
+  public void givenProgressSetFromAnotherThread_whenFrameRuns_thenShown() throws InterruptedException {
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        progress.setProgress(200);
+      }
+    });
+    thread.start();
+    thread.join();
+
+    scheduler.advanceBy(FRAME_MILLIS);
+
+    assertThat(progress.getProgress()).isEqualTo(200);
+    assertThat(progress.valueView.getText().toString()).isEqualTo("100%");
+  }
+
+  @Test
+  public void whenProgressOutOfRange_thenClamped() {
+    progress.setProgress(500);
+    scheduler.advanceBy(FRAME_MILLIS);
+
+    assertThat(progress.getProgress()).isEqualTo(200);
+
+    progress.setProgress(-5);
+    scheduler.advanceBy(FRAME_MILLIS);
+
+    assertThat(progress.getProgress()).isEqualTo(0);
+  }
+
+  @Test
+  public void whenFormatPercent_thenDigitsFollowedByPercentSign() {
+    char[] buffer = new char[4];
+
+    int length = SnackbarProgress.formatPercent(7, buffer);
+
+    assertThat(new String(buffer, 0, length)).isEqualTo("7%");
+    assertThat(new String(buffer, 0, SnackbarProgress.formatPercent(42, buffer))).isEqualTo("42%");
+    assertThat(new String(buffer, 0, SnackbarProgress.formatPercent(100, buffer))).isEqualTo("100%");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenMaxNotPositive_thenException() {
+    SnackbarProgress.attach(progress.getWrapper(), 0);
+  }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.Color;
+import android.os.Parcel;
+import android.support.design.widget.CoordinatorLayout;
+import android.support.design.widget.Snackbar;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarSnapshotTest {
+
+  private CoordinatorLayout parent;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+  }
+
+  @Test
+  public void givenNotShown_whenGetRemainingDuration_thenDurationUnchanged() {
+    int remaining = SnackbarSnapshot.getRemainingDuration(Snackbar.LENGTH_LONG, 0, 1000);
+
+    assertThat(remaining).isEqualTo(Snackbar.LENGTH_LONG);
+  }
+
+  @Test
+  public void givenIndefinite_whenGetRemainingDuration_thenIndefinite() {
+    int remaining = SnackbarSnapshot.getRemainingDuration(Snackbar.LENGTH_INDEFINITE, 100, 1000);
+
+    assertThat(remaining).isEqualTo(Snackbar.LENGTH_INDEFINITE);
+  }
+
+  @Test
+  public void givenShownLong_whenGetRemainingDuration_thenElapsedTimeSubtracted() {
+    int remaining = SnackbarSnapshot.getRemainingDuration(Snackbar.LENGTH_LONG, 1000, 2000);
+
+    assertThat(remaining).isEqualTo(SnackbarSnapshot.LONG_DURATION_MILLIS - 1000);
+  }
+
+  @Test
+  public void givenCustomDurationAlmostElapsed_whenGetRemainingDuration_thenMinimumRemaining() {
+    int remaining = SnackbarSnapshot.getRemainingDuration(3000, 1000, 3900);
+
+    assertThat(remaining).isEqualTo(SnackbarSnapshot.MIN_REMAINING_MILLIS);
+  }
+
+  @Test
+  public void whenParcelled_thenStateRestored() {
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .actionText("action")
+        .actionTextColor(Color.RED)
+        .messageTextColor(Color.GREEN)
+        .backgroundColor(Color.BLUE)
+        .iconMargin(12)
+        .duration(5000)
+        .buildWrapper();
+
+    SnackbarSnapshot snapshot = parcelAndUnparcel(wrapper.snapshot());
+
+    assertThat(snapshot.message.toString()).isEqualTo("message");
+    assertThat(snapshot.actionText.toString()).isEqualTo("action");
+    assertThat(snapshot.actionTextColor).isEqualTo(Color.RED);
+    assertThat(snapshot.messageTextColor).isEqualTo(Color.GREEN);
+    assertThat(snapshot.backgroundColor).isEqualTo(Color.BLUE);
+    assertThat(snapshot.iconMargin).isEqualTo(12);
+    assertThat(snapshot.getRemainingDuration()).isEqualTo(5000);
+  }
+
+  @Test
+  public void givenTintedBackground_whenParcelled_thenTintRestored() {
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .backgroundColor(Color.BLUE)
+        .tintBackground(true)
+        .buildWrapper();
+
+    SnackbarSnapshot snapshot = parcelAndUnparcel(wrapper.snapshot());
+
+    assertThat(snapshot.backgroundColor).isEqualTo(Color.BLUE);
+    assertThat(snapshot.backgroundTinted).isTrue();
+  }
+
+  @Test
+  public void whenRestored_thenWrapperHasSnapshotState() {
+    SnackbarWrapper original = new SnackbarBuilder(parent)
+        .message("message")
+        .actionText("action")
+        .actionTextColor(Color.RED)
+        .messageTextColor(Color.GREEN)
+        .buildWrapper();
+    CoordinatorLayout newParent = new CoordinatorLayout(RuntimeEnvironment.application);
+
+    SnackbarWrapper restored = original.snapshot().restore(newParent, null);
+
+    assertThat(restored.getText().toString()).isEqualTo("message");
+    assertThat(restored.getActionText().toString()).isEqualTo("action");
+    assertThat(restored.getActionCurrentTextColor()).isEqualTo(Color.RED);
+    assertThat(restored.getCurrentTextColor()).isEqualTo(Color.GREEN);
+  }
+
+  private SnackbarSnapshot parcelAndUnparcel(SnackbarSnapshot snapshot) {
+    Parcel parcel = Parcel.obtain();
+    try {
+      snapshot.writeToParcel(parcel, 0);
+      parcel.setDataPosition(0);
+      return SnackbarSnapshot.CREATOR.createFromParcel(parcel);
+    } finally {
+      parcel.recycle();
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.drawable.Drawable;
+import android.support.design.widget.Snackbar;
+import android.view.View;
+import android.view.View.OnClickListener;
+
+import com.github.andrewlord1990.snackbarbuilder.render.SnackbarRenderer;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.VirtualScheduler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class SnackbarSpecTest {
+
+  @Mock
+  SnackbarRenderer renderer;
+  @Mock
+  Drawable icon;
+  private SnackbarWrapper wrapper;
+  private final OnClickListener listener = new OnClickListener() {
+    @Override
+    public void onClick(View view) {
+    }
+  };
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+    SnackbarClock.setScheduler(new VirtualScheduler());
+
+    wrapper = new SnackbarWrapper(renderer);
+  }
+
+  @After
+  public void after() {
+    SnackbarClock.setScheduler(null);
+  }
+
+  @Test
+  public void givenSameOptions_whenBuild_thenSpecsEqual() {
+    SnackbarSpec first = createSpec("message").build();
+    SnackbarSpec second = createSpec(new StringBuilder("message")).build();
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.hashCode()).isEqualTo(second.hashCode());
+  }
+
+  @Test
+  public void givenDifferentMessage_whenBuild_thenSpecsNotEqual() {
+    SnackbarSpec first = createSpec("message").build();
+    SnackbarSpec second = createSpec("other").build();
+
+    assertThat(first.equals(second)).isFalse();
+  }
+
+  @Test
+  public void givenDifferentListener_whenBuild_thenSpecsNotEqual() {
+    SnackbarSpec first = createSpec("message").build();
+    SnackbarSpec second = createSpec("message").actionClickListener(new TestClickListener()).build();
+
+    assertThat(first.equals(second)).isFalse();
+  }
+
+  @Test
+  public void givenNoSpecApplied_whenApply_thenRendererChanged() {
+    SnackbarWrapper applied = wrapper.apply(createSpec("message").build());
+
+    assertThat(applied).isSameAs(wrapper);
+    verify(renderer).setAction("action", listener);
+    verify(renderer).setMessage("message");
+    verify(renderer).setMessageTextColor(0xFF112233);
+    verify(renderer).setActionTextColor(0xFF445566);
+    verify(renderer).setBackgroundColor(0xFF778899);
+    verify(renderer).setIcon(icon);
+    verify(renderer).setDuration(Snackbar.LENGTH_SHORT);
+  }
+
+  @Test
+  public void givenNoSpecApplied_whenApplyWithoutAction_thenActionLeftAlone() {
+    wrapper.apply(createSpec("message").actionText(null).actionClickListener(null).build());
+
+    verify(renderer, never()).setAction(any(CharSequence.class), any(OnClickListener.class));
+    verify(renderer, never()).setActionText(any(CharSequence.class));
+    verify(renderer).setMessage("message");
+  }
+
+  @Test
+  public void givenEqualSpecApplied_whenApply_thenRendererNotTouched() {
+    wrapper.apply(createSpec("message").build());
+    reset(renderer);
+
+    wrapper.apply(createSpec(new StringBuilder("message")).build());
+
+    verifyZeroInteractions(renderer);
+  }
+
+  @Test
+  public void givenMessageChanged_whenApply_thenOnlyMessageChanged() {
+    wrapper.apply(createSpec("message").build());
+    reset(renderer);
+
+    wrapper.apply(createSpec("other").build());
+
+    verify(renderer).setMessage("other");
+    verify(renderer, never()).setAction(any(CharSequence.class), any(OnClickListener.class));
+    verify(renderer, never()).setMessageTextColor(anyInt());
+    verify(renderer, never()).setActionTextColor(anyInt());
+    verify(renderer, never()).setBackgroundColor(anyInt());
+    verify(renderer, never()).setIcon(any(Drawable.class));
+    verify(renderer, never()).setDuration(anyInt());
+  }
+
+  @Test
+  public void givenActionRemoved_whenApply_thenActionCleared() {
+    wrapper.apply(createSpec("message").build());
+    reset(renderer);
+
+    wrapper.apply(createSpec("message").actionText(null).actionClickListener(null).build());
+
+    verify(renderer).setAction(eq((CharSequence) null), any(OnClickListener.class));
+    verify(renderer, never()).setMessage(any(CharSequence.class));
+  }
+
+  private SnackbarSpec.Builder createSpec(CharSequence message) {
+    return new SnackbarSpec.Builder()
+        .message(message)
+        .messageTextColor(0xFF112233)
+        .actionText("action")
+        .actionTextColor(0xFF445566)
+        .actionClickListener(listener)
+        .backgroundColor(0xFF778899)
+        .icon(icon)
+        .duration(Snackbar.LENGTH_SHORT);
+  }
+}
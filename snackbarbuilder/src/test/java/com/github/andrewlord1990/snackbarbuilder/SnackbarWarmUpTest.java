@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.support.design.widget.CoordinatorLayout;
+import android.support.design.widget.Snackbar.Callback;
+
+import com.github.andrewlord1990.snackbarbuilder.event.SnackbarEvent;
+import com.github.andrewlord1990.snackbarbuilder.event.SnackbarEventListener;
+import com.github.andrewlord1990.snackbarbuilder.event.SnackbarEventStream;
+import com.github.andrewlord1990.snackbarbuilder.leak.SnackbarLeakWatchdog;
+import com.github.andrewlord1990.snackbarbuilder.render.SnackbarRenderer;
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarWarmUpTest {
+
+  @After
+  public void after() {
+    SnackbarThemeAttributes.clearCache();
+  }
+
+  @Test
+  public void givenNotWarmedUp_whenObtainThemeAttributes_thenLoadedEachTime() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_CustomTheme);
+
+    SnackbarThemeAttributes first = SnackbarThemeAttributes.obtain(RuntimeEnvironment.application);
+    SnackbarThemeAttributes second = SnackbarThemeAttributes.obtain(RuntimeEnvironment.application);
+
+    assertThat(first).isNotSameAs(second);
+  }
+
+  @Test
+  public void givenWarmedUp_whenObtainThemeAttributes_thenCachedAttributesUsed() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_CustomTheme);
+    SnackbarWarmUp.warmUp(RuntimeEnvironment.application, false);
+
+    SnackbarThemeAttributes first = SnackbarThemeAttributes.obtain(RuntimeEnvironment.application);
+    SnackbarThemeAttributes second = SnackbarThemeAttributes.obtain(RuntimeEnvironment.application);
+
+    assertThat(first).isSameAs(second);
+    assertThat(first.actionTextColor).isEqualTo(0xFF454545);
+  }
+
+  @Test
+  public void givenWarmedUp_whenBuilderCreated_thenCachedThemeAttributesApplied() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_CustomTheme);
+    SnackbarWarmUp.warmUp(RuntimeEnvironment.application, true);
+
+    SnackbarBuilder builder = new SnackbarBuilder(new CoordinatorLayout(RuntimeEnvironment.application));
+
+    assertThat(builder.messageTextColor).isEqualTo(0xFF987654);
+    assertThat(builder.iconMargin).isEqualTo(16);
+  }
+
+  @Test
+  public void givenWarmedUp_whenThemeStyleApplied_thenAttributesLoadedAgain() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    SnackbarWarmUp.warmUp(RuntimeEnvironment.application, false);
+    SnackbarThemeAttributes warmedUp = SnackbarThemeAttributes.obtain(RuntimeEnvironment.application);
+
+    RuntimeEnvironment.application.getTheme().applyStyle(R.style.TestSnackbarBuilder_CustomTheme, true);
+    SnackbarThemeAttributes first = SnackbarThemeAttributes.obtain(RuntimeEnvironment.application);
+    SnackbarThemeAttributes second = SnackbarThemeAttributes.obtain(RuntimeEnvironment.application);
+
+    assertThat(first).isNotSameAs(warmedUp);
+    assertThat(first.actionTextColor).isEqualTo(0xFF454545);
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  public void givenSubscriberAndWatchdog_whenUnobservedWrapperCreated_thenNoCallbacksAdded() {
+    SnackbarEventStream stream = new SnackbarEventStream(new IgnoringListener(), new DirectExecutor()).subscribe();
+    SnackbarLeakWatchdog.install(RuntimeEnvironment.application);
+    SnackbarRenderer renderer = mock(SnackbarRenderer.class);
+    when(renderer.getContext()).thenReturn(RuntimeEnvironment.application);
+
+    try {
+      new SnackbarWrapper(renderer, false);
+
+      verify(renderer, never()).addCallback(any(Callback.class));
+    } finally {
+      stream.unsubscribe();
+      SnackbarLeakWatchdog.uninstall();
+    }
+  }
+
+  private static final class IgnoringListener implements SnackbarEventListener {
+
+    @Override
+    public void onSnackbarEvents(List<SnackbarEvent> events) {
+      // Not needed
+    }
+  }
+
+  private static final class DirectExecutor implements Executor {
+
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  }
+}
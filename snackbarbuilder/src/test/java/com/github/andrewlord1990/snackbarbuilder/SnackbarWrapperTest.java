@@ -335,6 +335,34 @@ public class SnackbarWrapperTest {
         .hasColor(Color.WHITE);
   }
 
+  @Test
+  public void whenSetBackgroundTint_thenBackgroundNotReplacedWithColor() {
+    wrapper.setBackgroundTint(Color.MAGENTA);
+
+    assertThat(wrapper.getView().getBackground()).isNotInstanceOf(ColorDrawable.class);
+  }
+
+  @Test
+  public void givenBackgroundTinted_whenSetBackgroundTintAgain_thenSameBackground() {
+    wrapper.setBackgroundTint(Color.MAGENTA);
+    Drawable background = wrapper.getView().getBackground();
+
+    wrapper.setBackgroundTint(Color.RED);
+    wrapper.setBackgroundTint(Color.MAGENTA);
+
+    assertThat(wrapper.getView().getBackground()).isSameAs(background);
+  }
+
+  @Test
+  public void givenBackgroundTinted_whenSetBackgroundColor_thenBackgroundColorSet() {
+    wrapper.setBackgroundTint(Color.MAGENTA);
+
+    wrapper.setBackgroundColor(Color.RED);
+
+    Assertions.assertThat((ColorDrawable) wrapper.getView().getBackground())
+        .hasColor(Color.RED);
+  }
+
   @Test
   public void whenAddCallback_thenCallbackAdded() {
     wrapper.addCallback(callback);
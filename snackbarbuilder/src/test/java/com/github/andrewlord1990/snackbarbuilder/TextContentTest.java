@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.StyleSpan;
+import android.text.style.UnderlineSpan;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class TextContentTest {
+
+  @Test
+  public void whenSameCharacters_thenEqual() {
+    assertThat(TextContent.contentEquals("message", new StringBuilder("message"))).isTrue();
+  }
+
+  @Test
+  public void whenDifferentCharacters_thenNotEqual() {
+    assertThat(TextContent.contentEquals("message", "massage")).isFalse();
+    assertThat(TextContent.contentEquals("message", "messages")).isFalse();
+    assertThat(TextContent.contentEquals(null, "message")).isFalse();
+  }
+
+  @Test
+  public void whenSpansBuiltAgainWithSameContent_thenEqual() {
+    assertThat(TextContent.contentEquals(styledMessage(Color.RED), styledMessage(Color.RED))).isTrue();
+  }
+
+  @Test
+  public void whenSpanContentDiffers_thenNotEqual() {
+    assertThat(TextContent.contentEquals(styledMessage(Color.RED), styledMessage(Color.BLUE))).isFalse();
+  }
+
+  @Test
+  public void whenSpanPositionDiffers_thenNotEqual() {
+    SpannableString first = new SpannableString("message");
+    first.setSpan(new UnderlineSpan(), 0, 3, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    SpannableString second = new SpannableString("message");
+    second.setSpan(new UnderlineSpan(), 0, 4, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+
+    assertThat(TextContent.contentEquals(first, second)).isFalse();
+  }
+
+  @Test
+  public void whenOnlyOneHasSpans_thenNotEqual() {
+    assertThat(TextContent.contentEquals("message", styledMessage(Color.RED))).isFalse();
+  }
+
+  @Test
+  public void whenUnknownSpansAreDifferentInstances_thenNotEqual() {
+    assertThat(TextContent.spanEquals(new Object(), new Object())).isFalse();
+  }
+
+  private static SpannableString styledMessage(int color) {
+    SpannableString message = new SpannableString("message");
+    message.setSpan(new ForegroundColorSpan(color), 0, 3, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    message.setSpan(new StyleSpan(Typeface.BOLD), 3, 7, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    return message;
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.res.ColorStateList;
+import android.graphics.Color;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class TintCacheTest {
+
+  @Before
+  public void before() {
+    TintCache.clear();
+  }
+
+  @Test
+  public void whenGet_thenTintHasColor() {
+    ColorStateList tint = TintCache.get(Color.RED);
+
+    assertThat(tint.getDefaultColor()).isEqualTo(Color.RED);
+  }
+
+  @Test
+  public void givenColorUsed_whenGetAgain_thenSameInstance() {
+    ColorStateList first = TintCache.get(Color.RED);
+    TintCache.get(Color.BLUE);
+
+    ColorStateList second = TintCache.get(Color.RED);
+
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  public void givenFull_whenGetNewColor_thenSizeLimited() {
+    for (int i = 0; i < TintCache.MAX_SIZE; i++) {
+      TintCache.get(i);
+    }
+
+    TintCache.get(Color.RED);
+
+    assertThat(TintCache.size()).isEqualTo(TintCache.MAX_SIZE);
+  }
+
+  @Test
+  public void givenFull_whenAlternatingTwoNewColors_thenBothKeepSameInstance() {
+    for (int i = 0; i < TintCache.MAX_SIZE; i++) {
+      TintCache.get(i);
+    }
+    ColorStateList red = TintCache.get(Color.RED);
+    ColorStateList blue = TintCache.get(Color.BLUE);
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(TintCache.get(Color.RED)).isSameAs(red);
+      assertThat(TintCache.get(Color.BLUE)).isSameAs(blue);
+    }
+  }
+
+  @Test
+  public void givenFull_whenGetNewColor_thenLeastRecentlyUsedDropped() {
+    ColorStateList[] tints = new ColorStateList[TintCache.MAX_SIZE];
+    for (int i = 0; i < TintCache.MAX_SIZE; i++) {
+      tints[i] = TintCache.get(i);
+    }
+    TintCache.get(0);
+
+    TintCache.get(Color.RED);
+
+    assertThat(TintCache.get(0)).isSameAs(tints[0]);
+    assertThat(TintCache.get(1)).isNotSameAs(tints[1]);
+  }
+}
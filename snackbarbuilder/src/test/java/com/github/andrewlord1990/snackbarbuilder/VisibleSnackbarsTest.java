@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.app.Activity;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.design.widget.CoordinatorLayout;
+import android.support.design.widget.Snackbar;
+import android.support.design.widget.Snackbar.Callback;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarClock;
+import com.github.andrewlord1990.snackbarbuilder.time.VirtualScheduler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.Robolectric;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class VisibleSnackbarsTest {
+
+  private static final long FRAME_MILLIS = 16;
+
+  @Mock
+  SnackbarCallback oldCallback;
+  private CoordinatorLayout layout;
+  private View child;
+  private SnackbarWrapper wrapper;
+  private VirtualScheduler scheduler;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+    scheduler = new VirtualScheduler();
+    SnackbarClock.setScheduler(scheduler);
+
+    Activity activity = Robolectric.setupActivity(Activity.class);
+    activity.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    layout = new CoordinatorLayout(activity);
+    child = new View(activity);
+    layout.addView(child);
+    activity.setContentView(layout);
+    wrapper = new SnackbarWrapper(Snackbar.make(layout, "First", Snackbar.LENGTH_LONG));
+    wrapper.addCallback(oldCallback);
+    wrapper.builderCallbacks = Collections.<Callback>singletonList(oldCallback);
+  }
+
+  @After
+  public void after() {
+    SnackbarClock.setScheduler(null);
+  }
+
+  @Test
+  public void givenNotShown_whenFind_thenNotFound() {
+    assertThat(VisibleSnackbars.find(child)).isNull();
+  }
+
+  @Test
+  public void givenShown_whenFindFromViewInSameParent_thenFound() {
+    showInLayout();
+
+    assertThat(VisibleSnackbars.find(child)).isSameAs(wrapper);
+    assertThat(VisibleSnackbars.find(layout)).isSameAs(wrapper);
+  }
+
+  @Test
+  public void givenInParentButNotShownThroughWrapper_whenFind_thenNotFound() {
+    layout.addView(wrapper.getView());
+
+    assertThat(VisibleSnackbars.find(child)).isNull();
+  }
+
+  @Test
+  public void whenBuildWrapper_thenNotRegistered() {
+    SnackbarWrapper built = new SnackbarBuilder(child)
+        .message("Second")
+        .buildWrapper();
+
+    assertThat(built.getView().getTag(R.id.snackbarbuilder_replaceable)).isNull();
+  }
+
+  @Test
+  public void givenBuiltWrapper_whenShow_thenFoundStraightAway() {
+    SnackbarWrapper built = new SnackbarBuilder(child)
+        .message("Second")
+        .buildWrapper();
+
+    built.show();
+
+    assertThat(built.getView().getParent()).isSameAs(layout);
+    assertThat(VisibleSnackbars.find(child)).isSameAs(built);
+  }
+
+  @Test
+  public void givenShown_whenViewRemovedFromParent_thenNotFound() {
+    showInLayout();
+
+    layout.removeView(wrapper.getView());
+
+    assertThat(VisibleSnackbars.find(child)).isNull();
+  }
+
+  @Test
+  public void givenShown_whenReplaceCallbacks_thenOldCallbacksToldTheyWereReplaced() {
+    showInLayout();
+
+    VisibleSnackbars.replaceCallbacks(wrapper, Collections.<Callback>emptyList());
+
+    verify(oldCallback).onSnackbarReplaced(wrapper.getSnackbar());
+    verify(oldCallback).onSnackbarDismissed(wrapper.getSnackbar(), SnackbarCallback.DISMISS_EVENT_REPLACED);
+  }
+
+  @Test
+  public void givenPlainCallback_whenReplaceCallbacks_thenToldDismissedForAnotherSnackbar() {
+    Callback plainCallback = mock(Callback.class);
+    wrapper.builderCallbacks = Collections.singletonList(plainCallback);
+    showInLayout();
+
+    VisibleSnackbars.replaceCallbacks(wrapper, Collections.<Callback>emptyList());
+
+    verify(plainCallback).onDismissed(wrapper.getSnackbar(), Callback.DISMISS_EVENT_CONSECUTIVE);
+    verify(plainCallback, never()).onDismissed(wrapper.getSnackbar(), SnackbarCallback.DISMISS_EVENT_REPLACED);
+  }
+
+  @Test
+  public void givenReplaced_whenReplacedAgain_thenOnlyLatestCallbacksReplaced() {
+    SnackbarCallback newCallback = mock(SnackbarCallback.class);
+    showInLayout();
+    VisibleSnackbars.replaceCallbacks(wrapper, Collections.<Callback>singletonList(newCallback));
+
+    VisibleSnackbars.replaceCallbacks(wrapper, Collections.<Callback>emptyList());
+
+    verify(oldCallback, times(1)).onSnackbarReplaced(wrapper.getSnackbar());
+    verify(newCallback).onSnackbarReplaced(wrapper.getSnackbar());
+  }
+
+  @Test
+  public void givenShown_whenReplaceCurrent_thenContentReplacedInPlace() {
+    showInLayout();
+
+    SnackbarWrapper replaced = new SnackbarBuilder(child)
+        .message("Second")
+        .actionText("Undo")
+        .duration(Snackbar.LENGTH_SHORT)
+        .replaceCurrent();
+
+    assertThat(replaced).isSameAs(wrapper);
+    assertThat(wrapper.getText().toString()).isEqualTo("Second");
+    assertThat(wrapper.getActionText().toString()).isEqualTo("Undo");
+    assertThat(wrapper.getDuration()).isEqualTo(Snackbar.LENGTH_SHORT);
+    verify(oldCallback).onSnackbarReplaced(wrapper.getSnackbar());
+  }
+
+  @Test
+  public void givenShown_whenReplaceCurrentWithoutMessage_thenMessageKept() {
+    showInLayout();
+
+    new SnackbarBuilder(child)
+        .actionText("Undo")
+        .replaceCurrent();
+
+    assertThat(wrapper.getText().toString()).isEqualTo("First");
+    assertThat(wrapper.getActionText().toString()).isEqualTo("Undo");
+  }
+
+  @Test
+  public void givenShownWithAction_whenReplaceCurrentWithoutAction_thenActionKept() {
+    wrapper.setAction("Retry", new View.OnClickListener() {
+      @Override
+      public void onClick(View view) {
+      }
+    });
+    showInLayout();
+
+    new SnackbarBuilder(child)
+        .message("Second")
+        .replaceCurrent();
+
+    assertThat(wrapper.getActionText().toString()).isEqualTo("Retry");
+  }
+
+  @Test
+  public void givenShownWithIcon_whenReplaceCurrentWithoutIcon_thenIconKept() {
+    Drawable icon = new ColorDrawable(Color.RED);
+    wrapper.setIcon(icon);
+    showInLayout();
+
+    new SnackbarBuilder(child)
+        .message("Second")
+        .replaceCurrent();
+
+    assertThat(new AndroidSnackbarRenderer(wrapper.getSnackbar()).getIcon()).isSameAs(icon);
+  }
+
+  @Test
+  public void givenShown_whenReplaceCurrentWithIcon_thenIconReplaced() {
+    wrapper.setIcon(new ColorDrawable(Color.RED));
+    showInLayout();
+    Drawable icon = new ColorDrawable(Color.BLUE);
+
+    new SnackbarBuilder(child)
+        .message("Second")
+        .icon(icon)
+        .replaceCurrent();
+
+    assertThat(new AndroidSnackbarRenderer(wrapper.getSnackbar()).getIcon()).isSameAs(icon);
+  }
+
+  @Test
+  public void givenShown_whenReplaceCurrentWithHardwareLayerAnimations_thenLayerReleasedAtRest() {
+    showInLayout();
+
+    new SnackbarBuilder(child)
+        .message("Second")
+        .hardwareLayerAnimations(true)
+        .replaceCurrent();
+    HardwareLayerCallback callback =
+        (HardwareLayerCallback) wrapper.getView().getTag(R.id.snackbarbuilder_hardware_layer);
+    wrapper.getView().setTranslationY(0);
+    callback.onPreDraw();
+
+    assertThat(callback.isLayered()).isFalse();
+    assertThat(wrapper.getView().getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void givenShown_whenReplaceCurrentWithActionCountdown_thenCountsDownFromReplacement() {
+    showInLayout();
+
+    new SnackbarBuilder(child)
+        .message("Second")
+        .actionText("Undo")
+        .duration(Snackbar.LENGTH_LONG)
+        .actionCountdown(true)
+        .replaceCurrent();
+    CountdownCallback countdown = CountdownCallback.find(wrapper);
+    scheduler.advanceBy(FRAME_MILLIS * 86);
+
+    assertThat(countdown.isCounting()).isTrue();
+    assertThat(countdown.drawable.getSweepDegrees()).isEqualTo(180);
+  }
+
+  @Test
+  public void givenCountingDown_whenReplaceCurrent_thenCountdownRestarts() {
+    CountdownCallback countdown = CountdownCallback.attach(wrapper);
+    showInLayout();
+    countdown.onShown(wrapper.getSnackbar());
+    scheduler.advanceBy(FRAME_MILLIS * 86);
+
+    new SnackbarBuilder(child)
+        .message("Second")
+        .duration(Snackbar.LENGTH_LONG)
+        .replaceCurrent();
+
+    assertThat(CountdownCallback.find(wrapper)).isSameAs(countdown);
+    assertThat(countdown.drawable.getSweepDegrees()).isEqualTo(360);
+    scheduler.advanceBy(FRAME_MILLIS * 86);
+    assertThat(countdown.drawable.getSweepDegrees()).isEqualTo(180);
+  }
+
+  @Test
+  public void givenNothingShown_whenReplaceCurrent_thenNewSnackbarBuilt() {
+    SnackbarWrapper built = new SnackbarBuilder(child)
+        .message("Second")
+        .replaceCurrent();
+
+    assertThat(built).isNotSameAs(wrapper);
+    assertThat(built.getText().toString()).isEqualTo("Second");
+  }
+
+  @Test
+  public void whenFindSuitableParent_thenClosestCoordinatorLayout() {
+    FrameLayout frame = new FrameLayout(child.getContext());
+    FrameLayout innerFrame = new FrameLayout(child.getContext());
+    View view = new View(child.getContext());
+    innerFrame.addView(view);
+    frame.addView(innerFrame);
+
+    assertThat(VisibleSnackbars.findSuitableParent(child)).isSameAs(layout);
+    assertThat(VisibleSnackbars.findSuitableParent(view)).isSameAs(frame);
+  }
+
+  private void showInLayout() {
+    VisibleSnackbars.register(wrapper);
+    layout.addView(wrapper.getView());
+  }
+
+}
@@ -93,6 +93,12 @@ public class SnackbarCallbackTest {
         super.onSnackbarDismissedAfterAnotherShown(snackbar);
         Log.v(SnackbarCallback.class.getSimpleName(), "onSnackbarDismissedAfterAnotherShown");
       }
+
+      @Override
+      public void onSnackbarReplaced(Snackbar snackbar) {
+        super.onSnackbarReplaced(snackbar);
+        Log.v(SnackbarCallback.class.getSimpleName(), "onSnackbarReplaced");
+      }
     };
   }
 
@@ -168,4 +174,22 @@ public class SnackbarCallbackTest {
     assertThat(logs.get(0).msg).isEqualTo("onSnackbarDismissedAfterAnotherShown");
   }
 
-}
\ No newline at end of file
+  @Test
+  public void whenOnSnackbarReplaced_thenSnackbarReplacedMessageLogged() {
+    callbackUnderTest.onSnackbarReplaced(snackbar);
+
+    List<LogItem> logs = ShadowLog.getLogsForTag(SnackbarCallback.class.getSimpleName());
+    assertThat(logs).hasSize(1);
+    assertThat(logs.get(0).msg).isEqualTo("onSnackbarReplaced");
+  }
+
+  @Test
+  public void whenOnDismissedWithReplacedEvent_thenSnackbarReplacedMessageLogged() {
+    callbackUnderTest.onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_REPLACED);
+
+    List<LogItem> logs = ShadowLog.getLogsForTag(SnackbarCallback.class.getSimpleName());
+    assertThat(logs).hasSize(3);
+    assertThat(logs.get(0).msg).isEqualTo("onSnackbarReplaced");
+  }
+
+}
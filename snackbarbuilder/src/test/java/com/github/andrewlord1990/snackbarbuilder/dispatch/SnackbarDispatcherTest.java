@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.dispatch;
+
+import android.widget.Toast;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarScheduler;
+import com.github.andrewlord1990.snackbarbuilder.toastbuilder.ToastBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarDispatcherTest {
+
+  @Mock
+  SnackbarScheduler scheduler;
+  @Mock
+  ToastBuilder toastBuilder;
+  @Mock
+  Toast toast;
+  private SnackbarDispatcher dispatcherUnderTest;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+
+    when(toastBuilder.build()).thenReturn(toast);
+    dispatcherUnderTest = new SnackbarDispatcher(scheduler);
+  }
+
+  @Test
+  public void whenMultipleRequestsDispatched_thenSingleMessagePosted() {
+    dispatcherUnderTest.dispatch(new RecordingRequest(new ArrayList<String>(), "first"));
+    dispatcherUnderTest.dispatch(new RecordingRequest(new ArrayList<String>(), "second"));
+    dispatcherUnderTest.show(toastBuilder);
+
+    verify(scheduler, times(1)).post(any(Runnable.class));
+  }
+
+  @Test
+  public void whenDrained_thenRequestsRunInOrder() {
+    List<String> ran = new ArrayList<>();
+    dispatcherUnderTest.dispatch(new RecordingRequest(ran, "first"));
+    dispatcherUnderTest.dispatch(new RecordingRequest(ran, "second"));
+
+    drain();
+
+    assertThat(ran).containsExactly("first", "second");
+  }
+
+  @Test
+  public void givenToastBuilder_whenDrained_thenToastShown() {
+    dispatcherUnderTest.show(toastBuilder);
+
+    drain();
+
+    verify(toast).show();
+  }
+
+  @Test
+  public void givenDrained_whenRequestDispatched_thenNewMessagePosted() {
+    dispatcherUnderTest.dispatch(new RecordingRequest(new ArrayList<String>(), "first"));
+    drain();
+
+    dispatcherUnderTest.dispatch(new RecordingRequest(new ArrayList<String>(), "second"));
+
+    verify(scheduler, times(2)).post(any(Runnable.class));
+  }
+
+  @Test
+  public void givenNoRequests_thenNoMessagePosted() {
+    verify(scheduler, never()).post(any(Runnable.class));
+  }
+
+  private void drain() {
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).post(captor.capture());
+    captor.getValue().run();
+  }
+
+  private static final class RecordingRequest implements Runnable {
+
+    private final List<String> ran;
+    private final String name;
+
+    RecordingRequest(List<String> ran, String name) {
+      this.ran = ran;
+      this.name = name;
+    }
+
+    @Override
+    public void run() {
+      ran.add(name);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.event;
+
+import android.support.design.widget.Snackbar;
+import android.support.design.widget.Snackbar.Callback;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarEventStreamTest {
+
+  @Mock
+  Snackbar snackbar;
+  private QueuedExecutor executor;
+  private RecordingListener listener;
+  private SnackbarEventStream streamUnderTest;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+
+    executor = new QueuedExecutor();
+    listener = new RecordingListener();
+    streamUnderTest = new SnackbarEventStream(listener, executor);
+  }
+
+  @After
+  public void after() {
+    streamUnderTest.unsubscribe();
+  }
+
+  @Test
+  public void whenSubscribed_thenHasSubscribers() {
+    streamUnderTest.subscribe();
+
+    assertThat(SnackbarEventStream.hasSubscribers()).isTrue();
+  }
+
+  @Test
+  public void whenUnsubscribed_thenNoSubscribers() {
+    streamUnderTest.subscribe();
+
+    streamUnderTest.unsubscribe();
+
+    assertThat(SnackbarEventStream.hasSubscribers()).isFalse();
+  }
+
+  @Test
+  public void whenEventsPublished_thenDeliveredInSingleBatch() {
+    streamUnderTest.subscribe();
+
+    SnackbarEventStream.publisher().onShown(snackbar);
+    SnackbarEventStream.publisher().onDismissed(snackbar, Callback.DISMISS_EVENT_TIMEOUT);
+    executor.runAll();
+
+    assertThat(executor.executedCount).isEqualTo(1);
+    assertThat(listener.batches).containsExactly(2);
+    assertThat(listener.types).containsExactly(SnackbarEvent.TYPE_SHOWN, SnackbarEvent.TYPE_DISMISSED);
+    assertThat(listener.dismissEvents).containsExactly(0, Callback.DISMISS_EVENT_TIMEOUT);
+  }
+
+  @Test
+  public void givenDropOldest_whenBufferFull_thenNewestEventsKept() {
+    streamUnderTest.capacity(2).subscribe();
+
+    publishDismissed(Callback.DISMISS_EVENT_SWIPE);
+    publishDismissed(Callback.DISMISS_EVENT_ACTION);
+    publishDismissed(Callback.DISMISS_EVENT_TIMEOUT);
+    executor.runAll();
+
+    assertThat(listener.dismissEvents)
+        .containsExactly(Callback.DISMISS_EVENT_ACTION, Callback.DISMISS_EVENT_TIMEOUT);
+    assertThat(streamUnderTest.getDroppedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenSample_whenBufferFull_thenOnlySampledEventsKept() {
+    streamUnderTest.capacity(1)
+        .overflowPolicy(SnackbarEventStream.OVERFLOW_SAMPLE, 2)
+        .subscribe();
+
+    publishDismissed(Callback.DISMISS_EVENT_SWIPE);
+    publishDismissed(Callback.DISMISS_EVENT_ACTION);
+    publishDismissed(Callback.DISMISS_EVENT_TIMEOUT);
+    executor.runAll();
+
+    assertThat(listener.dismissEvents).containsExactly(Callback.DISMISS_EVENT_TIMEOUT);
+    assertThat(streamUnderTest.getDroppedCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void givenUnsubscribed_whenEventPublished_thenNotDelivered() {
+    streamUnderTest.subscribe();
+    streamUnderTest.unsubscribe();
+
+    publishDismissed(Callback.DISMISS_EVENT_SWIPE);
+    executor.runAll();
+
+    assertThat(listener.types).isEmpty();
+  }
+
+  private void publishDismissed(int dismissEvent) {
+    SnackbarEventStream.publisher().onDismissed(snackbar, dismissEvent);
+  }
+
+  private static final class QueuedExecutor implements Executor {
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private int executedCount;
+
+    @Override
+    public void execute(Runnable command) {
+      queued.add(command);
+    }
+
+    void runAll() {
+      while (!queued.isEmpty()) {
+        executedCount++;
+        queued.remove(0).run();
+      }
+    }
+  }
+
+  private static final class RecordingListener implements SnackbarEventListener {
+
+    private final List<Integer> batches = new ArrayList<>();
+    private final List<Integer> types = new ArrayList<>();
+    private final List<Integer> dismissEvents = new ArrayList<>();
+
+    @Override
+    public void onSnackbarEvents(List<SnackbarEvent> events) {
+      batches.add(events.size());
+      for (SnackbarEvent event : events) {
+        types.add(event.getType());
+        dismissEvents.add(event.getDismissEvent());
+      }
+    }
+  }
+}
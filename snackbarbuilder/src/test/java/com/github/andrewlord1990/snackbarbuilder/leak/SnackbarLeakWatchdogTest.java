@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.andrewlord1990.snackbarbuilder.leak;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.support.design.widget.CoordinatorLayout;
+
+import com.github.andrewlord1990.snackbarbuilder.R;
+import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.github.andrewlord1990.snackbarbuilder.toastbuilder.ToastBuilder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarLeakWatchdogTest {
+
+  private static final long RETAINED_DELAY_MILLIS = 60000;
+
+  @Mock
+  Activity activity;
+  private RecordingReporter reporter;
+  private SnackbarLeakWatchdog watchdog;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+
+    reporter = new RecordingReporter();
+    SnackbarLeakWatchdog.install(RuntimeEnvironment.application, reporter, RETAINED_DELAY_MILLIS);
+    watchdog = SnackbarLeakWatchdog.getInstance();
+  }
+
+  @After
+  public void after() {
+    SnackbarLeakWatchdog.uninstall();
+  }
+
+  @Test
+  public void whenInstall_thenInstalled() {
+    assertThat(SnackbarLeakWatchdog.isInstalled()).isTrue();
+  }
+
+  @Test
+  public void givenNotInstalled_whenWatch_thenNotTracked() {
+    SnackbarLeakWatchdog.uninstall();
+
+    SnackbarLeakWatchdog.watch(new Object(), activity);
+
+    assertThat(SnackbarLeakWatchdog.isInstalled()).isFalse();
+    assertThat(watchdog.getTrackedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void whenWatch_thenTracked() {
+    Object watched = new Object();
+
+    SnackbarLeakWatchdog.watch(watched, activity);
+
+    assertThat(watchdog.getTrackedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenNotRetired_whenReport_thenNoLeaks() {
+    Object watched = new Object();
+    SnackbarLeakWatchdog.watch(watched, activity);
+
+    watchdog.reportRetainedReferences(SystemClock.uptimeMillis() + RETAINED_DELAY_MILLIS);
+
+    assertThat(reporter.leaks).isEmpty();
+    assertThat(watchdog.getTrackedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenRetiredAndRetained_whenReport_thenLeakReported() {
+    Object watched = new Object();
+    SnackbarLeakWatchdog.watch(watched, activity);
+    SnackbarLeakWatchdog.retire(watched, "dismissed");
+
+    watchdog.reportRetainedReferences(SystemClock.uptimeMillis() + RETAINED_DELAY_MILLIS);
+
+    assertThat(reporter.leaks).hasSize(1);
+    LeakedInstance leak = reporter.leaks.get(0);
+    assertThat(leak.getClassName()).isEqualTo(Object.class.getName());
+    assertThat(leak.getReason()).isEqualTo("dismissed");
+    assertThat(leak.getCreationSite()).isNotNull();
+    assertThat(leak.getRetainedMillis()).isGreaterThanOrEqualTo(RETAINED_DELAY_MILLIS);
+    assertThat(watchdog.getTrackedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void givenRetiredRecently_whenReport_thenNotReportedYet() {
+    Object watched = new Object();
+    SnackbarLeakWatchdog.watch(watched, activity);
+    SnackbarLeakWatchdog.retire(watched, "dismissed");
+
+    watchdog.reportRetainedReferences(SystemClock.uptimeMillis());
+
+    assertThat(reporter.leaks).isEmpty();
+    assertThat(watchdog.getTrackedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenActivityDestroyed_whenReport_thenLeakReportedWithActivity() {
+    Object watched = new Object();
+    SnackbarLeakWatchdog.watch(watched, activity);
+
+    watchdog.retireAll(activity);
+    watchdog.reportRetainedReferences(SystemClock.uptimeMillis() + RETAINED_DELAY_MILLIS);
+
+    assertThat(reporter.leaks).hasSize(1);
+    assertThat(reporter.leaks.get(0).getReason()).endsWith(" destroyed");
+  }
+
+  @Test
+  public void givenIgnored_whenRetired_thenNotReported() {
+    Object watched = new Object();
+    SnackbarLeakWatchdog.watch(watched, activity);
+
+    SnackbarLeakWatchdog.ignore(watched);
+    SnackbarLeakWatchdog.retire(watched, "dismissed");
+    watchdog.reportRetainedReferences(SystemClock.uptimeMillis() + RETAINED_DELAY_MILLIS);
+
+    assertThat(reporter.leaks).isEmpty();
+    assertThat(watchdog.getTrackedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void givenWeakReferences_whenSnackbarBuilderWeakReferencesDisabled_thenTrackedAgain() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    SnackbarBuilder builder = new SnackbarBuilder(new CoordinatorLayout(RuntimeEnvironment.application));
+    builder.weakReferences(true);
+    assertThat(watchdog.getTrackedCount()).isEqualTo(0);
+
+    builder.weakReferences(false);
+
+    assertThat(watchdog.getTrackedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenWeakReferences_whenToastBuilderWeakReferencesDisabled_thenTrackedAgain() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = new ToastBuilder(RuntimeEnvironment.application);
+    builder.weakReferences(true);
+    assertThat(watchdog.getTrackedCount()).isEqualTo(0);
+
+    builder.weakReferences(false);
+
+    assertThat(watchdog.getTrackedCount()).isEqualTo(1);
+  }
+
+  private static final class RecordingReporter implements LeakReporter {
+
+    private final List<LeakedInstance> leaks = new ArrayList<>();
+
+    @Override
+    public void onLeakDetected(LeakedInstance leak) {
+      leaks.add(leak);
+    }
+  }
+}
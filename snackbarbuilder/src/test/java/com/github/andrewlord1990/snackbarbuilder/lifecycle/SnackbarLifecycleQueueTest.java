@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.lifecycle;
+
+import android.app.Activity;
+import android.support.design.widget.CoordinatorLayout;
+
+import com.github.andrewlord1990.snackbarbuilder.R;
+import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarLifecycleQueueTest {
+
+  @Mock
+  Activity activity;
+  private SnackbarLifecycleQueue queueUnderTest;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    queueUnderTest = new SnackbarLifecycleQueue(2);
+  }
+
+  @Test
+  public void givenResumed_whenShow_thenBuiltStraightAway() {
+    CountingRequest request = new CountingRequest();
+    queueUnderTest.onResumed(activity);
+
+    queueUnderTest.show(activity, request);
+
+    assertThat(request.createdCount).isEqualTo(1);
+    assertThat(queueUnderTest.getPendingCount(activity)).isEqualTo(0);
+  }
+
+  @Test
+  public void givenPaused_whenShow_thenNotBuilt() {
+    CountingRequest request = new CountingRequest();
+    queueUnderTest.onResumed(activity);
+    queueUnderTest.onPaused(activity);
+
+    queueUnderTest.show(activity, request);
+
+    assertThat(request.createdCount).isEqualTo(0);
+    assertThat(queueUnderTest.getPendingCount(activity)).isEqualTo(1);
+  }
+
+  @Test
+  public void givenPendingRequests_whenResumed_thenAllBuilt() {
+    CountingRequest first = new CountingRequest();
+    CountingRequest second = new CountingRequest();
+    queueUnderTest.show(activity, first);
+    queueUnderTest.show(activity, second);
+
+    queueUnderTest.onResumed(activity);
+
+    assertThat(first.createdCount).isEqualTo(1);
+    assertThat(second.createdCount).isEqualTo(1);
+    assertThat(queueUnderTest.getPendingCount(activity)).isEqualTo(0);
+  }
+
+  @Test
+  public void givenQueueFull_whenShow_thenOldestRequestDropped() {
+    CountingRequest oldest = new CountingRequest();
+    CountingRequest newest = new CountingRequest();
+    queueUnderTest.show(activity, oldest);
+    queueUnderTest.show(activity, new CountingRequest());
+    queueUnderTest.show(activity, newest);
+
+    queueUnderTest.onResumed(activity);
+
+    assertThat(oldest.createdCount).isEqualTo(0);
+    assertThat(newest.createdCount).isEqualTo(1);
+  }
+
+  @Test
+  public void givenPendingRequests_whenDestroyed_thenRequestsDiscarded() {
+    CountingRequest request = new CountingRequest();
+    queueUnderTest.show(activity, request);
+
+    queueUnderTest.onDestroyed(activity);
+
+    assertThat(queueUnderTest.getPendingCount(activity)).isEqualTo(0);
+    assertThat(request.createdCount).isEqualTo(0);
+  }
+
+  @Test
+  public void givenActivityResumedBeforeInstall_whenShow_thenBuiltStraightAway() {
+    Activity resumedActivity = Robolectric.buildActivity(Activity.class).create().start().resume().visible().get();
+    CountingRequest request = new CountingRequest();
+
+    queueUnderTest.show(resumedActivity, request);
+
+    assertThat(request.createdCount).isEqualTo(1);
+    assertThat(queueUnderTest.getPendingCount(resumedActivity)).isEqualTo(0);
+  }
+
+  @Test
+  public void givenActivityResumedBeforeInstall_whenPausedAndShow_thenNotBuilt() {
+    Activity resumedActivity = Robolectric.buildActivity(Activity.class).create().start().resume().visible().get();
+    CountingRequest request = new CountingRequest();
+    queueUnderTest.onPaused(resumedActivity);
+
+    queueUnderTest.show(resumedActivity, request);
+
+    assertThat(request.createdCount).isEqualTo(0);
+    assertThat(queueUnderTest.getPendingCount(resumedActivity)).isEqualTo(1);
+  }
+
+  @Test
+  public void givenPendingRequests_whenCapacityReduced_thenOldestRequestsDropped() {
+    CountingRequest oldest = new CountingRequest();
+    CountingRequest newest = new CountingRequest();
+    queueUnderTest.show(activity, oldest);
+    queueUnderTest.show(activity, newest);
+
+    queueUnderTest.setCapacity(1);
+    queueUnderTest.onResumed(activity);
+
+    assertThat(oldest.createdCount).isEqualTo(0);
+    assertThat(newest.createdCount).isEqualTo(1);
+  }
+
+  @Test
+  public void givenInstalled_whenInstallWithNewCapacity_thenNewCapacityUsed() {
+    SnackbarLifecycleQueue.install(RuntimeEnvironment.application, 2);
+
+    SnackbarLifecycleQueue queue = SnackbarLifecycleQueue.install(RuntimeEnvironment.application, 5);
+
+    assertThat(queue.getCapacity()).isEqualTo(5);
+    assertThat(SnackbarLifecycleQueue.getInstance()).isSameAs(queue);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenInstallWithZeroCapacity_thenIllegalArgument() {
+    SnackbarLifecycleQueue.install(RuntimeEnvironment.application, 0);
+  }
+
+  @Test
+  public void givenInstalled_whenInstallWithNegativeCapacity_thenCapacityKept() {
+    SnackbarLifecycleQueue queue = SnackbarLifecycleQueue.install(RuntimeEnvironment.application, 3);
+
+    try {
+      SnackbarLifecycleQueue.install(RuntimeEnvironment.application, -1);
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+
+    assertThat(queue.getCapacity()).isEqualTo(3);
+  }
+
+  private static final class CountingRequest implements SnackbarRequest {
+
+    private int createdCount;
+
+    @Override
+    public SnackbarBuilder createBuilder(Activity activity) {
+      createdCount++;
+      return new SnackbarBuilder(new CoordinatorLayout(RuntimeEnvironment.application))
+          .message("message");
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.time;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FrameTickerTest {
+
+  private VirtualScheduler scheduler;
+  private AtomicInteger runs;
+  private FrameTicker ticker;
+
+  @Before
+  public void before() {
+    scheduler = new VirtualScheduler();
+    SnackbarClock.setScheduler(scheduler);
+    runs = new AtomicInteger();
+    ticker = FrameTicker.create(new Runnable() {
+      @Override
+      public void run() {
+        runs.incrementAndGet();
+      }
+    });
+  }
+
+  @After
+  public void after() {
+    SnackbarClock.setScheduler(null);
+  }
+
+  @Test
+  public void givenScheduledManyTimes_whenFrameRuns_thenTaskRunOnce() {
+    for (int i = 0; i < 100; i++) {
+      ticker.schedule();
+    }
+
+    scheduler.advanceBy(FrameTicker.FRAME_MILLIS);
+
+    assertThat(runs.get()).isEqualTo(1);
+    assertThat(ticker.isScheduled()).isFalse();
+  }
+
+  @Test
+  public void givenScheduled_whenBeforeNextFrame_thenTaskNotRun() {
+    ticker.schedule();
+
+    scheduler.advanceBy(FrameTicker.FRAME_MILLIS - 1);
+
+    assertThat(runs.get()).isEqualTo(0);
+    assertThat(ticker.isScheduled()).isTrue();
+  }
+
+  @Test
+  public void givenScheduled_whenCancelled_thenTaskNotRun() {
+    ticker.schedule();
+
+    ticker.cancel();
+    scheduler.advanceBy(FrameTicker.FRAME_MILLIS);
+
+    assertThat(runs.get()).isEqualTo(0);
+    assertThat(scheduler.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void givenTaskSchedulesItself_whenFramesRun_thenTaskRunEachFrame() {
+    ticker = FrameTicker.create(new Runnable() {
+      @Override
+      public void run() {
+        runs.incrementAndGet();
+        ticker.schedule();
+      }
+    });
+    ticker.schedule();
+
+    scheduler.advanceBy(FrameTicker.FRAME_MILLIS * 10);
+
+    assertThat(runs.get()).isEqualTo(10);
+  }
+
+  @Test
+  public void givenScheduledFromAnotherThreadDuringCancel_whenBothFinish_thenTaskStillPosted() throws Exception {
+    InterleavingTicker interleavingTicker = new InterleavingTicker();
+    interleavingTicker.schedule();
+
+    interleavingTicker.cancel();
+    interleavingTicker.scheduling.join();
+
+    assertThat(interleavingTicker.isScheduled()).isTrue();
+    assertThat(interleavingTicker.posted).isTrue();
+  }
+
+  private static final class InterleavingTicker extends FrameTicker {
+
+    volatile boolean posted;
+    Thread scheduling;
+
+    InterleavingTicker() {
+      super(new Runnable() {
+        @Override
+        public void run() {
+          // Not needed
+        }
+      });
+    }
+
+    @Override
+    void post() {
+      posted = true;
+    }
+
+    @Override
+    void remove() {
+      if (scheduling == null) {
+        scheduling = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            schedule();
+          }
+        });
+        scheduling.start();
+        try {
+          scheduling.join(100);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      posted = false;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.time;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualSchedulerTest {
+
+  private VirtualScheduler scheduler;
+  private List<String> ran;
+
+  @Before
+  public void before() {
+    scheduler = new VirtualScheduler();
+    ran = new ArrayList<>();
+  }
+
+  @After
+  public void after() {
+    SnackbarClock.setScheduler(null);
+  }
+
+  @Test
+  public void givenDelayedTask_whenAdvancedLessThanDelay_thenNotRun() {
+    scheduler.postDelayed(record("task"), 1000);
+
+    scheduler.advanceBy(999);
+
+    assertThat(ran).isEmpty();
+    assertThat(scheduler.uptimeMillis()).isEqualTo(999);
+  }
+
+  @Test
+  public void givenDelayedTasks_whenAdvanced_thenRunInDueOrder() {
+    scheduler.postDelayed(record("second"), 2000);
+    scheduler.postDelayed(record("first"), 1000);
+    scheduler.post(record("now"));
+
+    scheduler.advanceBy(2000);
+
+    assertThat(ran).containsExactly("now", "first", "second");
+    assertThat(scheduler.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void givenTasksDueAtSameTime_whenAdvanced_thenRunInPostedOrder() {
+    scheduler.postDelayed(record("first"), 500);
+    scheduler.postDelayed(record("second"), 500);
+
+    scheduler.advanceBy(500);
+
+    assertThat(ran).containsExactly("first", "second");
+  }
+
+  @Test
+  public void givenTaskPostingTask_whenAdvanced_thenPostedTaskRunsAtItsDueTime() {
+    final List<Long> times = new ArrayList<>();
+    scheduler.postDelayed(new Runnable() {
+      @Override
+      public void run() {
+        times.add(scheduler.uptimeMillis());
+        scheduler.postDelayed(new Runnable() {
+          @Override
+          public void run() {
+            times.add(scheduler.uptimeMillis());
+          }
+        }, 300);
+      }
+    }, 200);
+
+    scheduler.advanceBy(1000);
+
+    assertThat(times).containsExactly(200L, 500L);
+    assertThat(scheduler.uptimeMillis()).isEqualTo(1000);
+  }
+
+  @Test
+  public void givenRemovedTask_whenAdvanced_thenNotRun() {
+    Runnable task = record("task");
+    scheduler.postDelayed(task, 100);
+    scheduler.postDelayed(task, 200);
+
+    scheduler.removeCallbacks(task);
+    scheduler.advanceBy(1000);
+
+    assertThat(ran).isEmpty();
+  }
+
+  @Test
+  public void whenRunNext_thenTimeMovesToNextTask() {
+    scheduler.postDelayed(record("task"), 750);
+
+    boolean hadTask = scheduler.runNext();
+
+    assertThat(hadTask).isTrue();
+    assertThat(ran).containsExactly("task");
+    assertThat(scheduler.uptimeMillis()).isEqualTo(750);
+    assertThat(scheduler.runNext()).isFalse();
+  }
+
+  @Test
+  public void whenSetScheduler_thenClockUsesIt() {
+    scheduler.advanceBy(1234);
+
+    SnackbarClock.setScheduler(scheduler);
+
+    assertThat(SnackbarClock.getScheduler()).isSameAs(scheduler);
+    assertThat(SnackbarClock.uptimeMillis()).isEqualTo(1234);
+  }
+
+  @Test
+  public void givenSchedulerSet_whenSetNull_thenDefaultRestored() {
+    SnackbarClock.setScheduler(scheduler);
+
+    SnackbarClock.setScheduler(null);
+
+    assertThat(SnackbarClock.getScheduler()).isInstanceOf(MainThreadScheduler.class);
+  }
+
+  private Runnable record(final String name) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        ran.add(name);
+      }
+    };
+  }
+}
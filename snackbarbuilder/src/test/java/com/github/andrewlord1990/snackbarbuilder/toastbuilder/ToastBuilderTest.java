@@ -16,8 +16,10 @@
 
 package com.github.andrewlord1990.snackbarbuilder.toastbuilder;
 
+import android.app.Activity;
 import android.content.Context;
 import android.content.res.Resources;
+import android.os.SystemClock;
 import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
 import android.support.annotation.StringRes;
@@ -36,10 +38,14 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.robolectric.Robolectric;
 import org.robolectric.RuntimeEnvironment;
 import org.robolectric.annotation.Config;
 
+import java.lang.ref.WeakReference;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
 @RunWith(LibraryRobolectricTestRunner.class)
@@ -237,6 +243,274 @@ public class ToastBuilderTest {
     assertThat(textView.getText().toString()).isEqualTo(message);
   }
 
+  @Test
+  public void givenCustomViewLayout_whenBuild_thenLayoutInflatedWithMessage() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+
+    Toast toast = new ToastBuilder(RuntimeEnvironment.application)
+        .customViewLayout(android.R.layout.simple_list_item_1)
+        .customViewMessageViewId(android.R.id.text1)
+        .message("message")
+        .build();
+
+    TextView messageView = (TextView) toast.getView().findViewById(android.R.id.text1);
+    assertThat(messageView.getText().toString()).isEqualTo("message");
+  }
+
+  @Test
+  public void givenCustomViewLayoutToastFinished_whenBuild_thenViewReused() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = createLayoutBuilder().message("first");
+    Toast first = builder.build();
+    first.show();
+    PooledToastView firstView = (PooledToastView) first.getView();
+    firstView.onAttachedToWindow();
+    firstView.onDetachedFromWindow();
+
+    Toast toast = builder.message("second").build();
+
+    assertThat(toast.getView()).isSameAs(firstView);
+    assertThat(firstView.getMessageView(android.R.id.text1).getText().toString()).isEqualTo("second");
+  }
+
+  @Test
+  public void givenCustomViewLayoutToastShowing_whenBuild_thenNewViewInflated() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = createLayoutBuilder();
+    Toast first = builder.build();
+    first.show();
+
+    Toast toast = builder.build();
+
+    assertThat(toast.getView()).isNotSameAs(first.getView());
+  }
+
+  @Test
+  public void givenCustomViewLayoutToastShownButNotYetAttached_whenBuild_thenNewViewInflated() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = createLayoutBuilder();
+    Toast first = builder.build();
+    first.show();
+    ((PooledToastView) first.getView()).onDetachedFromWindow();
+
+    Toast toast = builder.build();
+
+    assertThat(toast.getView()).isNotSameAs(first.getView());
+  }
+
+  @Test
+  public void givenCustomViewLayoutToastCancelledBeforeShowing_whenBuild_thenViewReused() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = createLayoutBuilder();
+    Toast first = builder.build();
+    first.cancel();
+
+    Toast toast = builder.build();
+
+    assertThat(toast.getView()).isSameAs(first.getView());
+  }
+
+  @Test
+  public void givenCustomViewLayoutToastNeverShown_whenToastCollected_thenViewFree() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    PooledToastView view = ((PooledToast) createLayoutBuilder().build()).getPooledView();
+    assertThat(view.isInUse()).isTrue();
+
+    view.acquire(null);
+
+    assertThat(view.isInUse()).isFalse();
+  }
+
+  @Test
+  public void givenCustomViewLayoutToastFinished_whenBuildFromAnotherBuilder_thenViewShared() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    Toast first = createLayoutBuilder().build();
+    first.cancel();
+
+    Toast toast = createLayoutBuilder().build();
+
+    assertThat(toast.getView()).isSameAs(first.getView());
+  }
+
+  @Test
+  public void givenActivityWithDecorView_whenBuildWithCustomViewLayout_thenViewPooledOnActivity() {
+    Activity activity = Robolectric.buildActivity(Activity.class).create().get();
+    activity.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    activity.getWindow().getDecorView();
+
+    new ToastBuilder(activity)
+        .customViewLayout(android.R.layout.simple_list_item_1)
+        .customViewMessageViewId(android.R.id.text1)
+        .build();
+
+    assertThat(ToastViewPool.forContext(activity).size()).isEqualTo(1);
+    assertThat(ToastViewPool.forContext(activity)).isNotSameAs(ToastViewPool.forContext(activity.getApplication()));
+  }
+
+  @Test
+  public void givenReplaceKeyAndToastActive_whenBuild_thenSameToastUpdated() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = new ToastBuilder(RuntimeEnvironment.application)
+        .replaceKey("status")
+        .message("Saving");
+    Toast first = builder.build();
+
+    Toast second = builder.message("Saved")
+        .messageTextColor(0xFF111111)
+        .build();
+
+    assertThat(second).isSameAs(first);
+    TextView messageView = (TextView) second.getView().findViewById(android.R.id.message);
+    assertThat(messageView.getText().toString()).isEqualTo("Saved");
+    assertThat(messageView.getCurrentTextColor()).isEqualTo(0xFF111111);
+  }
+
+  @Test
+  public void givenReplaceKeyAndToastExpired_whenBuild_thenNewToast() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = new ToastBuilder(RuntimeEnvironment.application)
+        .replaceKey("status")
+        .duration(Toast.LENGTH_SHORT)
+        .message("Saving");
+    Toast first = builder.build();
+    SystemClock.sleep(ToastSlot.SHORT_DURATION_MILLIS);
+
+    Toast second = builder.message("Saved").build();
+
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  public void givenReplaceKeyAndPooledToastRemoved_whenBuild_thenNewToast() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = createLayoutBuilder().replaceKey("status");
+    Toast first = builder.build();
+    first.show();
+    PooledToastView firstView = (PooledToastView) first.getView();
+    firstView.onAttachedToWindow();
+    firstView.onDetachedFromWindow();
+
+    Toast second = builder.build();
+
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  public void givenReplaceKeyHoldingPooledView_whenBuildFromAnotherBuilder_thenViewNotShared() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = createLayoutBuilder().replaceKey("status");
+    Toast first = builder.build();
+    first.cancel();
+
+    Toast other = createLayoutBuilder().build();
+
+    assertThat(other.getView()).isNotSameAs(first.getView());
+    assertThat(builder.build()).isSameAs(first);
+  }
+
+  @Test
+  public void givenReplaceKeySlotReplaced_whenBuildFromAnotherBuilder_thenViewShared() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = createLayoutBuilder().replaceKey("status");
+    Toast first = builder.build();
+    first.show();
+    PooledToastView firstView = (PooledToastView) first.getView();
+    firstView.onAttachedToWindow();
+    firstView.onDetachedFromWindow();
+    builder.build().cancel();
+
+    Toast other = createLayoutBuilder().build();
+
+    assertThat(other.getView()).isSameAs(firstView);
+  }
+
+  @Test
+  public void givenDifferentReplaceKeys_whenBuild_thenSeparateToasts() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = new ToastBuilder(RuntimeEnvironment.application)
+        .message("message");
+    Toast first = builder.replaceKey("first").build();
+
+    Toast second = builder.replaceKey("second").build();
+
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  public void whenWeakReferences_thenContextAndCustomViewHeldWeakly() {
+    createBuilder();
+    View customView = new View(RuntimeEnvironment.application);
+    builderUnderTest.customView(customView);
+
+    builderUnderTest.weakReferences(true);
+
+    assertThat(builderUnderTest.context).isNull();
+    assertThat(builderUnderTest.customView).isNull();
+    assertThat(builderUnderTest.weakContext.get()).isEqualTo(RuntimeEnvironment.application);
+    assertThat(builderUnderTest.weakCustomView.get()).isEqualTo(customView);
+  }
+
+  @Test
+  public void givenWeakReferences_whenWeakReferencesDisabled_thenContextAndCustomViewHeldStrongly() {
+    createBuilder();
+    View customView = new View(RuntimeEnvironment.application);
+    builderUnderTest.customView(customView).weakReferences(true);
+
+    builderUnderTest.weakReferences(false);
+
+    assertThat(builderUnderTest.context).isEqualTo(RuntimeEnvironment.application);
+    assertThat(builderUnderTest.customView).isEqualTo(customView);
+    assertThat(builderUnderTest.weakContext).isNull();
+    assertThat(builderUnderTest.weakCustomView).isNull();
+  }
+
+  @Test
+  public void whenRebind_thenContextReplaced() {
+    createBuilder();
+
+    builderUnderTest.rebind(context);
+
+    assertThat(builderUnderTest.context).isEqualTo(context);
+  }
+
+  @Test
+  public void givenWeakReferences_whenRebind_thenNewContextHeldWeakly() {
+    createBuilder();
+    builderUnderTest.weakReferences(true);
+
+    builderUnderTest.rebind(context);
+
+    assertThat(builderUnderTest.context).isNull();
+    assertThat(builderUnderTest.weakContext.get()).isEqualTo(context);
+  }
+
+  @Test
+  public void givenWeakReferencesAndContextCollected_whenBuild_thenIllegalStateException() {
+    createBuilder();
+    builderUnderTest.weakReferences(true);
+    builderUnderTest.weakContext.clear();
+
+    try {
+      builderUnderTest.message("message").build();
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessageContaining("rebind(Context)");
+    }
+  }
+
+  @Test
+  public void givenWeakReferencesAndReplaceKey_whenActivityReleased_thenActivityNotReachable() {
+    WeakReference<Activity> activity = new WeakReference<>(Robolectric.buildActivity(Activity.class).create().get());
+    ToastBuilder builder = buildWeakWithReplaceKey(activity.get());
+
+    for (int i = 0; i < 10 && activity.get() != null; i++) {
+      System.gc();
+    }
+
+    assertThat(activity.get()).isNull();
+    assertThat(builder.toastSlots).hasSize(1);
+  }
+
   private void createBuilder() {
     RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
     builderUnderTest = new ToastBuilder(RuntimeEnvironment.application);
@@ -263,4 +537,20 @@ public class ToastBuilderTest {
     return stringResId;
   }
 
+  private ToastBuilder createLayoutBuilder() {
+    return new ToastBuilder(RuntimeEnvironment.application)
+        .customViewLayout(android.R.layout.simple_list_item_1)
+        .customViewMessageViewId(android.R.id.text1)
+        .message("message");
+  }
+
+  private ToastBuilder buildWeakWithReplaceKey(Activity activity) {
+    activity.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    ToastBuilder builder = new ToastBuilder(activity)
+        .weakReferences(true)
+        .replaceKey("status")
+        .message("Saving");
+    builder.build();
+    return builder;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.undo;
+
+import android.app.Activity;
+import android.support.design.widget.Snackbar;
+import android.support.design.widget.Snackbar.Callback;
+
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.github.andrewlord1990.snackbarbuilder.time.SnackbarScheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.Robolectric;
+import org.robolectric.util.ActivityController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarUndoQueueTest {
+
+  @Mock
+  SnackbarScheduler scheduler;
+  @Mock
+  Snackbar snackbar;
+  private RecordingHandler operationHandler;
+  private SnackbarUndoQueue<String> queueUnderTest;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+
+    operationHandler = new RecordingHandler();
+    queueUnderTest = new SnackbarUndoQueue<>(operationHandler, new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        command.run();
+      }
+    }, scheduler);
+  }
+
+  @Test
+  public void whenActionPressed_thenOperationRolledBack() {
+    SnackbarCallback callback = queueUnderTest.add("first");
+
+    callback.onDismissed(snackbar, Callback.DISMISS_EVENT_ACTION);
+
+    assertThat(operationHandler.rolledBack).containsExactly("first");
+    assertThat(queueUnderTest.getPendingCount()).isZero();
+  }
+
+  @Test
+  public void givenDismissedWithinWindow_whenWindowEnds_thenCommittedInOneBatch() {
+    queueUnderTest.add("first").onDismissed(snackbar, Callback.DISMISS_EVENT_TIMEOUT);
+    queueUnderTest.add("second").onDismissed(snackbar, Callback.DISMISS_EVENT_CONSECUTIVE);
+
+    runScheduledCommit();
+
+    assertThat(operationHandler.committed).hasSize(1);
+    assertThat(operationHandler.committed.get(0)).containsExactly("first", "second");
+  }
+
+  @Test
+  public void givenStillShowing_whenFlush_thenCommittedAndLaterDismissIgnored() {
+    SnackbarCallback callback = queueUnderTest.add("first");
+
+    queueUnderTest.flush();
+    callback.onDismissed(snackbar, Callback.DISMISS_EVENT_ACTION);
+
+    assertThat(operationHandler.committed).hasSize(1);
+    assertThat(operationHandler.committed.get(0)).containsExactly("first");
+    assertThat(operationHandler.rolledBack).isEmpty();
+  }
+
+  @Test
+  public void givenFlushed_whenActionPressed_thenLateUndoReported() {
+    final List<String> lateUndos = new ArrayList<>();
+    queueUnderTest.lateUndoListener(new LateUndoListener<String>() {
+      @Override
+      public void onUndoTooLate(String operation) {
+        lateUndos.add(operation);
+      }
+    });
+    SnackbarCallback callback = queueUnderTest.add("first");
+
+    queueUnderTest.flush();
+    callback.onDismissed(snackbar, Callback.DISMISS_EVENT_ACTION);
+
+    assertThat(lateUndos).containsExactly("first");
+  }
+
+  @Test
+  public void givenRolledBack_whenActionPressedAgain_thenLateUndoNotReported() {
+    final List<String> lateUndos = new ArrayList<>();
+    queueUnderTest.lateUndoListener(new LateUndoListener<String>() {
+      @Override
+      public void onUndoTooLate(String operation) {
+        lateUndos.add(operation);
+      }
+    });
+    SnackbarCallback callback = queueUnderTest.add("first");
+
+    callback.onDismissed(snackbar, Callback.DISMISS_EVENT_ACTION);
+    callback.onDismissed(snackbar, Callback.DISMISS_EVENT_ACTION);
+
+    assertThat(lateUndos).isEmpty();
+    assertThat(operationHandler.rolledBack).containsExactly("first");
+  }
+
+  @Test
+  public void givenFlushWhenStopped_whenActivityStopped_thenCommitted() {
+    ActivityController<Activity> controller = Robolectric.buildActivity(Activity.class).create().start().resume();
+    queueUnderTest.flushWhenStopped(controller.get());
+    queueUnderTest.add("first");
+
+    controller.pause().stop();
+
+    assertThat(operationHandler.committed).hasSize(1);
+    assertThat(operationHandler.committed.get(0)).containsExactly("first");
+  }
+
+  @Test
+  public void givenFlushWhenStopped_whenOtherActivityStopped_thenNotCommitted() {
+    Activity activity = Robolectric.buildActivity(Activity.class).create().start().resume().get();
+    queueUnderTest.flushWhenStopped(activity);
+    queueUnderTest.add("first");
+
+    Robolectric.buildActivity(Activity.class).create().start().resume().pause().stop();
+
+    assertThat(operationHandler.committed).isEmpty();
+    assertThat(queueUnderTest.getPendingCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenFlushWhenStopped_whenActivityDestroyed_thenCommitted() {
+    ActivityController<Activity> controller = Robolectric.buildActivity(Activity.class).create();
+    queueUnderTest.flushWhenStopped(controller.get());
+    queueUnderTest.add("first");
+
+    controller.destroy();
+
+    assertThat(operationHandler.committed).hasSize(1);
+    assertThat(operationHandler.committed.get(0)).containsExactly("first");
+  }
+
+  private void runScheduledCommit() {
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler, times(1)).postDelayed(captor.capture(), anyLong());
+    captor.getValue().run();
+  }
+
+  private static class RecordingHandler implements UndoableOperationHandler<String> {
+
+    final List<String> rolledBack = new ArrayList<>();
+    final List<List<String>> committed = new ArrayList<>();
+
+    @Override
+    public void onRollBack(String operation) {
+      rolledBack.add(operation);
+    }
+
+    @Override
+    public void onCommit(List<String> operations) {
+      committed.add(operations);
+    }
+  }
+}